@@ -17,12 +17,20 @@
 
 package cs3500.reversi;
 
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import cs3500.reversi.adapter.ModelAdapter;
 import cs3500.reversi.controller.ReversiController;
+import cs3500.reversi.controller.TurnScheduler;
 import cs3500.reversi.factory.PlayerFactory;
 import cs3500.reversi.factory.ViewFactory;
+import cs3500.reversi.model.ConcurrentReversiModel;
 import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.player.AIPlayer;
 import cs3500.reversi.player.Player;
+import cs3500.reversi.server.GameServer;
 import cs3500.reversi.view.GraphicsView;
 
 /**
@@ -48,6 +56,10 @@ public class Main {
     if (args.length == 0) {
       throw new IllegalArgumentException("Usage: java -jar Reversi.jar <number-of-rows> <p1> <p2>");
     }
+    if (args[0].equals("server")) {
+      serve(args.length > 1 ? Integer.parseInt(args[1]) : 0);
+      return;
+    }
     try {
       model = new ModelAdapter(Integer.parseInt(args[0]));
       player1 = new PlayerFactory(model, args[1], PieceColor.WHITE).build();
@@ -55,10 +67,47 @@ public class Main {
     } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
       throw new IllegalArgumentException("Must provide an odd integer >= 5.");
     }
-    GraphicsView viewPlayer1 = new ViewFactory(model, player1, false).build();
-    GraphicsView viewPlayer2 = new ViewFactory(model, player2, true).build();
-    ReversiController controller1 = new ReversiController(model, player1, viewPlayer1);
-    ReversiController controller2 = new ReversiController(model, player2, viewPlayer2);
-    model.startGame();
+    TurnScheduler scheduler = new TurnScheduler();
+    for (Player player : new Player[] {player1, player2}) {
+      if (player instanceof AIPlayer) {
+        scheduler.schedule((AIPlayer) player);
+      }
+    }
+    ConcurrentReversiModel game = new ConcurrentReversiModel(model);
+    GraphicsView viewPlayer1 = new ViewFactory(game, player1, false).build();
+    GraphicsView viewPlayer2 = new ViewFactory(game, player2, true).build();
+    ReversiController controller1 = new ReversiController(game, player1, viewPlayer1, scheduler);
+    ReversiController controller2 = new ReversiController(game, player2, viewPlayer2, scheduler);
+    scheduler.getGameExecutor().execute(game::startGame);
+  }
+
+  /**
+   * Hosts games for clients on the provided port, without any views, until the process is
+   * asked to stop, such as by an interrupt or a termination signal.
+   *
+   * @param port the port to listen on, or 0 for any free port.
+   */
+
+  private static void serve(int port) {
+    CountDownLatch stopped = new CountDownLatch(1);
+    CountDownLatch closed = new CountDownLatch(1);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      stopped.countDown();
+      try {
+        closed.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }, "reversi-shutdown"));
+    try (GameServer server = new GameServer(port)) {
+      System.out.println("Hosting Reversi on port " + server.getPort() + ".");
+      stopped.await();
+    } catch (IOException e) {
+      throw new IllegalStateException("The server stopped: " + e.getMessage(), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      closed.countDown();
+    }
   }
-}
\ No newline at end of file
+}
@@ -45,6 +45,20 @@ public class AIPlayerAdapter extends AIPlayer implements IPlayer {
     super(model, color, difficulty);
   }
 
+  /**
+   * Constructs a new {@link AIPlayerAdapter} with the given {@link ReversiModel} that may
+   * think on its opponent's time.
+   * @param model the model to use.
+   * @param color the color to use.
+   * @param difficulty the difficulty to use.
+   * @param ponder whether the player should think on its opponent's time.
+   */
+
+  public AIPlayerAdapter(ReversiModel model, PieceColor color, AIDifficulty difficulty,
+                         boolean ponder) {
+    super(model, color, difficulty, ponder);
+  }
+
   @Override
   public Piece getColor() {
     switch (super.getPieceColor()) {
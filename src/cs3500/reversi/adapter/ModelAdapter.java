@@ -18,16 +18,14 @@
 package cs3500.reversi.adapter;
 
 import java.awt.Point;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import cs3500.reversi.model.BoardGeometry;
 import cs3500.reversi.model.Cell;
 import cs3500.reversi.model.HexagonalReversi;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
-import cs3500.reversi.model.types.ReversiCellPair;
 import cs3500.reversi.provider.model.AxialCoordinate;
 import cs3500.reversi.provider.model.CellType;
 import cs3500.reversi.provider.model.ModelListener;
@@ -47,6 +45,8 @@ import static cs3500.reversi.adapter.ViewAdapter.getPoint;
 
 public class ModelAdapter extends HexagonalReversi implements ProviderReversiModel, ModelListener {
 
+  private ProviderBoardView providerBoard;
+
   /**
    * Constructs a new {@link ModelAdapter} using the provided number of rows.
    * @param numRows the number of rows.
@@ -107,40 +107,28 @@ public class ModelAdapter extends HexagonalReversi implements ProviderReversiMod
   @Override
   public boolean anyValidMoves(Piece piece) {
     PieceColor color = this.adaptPieceToPieceColor(piece);
-    for (int i = 0; i < super.getBoardCopy().size(); i++) {
-      for (int j = 0; j < super.getBoardCopy().get(i).size(); j++) {
-        if (super.isValidMove(i, j, color)) {
-          return true;
-        }
+    BoardGeometry geometry = BoardGeometry.of(this.getRadius());
+    for (int index = 0; index < geometry.size(); index++) {
+      if (super.isValidMove(geometry.getRow(index), geometry.getCol(index), color)) {
+        return true;
       }
     }
     return false;
   }
 
+  /**
+   * Gets a live, read-only view of this model as the provider's board. The same view is
+   * returned every time, and it always shows the board as it is now.
+   *
+   * @return the provider's view of the board.
+   */
+
   @Override
   public Map<AxialCoordinate, CellType> getProviderBoard() {
-    Map<AxialCoordinate, CellType> board = new HashMap<>();
-    List<List<ReversiCellPair>> boardCopy = super.getBoardCopy();
-    for (List<ReversiCellPair> reversiCellPairs : boardCopy) {
-      for (ReversiCellPair reversiCellPair : reversiCellPairs) {
-        Cell currCell = reversiCellPair.getCell();
-        AxialCoordinate coord = new AxialCoordinate(currCell.getQ(), currCell.getR());
-        switch (reversiCellPair.getState()) {
-          case "X":
-            board.put(coord, new HexCellAdapter(Piece.BLACK));
-            break;
-          case "O":
-            board.put(coord, new HexCellAdapter(Piece.WHITE));
-            break;
-          case "_":
-            board.put(coord, new HexCellAdapter(Piece.EMPTY));
-            break;
-          default:
-            throw new IllegalArgumentException("Invalid cell type.");
-        }
-      }
+    if (this.providerBoard == null) {
+      this.providerBoard = new ProviderBoardView(this);
     }
-    return board;
+    return this.providerBoard;
   }
 
   @Override
@@ -200,7 +188,6 @@ public class ModelAdapter extends HexagonalReversi implements ProviderReversiMod
    */
 
   private Point adaptAxialCoordinate(AxialCoordinate coord) {
-    List<List<ReversiCellPair>> board = super.getBoardCopy();
-    return getPoint(coord, board);
+    return getPoint(coord, BoardGeometry.of(this.getRadius()));
   }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.adapter;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.provider.model.AxialCoordinate;
+import cs3500.reversi.provider.model.Piece;
+import cs3500.reversi.provider.model.ReadOnlyReversiInterface;
+import cs3500.reversi.provider.strategy.MaxCaptureStrategy;
+import cs3500.reversi.provider.strategy.Move;
+import cs3500.reversi.provider.strategy.ReversiStrategy;
+import cs3500.reversi.strategy.BatchMoveScorer;
+
+/**
+ * Implements our providers' {@link MaxCaptureStrategy} contract on top of our own model. When
+ * the provider's model is one of our models playing by the standard rules, such as a
+ * {@link ModelAdapter}, every legal move and its number of captures is found in one pass with a
+ * {@link BatchMoveScorer} instead of by checking and walking each cell through the provider's
+ * interface. Any other model is handed to the providers' strategy itself.
+ *
+ * <p>The moves chosen are the same as those of the providers' strategy: the move that captures
+ * the most pieces, with ties broken by the lowest r and then the lowest q coordinate.
+ */
+
+public final class NativeMaxCaptureStrategy implements ReversiStrategy {
+
+  private final ReversiStrategy fallback;
+
+  /**
+   * Constructs a new {@link NativeMaxCaptureStrategy}.
+   */
+
+  public NativeMaxCaptureStrategy() {
+    this.fallback = new MaxCaptureStrategy();
+  }
+
+  @Override
+  public Optional<AxialCoordinate> chooseMove(ReadOnlyReversiInterface model, Piece player) {
+    if (!this.canScore(model, player)) {
+      return this.fallback.chooseMove(model, player);
+    }
+    ArrayList<Move> bestMoves = this.getBestMoves(model, player);
+    if (bestMoves.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(bestMoves.get(0).getCoord());
+  }
+
+  /**
+   * Gets every move that captures the most pieces. Moves found natively are listed by
+   * increasing r and then increasing q coordinate, so the first move is the one the providers'
+   * strategy would choose.
+   *
+   * @param model the model to get the moves of.
+   * @param player the player to get the moves for.
+   * @return the moves that capture the most pieces.
+   * @throws IllegalArgumentException if either argument is null.
+   */
+
+  @Override
+  public ArrayList<Move> getBestMoves(ReadOnlyReversiInterface model, Piece player)
+          throws IllegalArgumentException {
+    if (model == null || player == null) {
+      throw new IllegalArgumentException("Cannot provide null argument");
+    }
+    if (!this.canScore(model, player)) {
+      return this.fallback.getBestMoves(model, player);
+    }
+    HexagonalReversi ours = (HexagonalReversi) model;
+    PieceColor color = toColor(player);
+    BatchMoveScorer scorer = BatchMoveScorer.of(ours, color);
+    BoardGeometry geometry = BoardGeometry.of(ours.getRadius());
+    int before = ours.getScore(color);
+    int[] discs = scorer.getDiscCounts();
+    ArrayList<Move> moves = new ArrayList<>();
+    int maxCaptures = 0;
+    for (int i = 0; i < scorer.size(); i++) {
+      int captures = discs[i] - before - 1;
+      if (captures > maxCaptures) {
+        maxCaptures = captures;
+        moves.clear();
+      }
+      if (captures == maxCaptures && captures > 0) {
+        moves.add(new Move(ProviderBoardView.coordinateOf(geometry, scorer.getCell(i)),
+                captures));
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Determines whether the moves of the provided model can be found natively.
+   *
+   * @param model the model to check.
+   * @param player the player that would be moving.
+   * @return true if the model is one of ours that can be scored in a batch.
+   */
+
+  private boolean canScore(ReadOnlyReversiInterface model, Piece player) {
+    return model instanceof HexagonalReversi && player != Piece.EMPTY
+            && BatchMoveScorer.canScore((HexagonalReversi) model, toColor(player));
+  }
+
+  /**
+   * Converts one of the providers' pieces to one of our colors.
+   *
+   * @param player the piece to convert.
+   * @return the matching color.
+   */
+
+  private static PieceColor toColor(Piece player) {
+    return player == Piece.BLACK ? PieceColor.BLACK : PieceColor.WHITE;
+  }
+}
@@ -0,0 +1,233 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.adapter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.provider.model.AxialCoordinate;
+import cs3500.reversi.provider.model.CellType;
+import cs3500.reversi.provider.model.Piece;
+
+/**
+ * Represents a live, read-only view of one of our models as the provider's board: a
+ * {@link Map} from each {@link AxialCoordinate} on the board to the {@link CellType} at that
+ * coordinate. Nothing is copied; every lookup reads the model's current state, so the view
+ * always shows the board as it is now. Looking up a coordinate takes constant time, and the
+ * coordinates and cells of the view are created once and reused.
+ *
+ * <p>The view cannot be changed through the map, and its cells cannot be changed through
+ * {@link CellType#setPiece(Piece)} or {@link CellType#flipPiece()}.
+ */
+
+public final class ProviderBoardView extends AbstractMap<AxialCoordinate, CellType> {
+
+  private static final Map<Integer, AxialCoordinate[]> COORDINATES = new ConcurrentHashMap<>();
+
+  private final ReadonlyReversiModel model;
+  private final BoardGeometry geometry;
+  private final AxialCoordinate[] coordinates;
+  private final CellType[] cells;
+  private final Set<Entry<AxialCoordinate, CellType>> entries;
+
+  /**
+   * Constructs a new {@link ProviderBoardView} of the provided model.
+   *
+   * @param model the model to view.
+   * @throws IllegalArgumentException if the model is null.
+   */
+
+  public ProviderBoardView(ReadonlyReversiModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    this.model = model;
+    this.geometry = BoardGeometry.of(model.getRadius());
+    this.coordinates = coordinatesOf(this.geometry);
+    this.cells = new CellType[this.geometry.size()];
+    for (int index = 0; index < this.cells.length; index++) {
+      this.cells[index] = new LiveCell(this.geometry.getRow(index), this.geometry.getCol(index));
+    }
+    this.entries = new EntrySet();
+  }
+
+  /**
+   * Gets the shared coordinate of the cell with the provided dense index on a board of the
+   * provided geometry.
+   *
+   * @param geometry the geometry of the board.
+   * @param index the dense index of the cell.
+   * @return the coordinate of the cell.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public static AxialCoordinate coordinateOf(BoardGeometry geometry, int index)
+          throws IllegalArgumentException {
+    if (index < 0 || index >= geometry.size()) {
+      throw new IllegalArgumentException("The provided index is not on the board.");
+    }
+    return coordinatesOf(geometry)[index];
+  }
+
+  @Override
+  public CellType get(Object key) {
+    int index = this.indexOf(key);
+    return index == -1 ? null : this.cells[index];
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return this.indexOf(key) != -1;
+  }
+
+  @Override
+  public int size() {
+    return this.cells.length;
+  }
+
+  @Override
+  public Set<Entry<AxialCoordinate, CellType>> entrySet() {
+    return this.entries;
+  }
+
+  /**
+   * Gets the dense index of the provided key.
+   *
+   * @param key the key to find.
+   * @return the dense index of the key, or -1 if it is not a coordinate on the board.
+   */
+
+  private int indexOf(Object key) {
+    if (!(key instanceof AxialCoordinate)) {
+      return -1;
+    }
+    AxialCoordinate coord = (AxialCoordinate) key;
+    return this.geometry.indexOfAxial(coord.getQ(), coord.getR());
+  }
+
+  /**
+   * Gets the shared coordinates of every cell on a board of the provided geometry.
+   *
+   * @param geometry the geometry of the board.
+   * @return the coordinates, indexed by dense index.
+   */
+
+  private static AxialCoordinate[] coordinatesOf(BoardGeometry geometry) {
+    return COORDINATES.computeIfAbsent(geometry.getRadius(), radius -> {
+      AxialCoordinate[] coords = new AxialCoordinate[geometry.size()];
+      for (int index = 0; index < coords.length; index++) {
+        coords[index] = new AxialCoordinate(geometry.getQ(index), geometry.getR(index));
+      }
+      return coords;
+    });
+  }
+
+  /**
+   * Represents the entries of the view, from the top left cell.
+   */
+
+  private final class EntrySet extends AbstractSet<Entry<AxialCoordinate, CellType>> {
+
+    @Override
+    public Iterator<Entry<AxialCoordinate, CellType>> iterator() {
+      return new Iterator<>() {
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+          return this.index < cells.length;
+        }
+
+        @Override
+        public Entry<AxialCoordinate, CellType> next() {
+          if (!this.hasNext()) {
+            throw new NoSuchElementException();
+          }
+          Entry<AxialCoordinate, CellType> entry =
+                  new SimpleImmutableEntry<>(coordinates[this.index], cells[this.index]);
+          this.index++;
+          return entry;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return cells.length;
+    }
+  }
+
+  /**
+   * Represents one cell of the view, which reads its piece from the model every time it is
+   * asked.
+   */
+
+  private final class LiveCell implements CellType {
+
+    private final int row;
+    private final int col;
+
+    /**
+     * Constructs a new {@link LiveCell} at the provided location.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+
+    private LiveCell(int row, int col) {
+      this.row = row;
+      this.col = col;
+    }
+
+    @Override
+    public Piece getPiece() {
+      switch (model.getStateOf(this.row, this.col)) {
+        case "X":
+          return Piece.BLACK;
+        case "O":
+          return Piece.WHITE;
+        case "_":
+          return Piece.EMPTY;
+        default:
+          throw new IllegalArgumentException("Invalid cell type.");
+      }
+    }
+
+    @Override
+    public void setPiece(Piece piece) {
+      throw new UnsupportedOperationException("The provider board view is read-only.");
+    }
+
+    @Override
+    public void flipPiece() throws IllegalStateException {
+      throw new UnsupportedOperationException("The provider board view is read-only.");
+    }
+
+    @Override
+    public String toString() {
+      return this.getPiece().toString();
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.adapter;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.provider.model.AxialCoordinate;
+import cs3500.reversi.provider.model.Piece;
+import cs3500.reversi.provider.strategy.MaxCaptureStrategy;
+import cs3500.reversi.strategy.ReversiStrategy;
+
+import static cs3500.reversi.adapter.ViewAdapter.getPoint;
+
+/**
+ * Adapts one of our providers' strategies to our {@link ReversiStrategy} interface. The
+ * provider's strategy is run against a {@link ModelAdapter} copy of the model, and the
+ * {@link AxialCoordinate} it chooses is converted back to a <code>(row, col)</code> point.
+ */
+
+public final class ProviderStrategyAdapter implements ReversiStrategy {
+
+  private final cs3500.reversi.provider.strategy.ReversiStrategy strategy;
+
+  /**
+   * Constructs a new {@link ProviderStrategyAdapter} around the providers'
+   * {@link MaxCaptureStrategy}, run natively by a {@link NativeMaxCaptureStrategy}.
+   */
+
+  public ProviderStrategyAdapter() {
+    this(new NativeMaxCaptureStrategy());
+  }
+
+  /**
+   * Constructs a new {@link ProviderStrategyAdapter} around the provided strategy.
+   *
+   * @param strategy the providers' strategy to adapt.
+   */
+
+  public ProviderStrategyAdapter(cs3500.reversi.provider.strategy.ReversiStrategy strategy) {
+    this.strategy = strategy;
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    ModelAdapter adapted = new ModelAdapter(model.getModelCopy());
+    Piece piece = pieceColor == PieceColor.BLACK ? Piece.BLACK : Piece.WHITE;
+    Optional<AxialCoordinate> move = this.strategy.chooseMove(adapted, piece);
+    if (move.isPresent()) {
+      return Optional.of(getPoint(move.get(), BoardGeometry.of(adapted.getRadius())));
+    }
+    return Optional.empty();
+  }
+}
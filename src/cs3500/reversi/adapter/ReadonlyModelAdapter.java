@@ -0,0 +1,144 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.adapter;
+
+import java.awt.Point;
+import java.util.Map;
+import java.util.Optional;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.ConcurrentReversiModel;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.provider.model.AxialCoordinate;
+import cs3500.reversi.provider.model.CellType;
+import cs3500.reversi.provider.model.ModelListener;
+import cs3500.reversi.provider.model.Piece;
+import cs3500.reversi.provider.model.ReadOnlyReversiInterface;
+
+/**
+ * Adapts a {@link ReadonlyReversiModel} to the provider's {@link ReadOnlyReversiInterface},
+ * so that the provider's views can read a game without being able to change it. Every read
+ * goes to the adapted model, so when that model is a {@link ConcurrentReversiModel}, the
+ * provider's views read its published snapshots and can be painted on the event dispatch
+ * thread while moves are played on the game thread.
+ */
+
+public final class ReadonlyModelAdapter implements ReadOnlyReversiInterface {
+
+  private final ReadonlyReversiModel model;
+  private final BoardGeometry geometry;
+  private final ProviderBoardView board;
+
+  /**
+   * Constructs a new {@link ReadonlyModelAdapter} of the provided model.
+   *
+   * @param model the model to adapt.
+   * @throws IllegalArgumentException if the model is null.
+   */
+
+  public ReadonlyModelAdapter(ReadonlyReversiModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    this.model = model;
+    this.geometry = BoardGeometry.of(model.getRadius());
+    this.board = new ProviderBoardView(model);
+  }
+
+  @Override
+  public void addObserver(ModelListener listener) {
+    // Do nothing here, as model feature listening is handled by our model implementation.
+  }
+
+  @Override
+  public void notifyObservers() {
+    // Do nothing here, as model feature listening is handled by our model implementation.
+  }
+
+  @Override
+  public Map<AxialCoordinate, CellType> getProviderBoard() {
+    return this.board;
+  }
+
+  @Override
+  public CellType getHexagonAt(AxialCoordinate hex) {
+    return this.board.get(hex);
+  }
+
+  @Override
+  public boolean isBlackTurn() {
+    return this.model.getPlayerColor() == PieceColor.BLACK;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return this.model.isGameOver();
+  }
+
+  @Override
+  public int getRadius() {
+    return this.model.getRadius();
+  }
+
+  @Override
+  public Optional<Piece> getGameWinner() {
+    if (!this.model.isGameOver()) {
+      return Optional.empty();
+    }
+    return this.model.getWinner().map(winner -> winner == PieceColor.BLACK
+            ? Piece.BLACK : Piece.WHITE);
+  }
+
+  @Override
+  public boolean isValidMove(Piece piece, AxialCoordinate coord) {
+    Point rowCol = ViewAdapter.getPoint(coord, this.geometry);
+    return this.model.isValidMove(rowCol.x, rowCol.y, this.adaptPiece(piece));
+  }
+
+  @Override
+  public boolean anyValidMoves(Piece piece) {
+    PieceColor color = this.adaptPiece(piece);
+    for (int index = 0; index < this.geometry.size(); index++) {
+      if (this.model.isValidMove(this.geometry.getRow(index), this.geometry.getCol(index),
+              color)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int getScore(Piece player) {
+    return this.model.getScore(this.adaptPiece(player));
+  }
+
+  @Override
+  public Piece getCurrentTurn() {
+    return this.isBlackTurn() ? Piece.BLACK : Piece.WHITE;
+  }
+
+  /**
+   * Adapts a piece to a piece color.
+   * @param piece the piece to adapt.
+   * @return the piece color.
+   */
+
+  private PieceColor adaptPiece(Piece piece) {
+    return piece == Piece.BLACK ? PieceColor.BLACK : PieceColor.WHITE;
+  }
+}
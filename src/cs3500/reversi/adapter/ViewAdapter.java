@@ -23,9 +23,11 @@ import java.awt.event.KeyEvent;
 import java.util.ArrayList;
 import java.util.List;
 
+import cs3500.reversi.model.BoardGeometry;
 import cs3500.reversi.model.types.ReversiCellPair;
 import cs3500.reversi.player.Player;
 import cs3500.reversi.provider.model.AxialCoordinate;
+import cs3500.reversi.provider.model.ReadOnlyReversiInterface;
 import cs3500.reversi.provider.player.IPlayer;
 import cs3500.reversi.provider.view.IView;
 import cs3500.reversi.provider.view.ReversiBoardFrame;
@@ -36,8 +38,8 @@ import cs3500.reversi.view.ViewFeatures;
 /**
  * Adapts the provider's view to our view interface. This class implements
  * {@link GraphicsView} and overrides the appropriate methods to make the
- * provider's view interface methods work with our view. It takes in a {@link ModelAdapter}
- * and an {@link IPlayer} to use for the view.
+ * provider's view interface methods work with our view. It takes in a read-only provider
+ * model and an {@link IPlayer} to use for the view.
  */
 
 public class ViewAdapter implements GraphicsView {
@@ -48,14 +50,14 @@ public class ViewAdapter implements GraphicsView {
   private final List<ViewFeatures> featuresListeners;
 
   /**
-   * Constructs a new {@link ViewAdapter} using the provided {@link ModelAdapter} and
-   * {@link IPlayer}.
+   * Constructs a new {@link ViewAdapter} using the provided {@link ReadOnlyReversiInterface}
+   * and {@link IPlayer}, such as a {@link ReadonlyModelAdapter} of the game.
    *
    * @param model the model to use for the view.
    * @param player the player to use for the view.
    */
 
-  public ViewAdapter(ModelAdapter model, IPlayer player) {
+  public ViewAdapter(ReadOnlyReversiInterface model, IPlayer player) {
     this.frame = new ReversiBoardFrame(model, player);
     this.panel = new ReversiBoardPanel(model, player);
     this.featuresListeners = new ArrayList<>();
@@ -71,8 +73,7 @@ public class ViewAdapter implements GraphicsView {
           for (ViewFeatures features : featuresListeners) {
             try {
               AxialCoordinate coord = frame.getCellClicked();
-              List<List<ReversiCellPair>> board = model.getBoardCopy();
-              Point xy = getPoint(coord, board);
+              Point xy = getPoint(coord, BoardGeometry.of(model.getRadius()));
               features.makeMove(xy.x, xy.y);
             } catch (IllegalStateException ex) {
               ViewAdapter.this.frame.showMessageDialog("No cell is selected.");
@@ -111,23 +112,35 @@ public class ViewAdapter implements GraphicsView {
   }
 
   /**
-   * Gets the row, column point of the given axial coordinate based on the given board.
+   * Gets the row, column point of the given axial coordinate based on the given board. The
+   * point is looked up in the {@link BoardGeometry} of the board's size, so only the number
+   * of rows of the board is read.
    *
    * @param coord the axial coordinate to get the point of.
    * @param board the board to get the point from.
-   * @return the row, column point of the given axial coordinate.
+   * @return the row, column point of the given axial coordinate, or (-1, -1) if it is not on
+   *         the board.
    */
 
   public static Point getPoint(AxialCoordinate coord, List<List<ReversiCellPair>> board) {
-    for (int i = 0; i < board.size(); i++) {
-      for (int j = 0; j < board.get(i).size(); j++) {
-        int boardQ = board.get(i).get(j).getCell().getQ();
-        int boardR = board.get(i).get(j).getCell().getR();
-        if (boardQ == coord.getQ() && boardR == coord.getR()) {
-          return new Point(i, j);
-        }
-      }
+    return getPoint(coord, BoardGeometry.of(board.size() / 2));
+  }
+
+  /**
+   * Gets the row, column point of the given axial coordinate on a board with the given
+   * geometry.
+   *
+   * @param coord the axial coordinate to get the point of.
+   * @param geometry the geometry of the board.
+   * @return the row, column point of the given axial coordinate, or (-1, -1) if it is not on
+   *         the board.
+   */
+
+  public static Point getPoint(AxialCoordinate coord, BoardGeometry geometry) {
+    int index = geometry.indexOfAxial(coord.getQ(), coord.getR());
+    if (index == -1) {
+      return new Point(-1, -1);
     }
-    return new Point(-1, -1);
+    return new Point(geometry.getRow(index), geometry.getCol(index));
   }
 }
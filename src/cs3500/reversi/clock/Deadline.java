@@ -0,0 +1,183 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.clock;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Represents the time a player may spend on a single move. A deadline has two limits: once the
+ * soft limit has passed, a strategy should stop refining a move it already has, and once the
+ * hard limit has passed, a strategy must return the best move it has found so far. A deadline
+ * may also be cancelled, which expires both limits at once. A child of a deadline shares its
+ * limits and is cancelled along with it, but may also be cancelled on its own, so that one
+ * piece of a larger search can be stopped without stopping the rest. Times are measured with
+ * {@link System#nanoTime()} unless another time source is provided.
+ */
+
+public final class Deadline {
+
+  private final long softAt;
+  private final long hardAt;
+  private final LongSupplier nanoTime;
+  private final boolean unbounded;
+  private final Deadline parent;
+  private volatile boolean cancelled;
+
+  /**
+   * Constructs a new {@link Deadline} that expires at the provided times.
+   *
+   * @param softAt the time of the soft limit, as given by the time source.
+   * @param hardAt the time of the hard limit, as given by the time source.
+   * @param nanoTime the time source to measure the deadline with.
+   * @param unbounded whether the deadline never expires.
+   * @param parent the deadline this one is cancelled along with, or null if there is none.
+   */
+
+  private Deadline(long softAt, long hardAt, LongSupplier nanoTime, boolean unbounded,
+                   Deadline parent) {
+    this.softAt = softAt;
+    this.hardAt = hardAt;
+    this.nanoTime = nanoTime;
+    this.unbounded = unbounded;
+    this.parent = parent;
+  }
+
+  /**
+   * Creates a deadline that never expires unless it is cancelled. Strategies given this
+   * deadline run to completion.
+   *
+   * @return a deadline that never expires.
+   */
+
+  public static Deadline none() {
+    return new Deadline(0, 0, System::nanoTime, true, null);
+  }
+
+  /**
+   * Creates a deadline whose limits expire after the provided amounts of time from now.
+   *
+   * @param softNanos the time until the soft limit, in nanoseconds.
+   * @param hardNanos the time until the hard limit, in nanoseconds.
+   * @return the new deadline.
+   * @throws IllegalArgumentException if either time is negative, or the soft limit is later
+   *                                  than the hard limit.
+   */
+
+  public static Deadline after(long softNanos, long hardNanos) throws IllegalArgumentException {
+    return after(softNanos, hardNanos, System::nanoTime);
+  }
+
+  /**
+   * Creates a deadline whose limits expire after the provided amounts of time from now,
+   * measured with the provided time source.
+   *
+   * @param softNanos the time until the soft limit, in nanoseconds.
+   * @param hardNanos the time until the hard limit, in nanoseconds.
+   * @param nanoTime the time source to measure the deadline with.
+   * @return the new deadline.
+   * @throws IllegalArgumentException if either time is negative, or the soft limit is later
+   *                                  than the hard limit.
+   */
+
+  public static Deadline after(long softNanos, long hardNanos, LongSupplier nanoTime)
+          throws IllegalArgumentException {
+    if (softNanos < 0 || hardNanos < softNanos) {
+      throw new IllegalArgumentException("Soft limit must be between 0 and the hard limit.");
+    }
+    long now = nanoTime.getAsLong();
+    return new Deadline(now + softNanos, now + hardNanos, nanoTime, false, null);
+  }
+
+  /**
+   * Creates a child of this deadline. The child expires when this deadline does and is
+   * cancelled whenever this deadline is, but cancelling the child leaves this deadline
+   * running.
+   *
+   * @return the new child deadline.
+   */
+
+  public Deadline child() {
+    return new Deadline(this.softAt, this.hardAt, this.nanoTime, this.unbounded, this);
+  }
+
+  /**
+   * Determines whether the soft limit of this deadline has passed.
+   *
+   * @return true if the soft limit has passed, false otherwise.
+   */
+
+  public boolean isSoftExpired() {
+    return this.isCancelled() || !this.unbounded && this.nanoTime.getAsLong() - this.softAt >= 0;
+  }
+
+  /**
+   * Determines whether the hard limit of this deadline has passed.
+   *
+   * @return true if the hard limit has passed, false otherwise.
+   */
+
+  public boolean isHardExpired() {
+    return this.isCancelled() || !this.unbounded && this.nanoTime.getAsLong() - this.hardAt >= 0;
+  }
+
+  /**
+   * Cancels this deadline, which expires both of its limits immediately. A strategy working
+   * against this deadline returns the best move it has found so far as soon as it notices.
+   */
+
+  public void cancel() {
+    this.cancelled = true;
+  }
+
+  /**
+   * Determines whether this deadline has been cancelled, either directly or by cancelling
+   * one of its ancestors.
+   *
+   * @return true if this deadline has been cancelled, false otherwise.
+   */
+
+  public boolean isCancelled() {
+    return this.cancelled || this.parent != null && this.parent.isCancelled();
+  }
+
+  /**
+   * Gets the time left until the hard limit of this deadline.
+   *
+   * @return the time left in nanoseconds, or {@link Long#MAX_VALUE} if the deadline never
+   *         expires and has not been cancelled.
+   */
+
+  public long getRemainingNanos() {
+    if (this.isCancelled()) {
+      return 0;
+    } else if (this.unbounded) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, this.hardAt - this.nanoTime.getAsLong());
+  }
+
+  /**
+   * Determines whether this deadline never expires on its own.
+   *
+   * @return true if this deadline never expires on its own, false otherwise.
+   */
+
+  public boolean isUnbounded() {
+    return this.unbounded;
+  }
+}
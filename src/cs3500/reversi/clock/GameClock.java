@@ -0,0 +1,209 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.clock;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+import cs3500.reversi.model.ModelFeatures;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a chess-style game clock for a game of Reversi. Each player has their own remaining
+ * time, which only runs while it is their turn. Whenever a player's turn ends, the clock's
+ * increment is added to their remaining time. The clock listens to its model and switches to
+ * the player whose turn it is every time the model notifies its listeners, and it stops once
+ * the game is over.
+ */
+
+public final class GameClock implements ModelFeatures {
+
+  private final ReversiModel model;
+  private final long incrementNanos;
+  private final LongSupplier nanoTime;
+  private final Map<PieceColor, Long> remaining = new EnumMap<>(PieceColor.class);
+  private PieceColor running;
+  private long startedAt;
+
+  /**
+   * Constructs a new {@link GameClock} for the provided model, measured with
+   * {@link System#nanoTime()}.
+   *
+   * @param model the model whose turns are timed.
+   * @param initialNanos the time each player starts with, in nanoseconds.
+   * @param incrementNanos the time added to a player's clock after each of their turns.
+   */
+
+  public GameClock(ReversiModel model, long initialNanos, long incrementNanos) {
+    this(model, initialNanos, incrementNanos, System::nanoTime);
+  }
+
+  /**
+   * Constructs a new {@link GameClock} for the provided model, measured with the provided
+   * time source.
+   *
+   * @param model the model whose turns are timed.
+   * @param initialNanos the time each player starts with, in nanoseconds.
+   * @param incrementNanos the time added to a player's clock after each of their turns.
+   * @param nanoTime the time source to measure the clock with.
+   * @throws IllegalArgumentException if any argument is null or either time is negative.
+   */
+
+  public GameClock(ReversiModel model, long initialNanos, long incrementNanos,
+                   LongSupplier nanoTime) throws IllegalArgumentException {
+    this(model, checkInitial(initialNanos), initialNanos, incrementNanos, nanoTime);
+  }
+
+  /**
+   * Constructs a new {@link GameClock} that resumes timing a game in which each player has
+   * the provided time left, such as one that was parked in a
+   * {@link cs3500.reversi.model.GameRegistry}. The time left may be negative if a player has
+   * already run out of time.
+   *
+   * @param model the model whose turns are timed.
+   * @param whiteNanos the time white has left, in nanoseconds.
+   * @param blackNanos the time black has left, in nanoseconds.
+   * @param incrementNanos the time added to a player's clock after each of their turns.
+   * @param nanoTime the time source to measure the clock with.
+   * @throws IllegalArgumentException if any argument is null or the increment is negative.
+   */
+
+  public GameClock(ReversiModel model, long whiteNanos, long blackNanos, long incrementNanos,
+                   LongSupplier nanoTime) throws IllegalArgumentException {
+    if (model == null || nanoTime == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    if (incrementNanos < 0) {
+      throw new IllegalArgumentException("Times cannot be negative.");
+    }
+    this.model = model;
+    this.incrementNanos = incrementNanos;
+    this.nanoTime = nanoTime;
+    this.remaining.put(PieceColor.WHITE, whiteNanos);
+    this.remaining.put(PieceColor.BLACK, blackNanos);
+    this.model.addFeatureListener(this);
+  }
+
+  // Checks that the time each player starts with is not negative.
+  private static long checkInitial(long initialNanos) throws IllegalArgumentException {
+    if (initialNanos < 0) {
+      throw new IllegalArgumentException("Times cannot be negative.");
+    }
+    return initialNanos;
+  }
+
+  @Override
+  public void notifyTurn() {
+    if (this.model.isGameOver()) {
+      this.stop();
+    } else {
+      this.switchTo(this.model.getPlayerColor());
+    }
+  }
+
+  /**
+   * Runs the clock of the provided player. If another player's clock was running, it is
+   * stopped and that player receives the increment. Switching to the player whose clock is
+   * already running has no effect.
+   *
+   * @param color the player whose clock should run.
+   */
+
+  public synchronized void switchTo(PieceColor color) {
+    if (color == this.running) {
+      return;
+    }
+    this.stop();
+    this.running = color;
+    this.startedAt = this.nanoTime.getAsLong();
+  }
+
+  /**
+   * Stops the clock of the player whose clock is running, if any, and gives them the increment.
+   */
+
+  public synchronized void stop() {
+    if (this.running == null) {
+      return;
+    }
+    long elapsed = this.nanoTime.getAsLong() - this.startedAt;
+    this.remaining.put(this.running,
+            this.remaining.get(this.running) - elapsed + this.incrementNanos);
+    this.running = null;
+  }
+
+  /**
+   * Gets the time the provided player has left, including the time spent on the current turn
+   * if their clock is running. The result is negative if the player has run out of time.
+   *
+   * @param color the player to get the remaining time of.
+   * @return the player's remaining time in nanoseconds.
+   */
+
+  public synchronized long getRemainingNanos(PieceColor color) {
+    long left = this.remaining.get(color);
+    if (color == this.running) {
+      left -= this.nanoTime.getAsLong() - this.startedAt;
+    }
+    return left;
+  }
+
+  /**
+   * Gets the time added to a player's clock after each of their turns.
+   *
+   * @return the increment in nanoseconds.
+   */
+
+  public long getIncrementNanos() {
+    return this.incrementNanos;
+  }
+
+  /**
+   * Gets the player whose clock is running.
+   *
+   * @return the player whose clock is running, or an empty {@link Optional} if it is stopped.
+   */
+
+  public synchronized Optional<PieceColor> getRunning() {
+    return Optional.ofNullable(this.running);
+  }
+
+  /**
+   * Determines whether the provided player has run out of time.
+   *
+   * @param color the player to check.
+   * @return true if the player has no time left, false otherwise.
+   */
+
+  public boolean hasFlagged(PieceColor color) {
+    return this.getRemainingNanos(color) < 0;
+  }
+
+  /**
+   * Gets the time source this clock is measured with.
+   *
+   * @return the time source of this clock.
+   */
+
+  LongSupplier getTimeSource() {
+    return this.nanoTime;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.clock;
+
+import java.util.List;
+
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.model.types.ReversiCellPair;
+import cs3500.reversi.strategy.BatchMoveScorer;
+
+/**
+ * Decides how much of a player's remaining time to spend on their next move. The time left on
+ * the clock is spread evenly over the moves the player still has to make, which is estimated
+ * from the number of empty cells, and the increment is spent as it comes in. Positions with
+ * many legal moves get more time than that share, positions with few get less, and a forced
+ * move gets almost none. A reserve is always kept back so that the player never runs out of
+ * time, and every move's time is bounded, so the time spent per move is predictable.
+ */
+
+public final class TimeManager {
+
+  private static final long MIN_RESERVE_NANOS = 50_000_000L;
+  private static final int RESERVE_DIVISOR = 20;
+  private static final int HARD_TO_SOFT_RATIO = 3;
+  private static final int TYPICAL_MOBILITY = 6;
+
+  /**
+   * Allocates the time the provided player may spend on their move in the provided position.
+   *
+   * @param clock the clock the player is timed with.
+   * @param model the position the player is to move in.
+   * @param color the player that is to move.
+   * @return the deadline for the player's move.
+   */
+
+  public Deadline allocate(GameClock clock, ReadonlyReversiModel model, PieceColor color) {
+    long remaining = clock.getRemainingNanos(color);
+    long reserve = Math.max(MIN_RESERVE_NANOS, remaining / RESERVE_DIVISOR);
+    long available = Math.max(0, remaining - reserve);
+
+    int empties = this.countEmpties(model);
+    int movesToGo = Math.max(1, (empties + 1) / 2);
+    long share = available / movesToGo + clock.getIncrementNanos() * 3 / 4;
+
+    int mobility = this.countMobility(model, color);
+    long soft;
+    if (mobility <= 1) {
+      soft = 0;
+    } else {
+      double complexity = Math.min(2.0, Math.max(0.5, (double) mobility / TYPICAL_MOBILITY));
+      soft = (long) (share * complexity);
+    }
+    long hard = Math.min(available, Math.max(soft, share) * HARD_TO_SOFT_RATIO);
+    soft = Math.min(soft, hard);
+    return Deadline.after(soft, hard, clock.getTimeSource());
+  }
+
+  /**
+   * Counts the empty cells of the provided model.
+   *
+   * @param model the model to count the empty cells of.
+   * @return the number of empty cells.
+   */
+
+  private int countEmpties(ReadonlyReversiModel model) {
+    int empties = 0;
+    for (List<ReversiCellPair> row : model.getBoardCopy()) {
+      for (ReversiCellPair pair : row) {
+        if (pair.getState().equals("_")) {
+          empties++;
+        }
+      }
+    }
+    return empties;
+  }
+
+  /**
+   * Counts the legal moves of the provided player, which measures how complex the position is.
+   * If the moves cannot be counted from the board, a typical number of moves is assumed.
+   *
+   * @param model the position to count the moves in.
+   * @param color the player to count the moves of.
+   * @return the number of legal moves.
+   */
+
+  private int countMobility(ReadonlyReversiModel model, PieceColor color) {
+    if (BatchMoveScorer.canScore(model, color)) {
+      return BatchMoveScorer.of(model, color).size();
+    }
+    return TYPICAL_MOBILITY;
+  }
+}
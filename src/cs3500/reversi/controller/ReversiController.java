@@ -17,6 +17,8 @@
 
 package cs3500.reversi.controller;
 
+import java.util.concurrent.Executor;
+
 import cs3500.reversi.model.ModelFeatures;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.player.Player;
@@ -24,7 +26,9 @@ import cs3500.reversi.view.GraphicsView;
 import cs3500.reversi.view.ViewFeatures;
 
 /**
- * Represents a controller for a Reversi game.
+ * Represents a controller for a Reversi game. A controller built with a {@link TurnScheduler}
+ * applies its player's moves on the scheduler's game thread and updates its view on the
+ * scheduler's UI thread; otherwise, everything runs on the thread that calls it.
  */
 
 public class ReversiController implements ViewFeatures, ModelFeatures {
@@ -32,6 +36,7 @@ public class ReversiController implements ViewFeatures, ModelFeatures {
   private final ReversiModel model;
   private final Player player;
   private final GraphicsView view;
+  private final Executor ui;
 
   /**
    * Constructs a new {@link ReversiController} using the provided model,
@@ -50,19 +55,46 @@ public class ReversiController implements ViewFeatures, ModelFeatures {
     this.model = model;
     this.player = player;
     this.view = view;
+    this.ui = Runnable::run;
     this.view.addFeatureListener(this);
     this.model.addFeatureListener(this);
     this.player.addFeatures(this);
   }
 
+  /**
+   * Constructs a new {@link ReversiController} whose turns are scheduled by the provided
+   * scheduler. Moves requested by the view or the player are queued on the game thread,
+   * and model events are queued on the UI thread, so neither the model's listener loop nor
+   * the event dispatch thread ever waits on the other.
+   *
+   * @param model the model to use.
+   * @param player the player to use.
+   * @param view the view to use.
+   * @param scheduler the scheduler to queue moves and events on.
+   */
+
+  public ReversiController(ReversiModel model, Player player, GraphicsView view,
+                           TurnScheduler scheduler) {
+    if (model == null || player == null || view == null || scheduler == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    this.model = model;
+    this.player = player;
+    this.view = view;
+    this.ui = scheduler.getUiExecutor();
+    this.view.addFeatureListener(scheduler.onGameThread(this));
+    this.model.addFeatureListener(scheduler.onUiThread(this));
+    this.player.addFeatures(scheduler.onGameThread(this));
+  }
+
   @Override
   public void passTurn() {
     try {
       this.model.pass(this.player.getPieceColor());
     } catch (IllegalStateException e) {
-      this.view.notifyMessageDialog(e.getMessage());
+      this.ui.execute(() -> this.view.notifyMessageDialog(e.getMessage()));
+      this.ui.execute(this.view::refresh);
     }
-    this.view.refresh();
   }
 
   @Override
@@ -70,14 +102,26 @@ public class ReversiController implements ViewFeatures, ModelFeatures {
     try {
       this.model.playMove(row, col, this.player.getPieceColor());
     } catch (IllegalStateException | IllegalArgumentException e) {
-      this.view.notifyMessageDialog(e.getMessage());
+      this.ui.execute(() -> this.view.notifyMessageDialog(e.getMessage()));
+      this.ui.execute(this.view::refresh);
     }
-    this.view.refresh();
+  }
+
+  @Override
+  public void undoMove() {
+    if (!this.model.canUndo()) {
+      this.ui.execute(() -> this.view.notifyMessageDialog("There is no move to undo."));
+      return;
+    }
+    do {
+      this.model.undo();
+    } while (this.model.canUndo() && this.model.getPlayerColor() != this.player.getPieceColor());
   }
 
   @Override
   public void notifyTurn() {
     if (this.model.isGameOver()) {
+      this.view.refresh();
       if (this.model.getWinner().isPresent()) {
         this.view.notifyMessageDialog(this.model.getWinner().get() + " won the game!");
       } else {
@@ -0,0 +1,202 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.controller;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import cs3500.reversi.model.ListenerMailbox;
+import cs3500.reversi.model.ModelFeatures;
+import cs3500.reversi.player.AIPlayer;
+import cs3500.reversi.view.ViewFeatures;
+
+/**
+ * Schedules the turns of a game of Reversi across three kinds of thread. Moves are applied
+ * to the model one at a time, in the order they were requested, on a single game thread.
+ * AI players search for their moves on a shared pool of worker threads, and post the moves
+ * they choose back onto the game thread's queue. Updates to the views run on the UI thread,
+ * which is the Swing event dispatch thread unless another executor is provided.
+ *
+ * <p>Since every move and every model event is a separate task on a queue, the stack never
+ * grows with the length of the game, even when two AI players play each other, and the
+ * event dispatch thread is never blocked by a search or a move.
+ */
+
+public final class TurnScheduler {
+
+  private final ExecutorService gameThread;
+  private final ExecutorService workers;
+  private final Executor ui;
+  private volatile Thread thread;
+
+  /**
+   * Constructs a new {@link TurnScheduler} with one worker per available processor, which
+   * updates its views on the Swing event dispatch thread.
+   */
+
+  public TurnScheduler() {
+    this(Runtime.getRuntime().availableProcessors(), SwingUtilities::invokeLater);
+  }
+
+  /**
+   * Constructs a new {@link TurnScheduler}.
+   *
+   * @param workerCount the number of worker threads AI players search on.
+   * @param ui the executor that views are updated on.
+   * @throws IllegalArgumentException if the worker count is not positive or the executor
+   *                                  is null.
+   */
+
+  public TurnScheduler(int workerCount, Executor ui) throws IllegalArgumentException {
+    if (workerCount < 1) {
+      throw new IllegalArgumentException("There must be at least one worker.");
+    }
+    if (ui == null) {
+      throw new IllegalArgumentException("Executor cannot be null.");
+    }
+    this.ui = ui;
+    this.gameThread = Executors.newSingleThreadExecutor(runnable -> {
+      this.thread = new Thread(runnable, "reversi-game");
+      this.thread.setDaemon(true);
+      return this.thread;
+    });
+    AtomicInteger count = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+      Thread worker = new Thread(runnable, "reversi-worker-" + count.incrementAndGet());
+      worker.setDaemon(true);
+      return worker;
+    });
+  }
+
+  /**
+   * Gets the executor that runs tasks on the game thread, in the order they are submitted.
+   *
+   * @return the game thread's executor.
+   */
+
+  public Executor getGameExecutor() {
+    return this.gameThread;
+  }
+
+  /**
+   * Gets the executor that runs tasks on the pool of worker threads.
+   *
+   * @return the worker pool's executor.
+   */
+
+  public Executor getWorkerExecutor() {
+    return this.workers;
+  }
+
+  /**
+   * Gets the executor that views are updated on.
+   *
+   * @return the UI executor.
+   */
+
+  public Executor getUiExecutor() {
+    return this.ui;
+  }
+
+  /**
+   * Checks whether the calling thread is this scheduler's game thread.
+   *
+   * @return true if the caller is running on the game thread.
+   */
+
+  public boolean isGameThread() {
+    return Thread.currentThread() == this.thread;
+  }
+
+  /**
+   * Wraps the provided features so that each requested move, pass or undo is queued on the game
+   * thread, instead of being applied on the thread that requested it.
+   *
+   * @param features the features to queue requests for.
+   * @return the queued features.
+   * @throws IllegalArgumentException if the features are null.
+   */
+
+  public ViewFeatures onGameThread(ViewFeatures features) throws IllegalArgumentException {
+    if (features == null) {
+      throw new IllegalArgumentException("Features cannot be null.");
+    }
+    return new ViewFeatures() {
+      @Override
+      public void makeMove(int row, int col) {
+        gameThread.execute(() -> features.makeMove(row, col));
+      }
+
+      @Override
+      public void passTurn() {
+        gameThread.execute(features::passTurn);
+      }
+
+      @Override
+      public void undoMove() {
+        gameThread.execute(features::undoMove);
+      }
+    };
+  }
+
+  /**
+   * Wraps the provided listener so that model events are queued on the UI thread, instead
+   * of being handled inside the model's own listener loop. Events that pile up while the UI
+   * thread is busy are coalesced into one.
+   *
+   * @param listener the listener to queue events for.
+   * @return the queued listener.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+
+  public ModelFeatures onUiThread(ModelFeatures listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    return ListenerMailbox.coalescing(listener, this.ui);
+  }
+
+  /**
+   * Schedules the provided AI player: it searches for its moves on this scheduler's workers,
+   * and posts the moves it chooses to the game thread.
+   *
+   * @param player the AI player to schedule.
+   * @throws IllegalArgumentException if the player is null.
+   */
+
+  public void schedule(AIPlayer player) throws IllegalArgumentException {
+    if (player == null) {
+      throw new IllegalArgumentException("Player cannot be null.");
+    }
+    player.setSearchExecutor(this.workers);
+    player.setCallbackExecutor(this.gameThread);
+  }
+
+  /**
+   * Stops the game thread and the workers. Tasks that are already queued are still run, but
+   * no new tasks are accepted.
+   */
+
+  public void shutdown() {
+    this.gameThread.shutdown();
+    this.workers.shutdown();
+  }
+}
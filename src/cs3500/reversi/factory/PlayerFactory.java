@@ -51,7 +51,8 @@ public final class PlayerFactory {
   }
 
   /**
-   * Build a {@link Player} based on the provided constructor arguments.
+   * Build a {@link Player} based on the provided constructor arguments. AI players
+   * are built to think on their opponent's time.
    * @return the built {@link Player}.
    */
 
@@ -60,13 +61,13 @@ public final class PlayerFactory {
       case "human":
         return new HumanPlayerAdapter(this.model, this.color);
       case "easyai":
-        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.EASY);
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.EASY, true);
       case "hardai":
-        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.HARD);
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.HARD, true);
       case "providerai":
-        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.PROVIDER);
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.PROVIDER, true);
       default:
-        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.MEDIUM);
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.MEDIUM, true);
     }
   }
 }
\ No newline at end of file
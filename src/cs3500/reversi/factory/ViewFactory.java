@@ -17,12 +17,15 @@
 
 package cs3500.reversi.factory;
 
-import cs3500.reversi.adapter.AIPlayerAdapter;
-import cs3500.reversi.adapter.HumanPlayerAdapter;
-import cs3500.reversi.adapter.ModelAdapter;
+import cs3500.reversi.adapter.ReadonlyModelAdapter;
 import cs3500.reversi.adapter.ViewAdapter;
+import cs3500.reversi.model.ConcurrentReversiModel;
+import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
 import cs3500.reversi.player.Player;
+import cs3500.reversi.provider.model.Piece;
+import cs3500.reversi.provider.player.IPlayer;
 import cs3500.reversi.view.GraphicsView;
 import cs3500.reversi.view.ReversiGraphicsView;
 
@@ -34,17 +37,20 @@ import cs3500.reversi.view.ReversiGraphicsView;
 
 public final class ViewFactory {
 
-  private final ModelAdapter model;
+  private final ReadonlyReversiModel model;
   private final Player player;
   private final boolean isProviderView;
 
   /**
-   * Create a new instance of this view builder.
+   * Create a new instance of this view builder. The views only read the game through the
+   * provided model, so it should be one that can be read safely while moves are played on
+   * another thread, such as a {@link ConcurrentReversiModel}.
    * @param model the model to use.
    * @param player the player to use.
+   * @param isProviderView whether to build the provider's view.
    */
 
-  public ViewFactory(ModelAdapter model, Player player, boolean isProviderView) {
+  public ViewFactory(ReadonlyReversiModel model, Player player, boolean isProviderView) {
     this.model = model;
     this.player = player;
     this.isProviderView = isProviderView;
@@ -58,16 +64,36 @@ public final class ViewFactory {
   public GraphicsView build() {
     GraphicsView view;
     if (this.isProviderView) {
-      if (player.isAI() && player.getDifficulty().isPresent()) {
-        view = new ViewAdapter(model, new AIPlayerAdapter(model, player.getPieceColor(),
-                player.getDifficulty().get()));
-      } else {
-        view = new ViewAdapter(model, new HumanPlayerAdapter(model, player.getPieceColor()));
-      }
+      view = new ViewAdapter(new ReadonlyModelAdapter(this.model), this.providerPlayer());
     } else {
-      view = new ReversiGraphicsView(model, player);
+      view = new ReversiGraphicsView(this.model, this.player);
     }
     view.setVisible(true);
     return view;
   }
+
+  /**
+   * Gets the player as the provider's view sees it. The provider's view only shows the
+   * player's color and name, so no second player is created to play on the model.
+   * @return the player as an {@link IPlayer}.
+   */
+
+  private IPlayer providerPlayer() {
+    if (this.player instanceof IPlayer) {
+      return (IPlayer) this.player;
+    }
+    Piece color = this.player.getPieceColor() == PieceColor.BLACK ? Piece.BLACK : Piece.WHITE;
+    String name = this.player.isAI() ? "AI Player" : "Human Player";
+    return new IPlayer() {
+      @Override
+      public Piece getColor() {
+        return color;
+      }
+
+      @Override
+      public String getName() {
+        return name;
+      }
+    };
+  }
 }
@@ -0,0 +1,426 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs3500.reversi.model.types.CellClass;
+import cs3500.reversi.model.types.Direction;
+
+/**
+ * Represents the shape of a hexagonal Reversi board of a given radius. A geometry knows three
+ * ways of naming each cell and converts between them in constant time:
+ * <ul>
+ *   <li>its row and column, as used by {@link ReadonlyReversiModel},</li>
+ *   <li>its axial coordinates q and r, as used by {@link Cell}, and</li>
+ *   <li>its dense index, which numbers the cells from 0 row by row from the top left.</li>
+ * </ul>
+ * It also knows the {@link CellClass} of every cell and the neighbors of every cell in each
+ * {@link Direction}. Geometries are immutable and built once per radius, so every model,
+ * view and strategy of the same size shares one instance.
+ */
+
+public final class BoardGeometry {
+
+  /**
+   * The number of symmetries of a hexagonal board: six rotations, each with or without a
+   * reflection. Symmetry 0 is the identity.
+   */
+
+  public static final int SYMMETRIES = 12;
+
+  private static final int[][] DIRECTIONS = {{1, 0}, {1, -1}, {0, -1}, {-1, 0}, {-1, 1}, {0, 1}};
+  private static final Map<Integer, BoardGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+  private final int radius;
+  private final int[] rowStarts;
+  private final int[] rows;
+  private final int[] cols;
+  private final int[] qs;
+  private final int[] rs;
+  private final CellClass[] classes;
+  private final int[][] neighbors;
+  private final int[][] symmetric;
+  private final int[][] symmetrySources;
+
+  /**
+   * Builds the geometry of a board with the provided radius.
+   *
+   * @param radius the radius of the board.
+   */
+
+  private BoardGeometry(int radius) {
+    this.radius = radius;
+    int diameter = 2 * radius + 1;
+    this.rowStarts = new int[diameter + 1];
+    for (int row = 0; row < diameter; row++) {
+      this.rowStarts[row + 1] = this.rowStarts[row] + diameter - Math.abs(radius - row);
+    }
+    int size = this.rowStarts[diameter];
+    this.rows = new int[size];
+    this.cols = new int[size];
+    this.qs = new int[size];
+    this.rs = new int[size];
+    for (int row = 0; row < diameter; row++) {
+      int r = row - radius;
+      for (int index = this.rowStarts[row]; index < this.rowStarts[row + 1]; index++) {
+        this.rows[index] = row;
+        this.cols[index] = index - this.rowStarts[row];
+        this.qs[index] = this.cols[index] + Math.max(-radius, -r - radius);
+        this.rs[index] = r;
+      }
+    }
+    this.neighbors = new int[size][DIRECTIONS.length];
+    for (int index = 0; index < size; index++) {
+      for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+        this.neighbors[index][dir] = this.indexOfAxial(this.qs[index] + DIRECTIONS[dir][0],
+                this.rs[index] + DIRECTIONS[dir][1]);
+      }
+    }
+    this.symmetric = new int[SYMMETRIES][size];
+    this.symmetrySources = new int[SYMMETRIES][size];
+    for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+      for (int index = 0; index < size; index++) {
+        int q = this.qs[index];
+        int r = this.rs[index];
+        if (symmetry >= SYMMETRIES / 2) {
+          r = -q - r;
+        }
+        for (int turn = 0; turn < symmetry % (SYMMETRIES / 2); turn++) {
+          int rotated = -r;
+          r = q + r;
+          q = rotated;
+        }
+        int image = this.indexOfAxial(q, r);
+        this.symmetric[symmetry][index] = image;
+        this.symmetrySources[symmetry][image] = index;
+      }
+    }
+    this.classes = new CellClass[size];
+    for (int index = 0; index < size; index++) {
+      int q = this.qs[index];
+      int r = this.rs[index];
+      int s = -q - r;
+      if (Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(s))) < radius) {
+        this.classes[index] = CellClass.INTERIOR;
+      } else if (q == 0 || r == 0 || s == 0) {
+        this.classes[index] = CellClass.CORNER;
+      } else {
+        this.classes[index] = CellClass.EDGE;
+      }
+    }
+    for (int index = 0; index < size; index++) {
+      if (this.classes[index] != CellClass.CORNER) {
+        continue;
+      }
+      for (int neighbor : this.neighbors[index]) {
+        if (neighbor != -1 && this.classes[neighbor] != CellClass.CORNER) {
+          this.classes[neighbor] = CellClass.NEXT_TO_CORNER;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the geometry of a board with the provided radius. The geometry is built the first
+   * time it is asked for and shared from then on.
+   *
+   * @param radius the radius of the board.
+   * @return the geometry of the board.
+   * @throws IllegalArgumentException if the radius is less than 1.
+   */
+
+  public static BoardGeometry of(int radius) throws IllegalArgumentException {
+    if (radius < 1) {
+      throw new IllegalArgumentException("Radius must be at least 1.");
+    }
+    return GEOMETRIES.computeIfAbsent(radius, BoardGeometry::new);
+  }
+
+  /**
+   * Gets the radius of the board.
+   *
+   * @return the radius of the board.
+   */
+
+  public int getRadius() {
+    return this.radius;
+  }
+
+  /**
+   * Gets the number of rows of the board.
+   *
+   * @return the number of rows of the board.
+   */
+
+  public int getDiameter() {
+    return 2 * this.radius + 1;
+  }
+
+  /**
+   * Gets the number of cells on the board.
+   *
+   * @return the number of cells on the board.
+   */
+
+  public int size() {
+    return this.rows.length;
+  }
+
+  /**
+   * Gets the number of cells in the provided row.
+   *
+   * @param row the row to get the length of.
+   * @return the number of cells in the row.
+   * @throws IllegalArgumentException if the row is not on the board.
+   */
+
+  public int getRowLength(int row) throws IllegalArgumentException {
+    if (row < 0 || row >= this.getDiameter()) {
+      throw new IllegalArgumentException("The provided row is not on the board.");
+    }
+    return this.rowStarts[row + 1] - this.rowStarts[row];
+  }
+
+  /**
+   * Determines whether the provided row and column are on the board.
+   *
+   * @param row the row of the location.
+   * @param col the column of the location.
+   * @return true if the location is on the board, false otherwise.
+   */
+
+  public boolean isOnBoard(int row, int col) {
+    return row >= 0 && row < this.getDiameter() && col >= 0
+            && col < this.rowStarts[row + 1] - this.rowStarts[row];
+  }
+
+  /**
+   * Gets the dense index of the cell at the provided row and column.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   * @return the dense index of the cell, or -1 if the location is not on the board.
+   */
+
+  public int indexOf(int row, int col) {
+    return this.isOnBoard(row, col) ? this.rowStarts[row] + col : -1;
+  }
+
+  /**
+   * Gets the dense index of the cell with the provided axial coordinates.
+   *
+   * @param q the q coordinate of the cell.
+   * @param r the r coordinate of the cell.
+   * @return the dense index of the cell, or -1 if the coordinates are not on the board.
+   */
+
+  public int indexOfAxial(int q, int r) {
+    if (Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(q + r))) > this.radius) {
+      return -1;
+    }
+    return this.rowStarts[r + this.radius] + q - Math.max(-this.radius, -r - this.radius);
+  }
+
+  /**
+   * Gets the row of the cell with the provided dense index.
+   *
+   * @param index the dense index of the cell.
+   * @return the row of the cell.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public int getRow(int index) throws IllegalArgumentException {
+    return this.rows[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the column of the cell with the provided dense index.
+   *
+   * @param index the dense index of the cell.
+   * @return the column of the cell.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public int getCol(int index) throws IllegalArgumentException {
+    return this.cols[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the q coordinate of the cell with the provided dense index.
+   *
+   * @param index the dense index of the cell.
+   * @return the q coordinate of the cell.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public int getQ(int index) throws IllegalArgumentException {
+    return this.qs[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the r coordinate of the cell with the provided dense index.
+   *
+   * @param index the dense index of the cell.
+   * @return the r coordinate of the cell.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public int getR(int index) throws IllegalArgumentException {
+    return this.rs[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the ring of the cell with the provided dense index, which is its distance from the
+   * center cell. Cells on the outer ring of the board have a ring equal to the radius.
+   *
+   * @param index the dense index of the cell.
+   * @return the ring of the cell.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public int getRing(int index) throws IllegalArgumentException {
+    int q = this.qs[this.checkIndex(index)];
+    int r = this.rs[index];
+    return Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(q + r)));
+  }
+
+  /**
+   * Gets the class of the cell with the provided dense index.
+   *
+   * @param index the dense index of the cell.
+   * @return the class of the cell.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public CellClass getCellClass(int index) throws IllegalArgumentException {
+    return this.classes[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the dense indices of every cell of the provided class, from the top left.
+   *
+   * @param cellClass the class of cells to get.
+   * @return the dense indices of the cells.
+   */
+
+  public int[] getCells(CellClass cellClass) {
+    int[] cells = new int[this.size()];
+    int count = 0;
+    for (int index = 0; index < this.size(); index++) {
+      if (this.classes[index] == cellClass) {
+        cells[count++] = index;
+      }
+    }
+    return Arrays.copyOf(cells, count);
+  }
+
+  /**
+   * Gets the neighbor of the cell with the provided dense index in the provided direction.
+   *
+   * @param index the dense index of the cell.
+   * @param direction the direction of the neighbor.
+   * @return the dense index of the neighbor, or -1 if there is no neighbor in that direction.
+   * @throws IllegalArgumentException if the index is not on the board or the direction is
+   *                                  null.
+   */
+
+  public int getNeighbor(int index, Direction direction) throws IllegalArgumentException {
+    if (direction == null) {
+      throw new IllegalArgumentException("Direction cannot be null.");
+    }
+    return this.neighbors[this.checkIndex(index)][direction.ordinal()];
+  }
+
+  /**
+   * Gets the neighbors of the cell with the provided dense index, in the order of
+   * {@link Direction}.
+   *
+   * @param index the dense index of the cell.
+   * @return the dense indices of the neighbors, with -1 where there is no neighbor.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public int[] getNeighbors(int index) throws IllegalArgumentException {
+    return this.neighbors[this.checkIndex(index)].clone();
+  }
+
+  /**
+   * Gets the image of the cell with the provided dense index under the provided symmetry.
+   * Symmetries 0 to 5 rotate the board by that many sixths of a turn about its center, and
+   * symmetries 6 to 11 reflect the board across the line through its center along the q
+   * axis before rotating it.
+   *
+   * @param index the dense index of the cell.
+   * @param symmetry the symmetry to apply, from 0 to {@link #SYMMETRIES} - 1.
+   * @return the dense index of the image of the cell.
+   * @throws IllegalArgumentException if the index is not on the board or the symmetry does
+   *                                  not exist.
+   */
+
+  public int getSymmetric(int index, int symmetry) throws IllegalArgumentException {
+    return this.symmetric[checkSymmetry(symmetry)][this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the cell whose image under the provided symmetry is the cell with the provided
+   * dense index, which undoes {@link #getSymmetric(int, int)}.
+   *
+   * @param index the dense index of the image.
+   * @param symmetry the symmetry that was applied, from 0 to {@link #SYMMETRIES} - 1.
+   * @return the dense index of the cell the image came from.
+   * @throws IllegalArgumentException if the index is not on the board or the symmetry does
+   *                                  not exist.
+   */
+
+  public int getSymmetrySource(int index, int symmetry) throws IllegalArgumentException {
+    return this.symmetrySources[checkSymmetry(symmetry)][this.checkIndex(index)];
+  }
+
+  /**
+   * Checks that the provided symmetry exists.
+   *
+   * @param symmetry the symmetry to check.
+   * @return the symmetry.
+   * @throws IllegalArgumentException if the symmetry does not exist.
+   */
+
+  private static int checkSymmetry(int symmetry) throws IllegalArgumentException {
+    if (symmetry < 0 || symmetry >= SYMMETRIES) {
+      throw new IllegalArgumentException("The provided symmetry does not exist.");
+    }
+    return symmetry;
+  }
+
+  /**
+   * Checks that the provided dense index is on the board.
+   *
+   * @param index the dense index to check.
+   * @return the index.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  private int checkIndex(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= this.size()) {
+      throw new IllegalArgumentException("The provided index is not on the board.");
+    }
+    return index;
+  }
+}
@@ -0,0 +1,254 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.model;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.model.types.ReversiCellPair;
+
+/**
+ * Represents a thread-safe view of a {@link ReversiModel}, which may be read from any thread
+ * while moves are being played on another. Moves and passes are applied to the wrapped model
+ * one at a time, and after each one an immutable copy of the game is published. Reads never
+ * block and never see a move half-applied: each read is answered from the latest published
+ * copy, and {@link #snapshot()} gives a copy to make several reads from the same position.
+ * Undo and redo are serialized with moves, and publish a copy in the same way. The move
+ * history is the one read that waits for the write lock, since copies do not keep one.
+ *
+ * <p>Listeners added through this model are notified after the copy of the new position has
+ * been published, so they read the position they are being notified of. The wrapped model
+ * should not be changed except through this model.
+ */
+
+public final class ConcurrentReversiModel implements ReversiModel {
+
+  private final ReversiModel model;
+  private final Object writeLock = new Object();
+  private volatile ReadonlyReversiModel published;
+  private volatile long version;
+
+  /**
+   * Constructs a new {@link ConcurrentReversiModel} that wraps the provided model.
+   *
+   * @param model the model to wrap.
+   * @throws IllegalArgumentException if the model is null.
+   */
+
+  public ConcurrentReversiModel(ReversiModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    this.model = model;
+    this.published = model.getModelCopy();
+    this.model.addChangeListener(change -> this.publish());
+  }
+
+  /**
+   * Gets an immutable copy of the latest position, which does not change as more moves are
+   * played. Use this to make several reads from the same position.
+   *
+   * @return the latest position.
+   */
+
+  public ReadonlyReversiModel snapshot() {
+    return this.published;
+  }
+
+  /**
+   * Gets the number of changes that have been published, which increases by one with every
+   * move and pass.
+   *
+   * @return the version of the latest position.
+   */
+
+  public long getVersion() {
+    return this.version;
+  }
+
+  @Override
+  public void playMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    synchronized (this.writeLock) {
+      this.model.playMove(row, col, pieceColor);
+    }
+  }
+
+  @Override
+  public void pass(PieceColor pieceColor) throws IllegalStateException {
+    synchronized (this.writeLock) {
+      this.model.pass(pieceColor);
+    }
+  }
+
+  @Override
+  public void replay(int[] moves) throws IllegalArgumentException, IllegalStateException {
+    synchronized (this.writeLock) {
+      this.model.replay(moves);
+    }
+  }
+
+  @Override
+  public boolean canUndo() {
+    synchronized (this.writeLock) {
+      return this.model.canUndo();
+    }
+  }
+
+  @Override
+  public boolean canRedo() {
+    synchronized (this.writeLock) {
+      return this.model.canRedo();
+    }
+  }
+
+  @Override
+  public void undo() throws IllegalStateException {
+    synchronized (this.writeLock) {
+      this.model.undo();
+    }
+  }
+
+  @Override
+  public void redo() throws IllegalStateException {
+    synchronized (this.writeLock) {
+      this.model.redo();
+    }
+  }
+
+  @Override
+  public void startGame() {
+    synchronized (this.writeLock) {
+      this.model.startGame();
+    }
+  }
+
+  @Override
+  public void addFeatureListener(ModelFeatures features) {
+    this.model.addFeatureListener(features);
+  }
+
+  @Override
+  public void addFeatureListener(ModelFeatures features, Executor executor) {
+    this.model.addFeatureListener(features, executor);
+  }
+
+  @Override
+  public void addChangeListener(ModelChangeListener listener) {
+    this.model.addChangeListener(listener);
+  }
+
+  @Override
+  public void addChangeListener(ModelChangeListener listener, Executor executor) {
+    this.model.addChangeListener(listener, executor);
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return this.published.isGameOver();
+  }
+
+  @Override
+  public boolean isValidMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException {
+    return this.published.isValidMove(row, col, pieceColor);
+  }
+
+  @Override
+  public int getTurn() {
+    return this.published.getTurn();
+  }
+
+  @Override
+  public int getRadius() {
+    return this.published.getRadius();
+  }
+
+  @Override
+  public int getDiameter() {
+    return this.published.getDiameter();
+  }
+
+  @Override
+  public int getScore(PieceColor pieceColor) {
+    return this.published.getScore(pieceColor);
+  }
+
+  @Override
+  public List<List<ReversiCellPair>> getBoardCopy() {
+    return this.published.getBoardCopy();
+  }
+
+  @Override
+  public String getStateOf(Cell cell) throws IllegalArgumentException {
+    return this.published.getStateOf(cell);
+  }
+
+  @Override
+  public String getStateOf(int row, int col) throws IllegalArgumentException {
+    return this.published.getStateOf(row, col);
+  }
+
+  @Override
+  public List<Cell> getCellsThatWillBeFlipped(Cell cell, PieceColor pieceColor) {
+    return this.published.getCellsThatWillBeFlipped(cell, pieceColor);
+  }
+
+  @Override
+  public PieceColor getPlayerColor() {
+    return this.published.getPlayerColor();
+  }
+
+  @Override
+  public int getPasses() {
+    return this.published.getPasses();
+  }
+
+  @Override
+  public ReversiModel getModelCopy() {
+    return this.published.getModelCopy();
+  }
+
+  @Override
+  public Position getPosition() {
+    return this.published.getPosition();
+  }
+
+  @Override
+  public int[] getMoveHistory() {
+    synchronized (this.writeLock) {
+      return this.model.getMoveHistory();
+    }
+  }
+
+  @Override
+  public Optional<PieceColor> getWinner() throws IllegalStateException {
+    return this.published.getWinner();
+  }
+
+  /**
+   * Publishes a copy of the wrapped model's current position. This is called by the wrapped
+   * model after every move and pass, before any other listener added through this model.
+   */
+
+  private void publish() {
+    this.published = this.model.getModelCopy();
+    this.version++;
+  }
+}
@@ -0,0 +1,272 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.model;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Holds a large number of idle games of Reversi on one board size without keeping a model for
+ * each of them. A parked game is only its position and, optionally, the state of its clock,
+ * kept in primitive arrays indexed by the game's slot: the packed two-bit cells of the
+ * position, the turn, the number of consecutive passes, and each player's remaining time.
+ * A game on a board of radius 5 takes 45 bytes, against the kilobytes of a
+ * {@link HexagonalReversi}, so millions of correspondence games fit in one process.
+ *
+ * <p>A game is given a full model only while it is active: {@link #activate(int)} builds a
+ * {@link HexagonalReversi} from the parked position, and {@link #update(int, ReadonlyReversiModel)}
+ * parks the model's position again once it has been played on. A game's slot stays reserved
+ * until it is removed, after which the slot is reused by the next game that is parked. A
+ * materialized model starts at the parked position, so it has no moves to undo.
+ *
+ * <p>The registry is safe to use from multiple threads.
+ */
+
+public final class GameRegistry {
+
+  // The remaining time kept for a game that is not timed.
+  private static final long NO_CLOCK = Long.MIN_VALUE;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final BoardGeometry geometry;
+  private final int stride;
+  private long[] words;
+  // The turn of the game in each slot, or 0 if the slot is free.
+  private int[] turns;
+  private byte[] passes;
+  // The remaining times of white and black, in nanoseconds, two to a slot.
+  private long[] clocks;
+  private int[] free = new int[INITIAL_CAPACITY];
+  private int freeCount;
+  private int slots;
+  private int count;
+
+  /**
+   * Constructs a new, empty {@link GameRegistry} for games with the provided number of rows.
+   *
+   * @param rows the number of rows of the games in the registry.
+   * @throws IllegalArgumentException if the number of rows is less than 5 or even.
+   */
+
+  public GameRegistry(int rows) throws IllegalArgumentException {
+    if (rows < 5 || rows % 2 == 0) {
+      throw new IllegalArgumentException("Rows must be at least 5 and odd.");
+    }
+    this.geometry = BoardGeometry.of(rows / 2);
+    this.stride = Position.emptyCells(this.geometry).length;
+    this.words = new long[INITIAL_CAPACITY * this.stride];
+    this.turns = new int[INITIAL_CAPACITY];
+    this.passes = new byte[INITIAL_CAPACITY];
+    this.clocks = new long[INITIAL_CAPACITY * 2];
+  }
+
+  /**
+   * Parks a game that is not timed.
+   *
+   * @param model the game to park.
+   * @return the id of the parked game.
+   * @throws IllegalArgumentException if the model is null or has a different number of rows.
+   */
+
+  public int park(ReadonlyReversiModel model) throws IllegalArgumentException {
+    return this.park(model, NO_CLOCK, NO_CLOCK);
+  }
+
+  /**
+   * Parks a timed game along with the time each player has left.
+   *
+   * @param model the game to park.
+   * @param whiteNanos the time white has left, in nanoseconds.
+   * @param blackNanos the time black has left, in nanoseconds.
+   * @return the id of the parked game.
+   * @throws IllegalArgumentException if the model is null or has a different number of rows.
+   */
+
+  public synchronized int park(ReadonlyReversiModel model, long whiteNanos, long blackNanos)
+          throws IllegalArgumentException {
+    Position position = this.checkPosition(model);
+    int id;
+    if (this.freeCount > 0) {
+      id = this.free[--this.freeCount];
+    } else {
+      if (this.slots == this.turns.length) {
+        this.grow();
+      }
+      id = this.slots++;
+    }
+    this.store(id, position, whiteNanos, blackNanos);
+    this.count++;
+    return id;
+  }
+
+  /**
+   * Parks the current position of a game again, keeping the time each player has left.
+   *
+   * @param id the id of the game.
+   * @param model the game, as it has been played since it was activated.
+   * @throws IllegalArgumentException if the model is null, has a different number of rows, or
+   *     if there is no game with the id.
+   */
+
+  public synchronized void update(int id, ReadonlyReversiModel model)
+          throws IllegalArgumentException {
+    this.checkId(id);
+    this.store(id, this.checkPosition(model), this.clocks[2 * id], this.clocks[2 * id + 1]);
+  }
+
+  /**
+   * Parks the current position of a timed game again, along with the time each player has left.
+   *
+   * @param id the id of the game.
+   * @param model the game, as it has been played since it was activated.
+   * @param whiteNanos the time white has left, in nanoseconds.
+   * @param blackNanos the time black has left, in nanoseconds.
+   * @throws IllegalArgumentException if the model is null, has a different number of rows, or
+   *     if there is no game with the id.
+   */
+
+  public synchronized void update(int id, ReadonlyReversiModel model, long whiteNanos,
+                                  long blackNanos) throws IllegalArgumentException {
+    this.checkId(id);
+    this.store(id, this.checkPosition(model), whiteNanos, blackNanos);
+  }
+
+  /**
+   * Gets the parked position of a game, without building a model for it.
+   *
+   * @param id the id of the game.
+   * @return the position of the game.
+   * @throws IllegalArgumentException if there is no game with the id.
+   */
+
+  public synchronized Position getPosition(int id) throws IllegalArgumentException {
+    this.checkId(id);
+    int offset = id * this.stride;
+    return new Position(this.geometry,
+            Arrays.copyOfRange(this.words, offset, offset + this.stride),
+            this.turns[id], this.passes[id]);
+  }
+
+  /**
+   * Builds a model for a parked game so that it can be played on. The game stays parked at
+   * the same position until it is updated.
+   *
+   * @param id the id of the game.
+   * @return a new model at the game's parked position.
+   * @throws IllegalArgumentException if there is no game with the id.
+   */
+
+  public HexagonalReversi activate(int id) throws IllegalArgumentException {
+    return new HexagonalReversi(this.getPosition(id));
+  }
+
+  /**
+   * Gets the time a player of a parked game has left.
+   *
+   * @param id the id of the game.
+   * @param color the player to get the remaining time of.
+   * @return the player's remaining time in nanoseconds, or an empty {@link OptionalLong} if the
+   *     game is not timed.
+   * @throws IllegalArgumentException if the color is null or there is no game with the id.
+   */
+
+  public synchronized OptionalLong getRemainingNanos(int id, PieceColor color)
+          throws IllegalArgumentException {
+    if (color == null) {
+      throw new IllegalArgumentException("Color cannot be null.");
+    }
+    this.checkId(id);
+    long remaining = this.clocks[2 * id + (color == PieceColor.WHITE ? 0 : 1)];
+    return remaining == NO_CLOCK ? OptionalLong.empty() : OptionalLong.of(remaining);
+  }
+
+  /**
+   * Determines whether there is a game with the provided id.
+   *
+   * @param id the id to check.
+   * @return true if a game is parked with the id, false otherwise.
+   */
+
+  public synchronized boolean contains(int id) {
+    return id >= 0 && id < this.slots && this.turns[id] != 0;
+  }
+
+  /**
+   * Removes a game from the registry, freeing its slot for another game.
+   *
+   * @param id the id of the game.
+   * @throws IllegalArgumentException if there is no game with the id.
+   */
+
+  public synchronized void remove(int id) throws IllegalArgumentException {
+    this.checkId(id);
+    this.turns[id] = 0;
+    if (this.freeCount == this.free.length) {
+      this.free = Arrays.copyOf(this.free, this.free.length * 2);
+    }
+    this.free[this.freeCount++] = id;
+    this.count--;
+  }
+
+  /**
+   * Gets the number of games parked in the registry.
+   *
+   * @return the number of games.
+   */
+
+  public synchronized int getGameCount() {
+    return this.count;
+  }
+
+  // Writes a game's position and clock to its slot.
+  private void store(int id, Position position, long whiteNanos, long blackNanos) {
+    position.copyCells(this.words, id * this.stride);
+    this.turns[id] = position.getTurn();
+    this.passes[id] = (byte) position.getPasses();
+    this.clocks[2 * id] = whiteNanos;
+    this.clocks[2 * id + 1] = blackNanos;
+  }
+
+  // Grows the arrays by half of their capacity.
+  private void grow() {
+    int capacity = this.turns.length + (this.turns.length >> 1);
+    this.words = Arrays.copyOf(this.words, capacity * this.stride);
+    this.turns = Arrays.copyOf(this.turns, capacity);
+    this.passes = Arrays.copyOf(this.passes, capacity);
+    this.clocks = Arrays.copyOf(this.clocks, capacity * 2);
+  }
+
+  // Gets the position of a model to park, checking that it fits this registry.
+  private Position checkPosition(ReadonlyReversiModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    if (model.getRadius() != this.geometry.getRadius()) {
+      throw new IllegalArgumentException("The game has a different number of rows.");
+    }
+    return model.getPosition();
+  }
+
+  // Checks that a game is parked with the provided id.
+  private void checkId(int id) throws IllegalArgumentException {
+    if (!this.contains(id)) {
+      throw new IllegalArgumentException("There is no game with the provided id.");
+    }
+  }
+}
@@ -17,12 +17,15 @@
 
 package cs3500.reversi.model;
 
+import java.awt.Point;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 import cs3500.reversi.model.types.Direction;
 import cs3500.reversi.model.types.HexCell;
@@ -60,13 +63,18 @@ import cs3500.reversi.model.types.ReversiCellPair;
 
 public class HexagonalReversi implements ReversiModel, ModelFeatures {
 
-  private final List<ModelFeatures> features = new ArrayList<>();
+  private final List<ModelFeatures> features = new CopyOnWriteArrayList<>();
+  private final List<ModelChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
   private List<List<ReversiCellPair>> cells = new ArrayList<>();
   private final int radius;
   private final int diameter;
   private int turn = 1;
   private int passes = 0;
+  private final long[] packed;
+  private Position position;
+  private final List<Ply> history = new ArrayList<>();
+  private final List<Ply> redoable = new ArrayList<>();
 
   /**
    * Create a new hexagonal Reversi game.
@@ -79,6 +87,7 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     }
     this.radius = (int) Math.ceil((double) rows / 2) - 1;
     this.diameter = rows;
+    this.packed = Position.emptyCells(BoardGeometry.of(this.radius));
     this.initCells();
     this.initStartingColors();
   }
@@ -94,6 +103,38 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     this.cells = model.getBoardCopy();
     this.turn = model.getTurn();
     this.passes = model.getPasses();
+    this.position = model.getPosition();
+    this.packed = this.position.copyCells();
+  }
+
+  /**
+   * Create a game that starts from the provided position, such as one loaded by
+   * {@link PositionCodec#decode(java.nio.ByteBuffer)}. The game has no moves to undo.
+   * @param position the position to start from.
+   * @throws IllegalArgumentException if the position is null or its board has fewer than 5 rows.
+   */
+
+  public HexagonalReversi(Position position) {
+    if (position == null) {
+      throw new IllegalArgumentException("Position cannot be null.");
+    }
+    BoardGeometry geometry = position.getGeometry();
+    if (geometry.getRadius() < 2) {
+      throw new IllegalArgumentException("Rows must be at least 5 and odd.");
+    }
+    this.radius = geometry.getRadius();
+    this.diameter = geometry.getDiameter();
+    this.packed = position.copyCells();
+    this.initCells();
+    for (int index = 0; index < geometry.size(); index++) {
+      PieceColor color = position.getColor(index);
+      if (color != null) {
+        this.setState(this.getCellAt(geometry.getRow(index), geometry.getCol(index)), color);
+      }
+    }
+    this.turn = position.getTurn();
+    this.passes = position.getPasses();
+    this.position = position;
   }
 
   /**
@@ -122,6 +163,21 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     this.features.add(Objects.requireNonNull(features));
   }
 
+  @Override
+  public void addFeatureListener(ModelFeatures features, Executor executor) {
+    this.features.add(ListenerMailbox.coalescing(features, executor));
+  }
+
+  @Override
+  public void addChangeListener(ModelChangeListener listener) {
+    this.changeListeners.add(Objects.requireNonNull(listener));
+  }
+
+  @Override
+  public void addChangeListener(ModelChangeListener listener, Executor executor) {
+    this.changeListeners.add(ListenerMailbox.ordered(listener, executor));
+  }
+
   @Override
   public void playMove(int row, int col, PieceColor pieceColor)
           throws IllegalArgumentException, IllegalStateException {
@@ -133,13 +189,14 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     } else if (this.isGameOver()) {
       throw new IllegalStateException("The game is over.");
     }
-    for (Cell cell : this.getCellsThatWillBeFlipped(this.getCellAt(row, col), pieceColor)) {
-      this.setState(cell, pieceColor);
+    BoardGeometry geometry = BoardGeometry.of(this.radius);
+    List<Cell> flipped = this.getCellsThatWillBeFlipped(this.getCellAt(row, col), pieceColor);
+    int[] flips = new int[flipped.size()];
+    for (int i = 0; i < flips.length; i++) {
+      flips[i] = geometry.indexOfAxial(flipped.get(i).getQ(), flipped.get(i).getR());
     }
-    this.setState(this.getCellAt(row, col), pieceColor);
-    this.turn++;
-    this.passes = 0;
-    this.notifyTurn();
+    this.redoable.clear();
+    this.apply(new Ply(pieceColor, geometry.indexOf(row, col), flips, this.passes));
   }
 
   @Override
@@ -149,11 +206,117 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     } else if (!this.getPlayerColor().equals(pieceColor)) {
       throw new IllegalStateException("It is not " + pieceColor + "'s turn.");
     }
-    this.passes++;
-    this.turn++;
+    this.redoable.clear();
+    this.apply(new Ply(pieceColor, Ply.PASS, new int[0], this.passes));
+  }
+
+  @Override
+  public void replay(int[] moves) throws IllegalArgumentException, IllegalStateException {
+    if (moves == null) {
+      throw new IllegalArgumentException("Moves cannot be null.");
+    }
+    BoardGeometry geometry = BoardGeometry.of(this.radius);
+    if (!this.hasStandardRules()) {
+      for (int move : moves) {
+        if (move == Position.PASS) {
+          this.pass(this.getPlayerColor());
+        } else {
+          this.playMove(geometry.getRow(move), geometry.getCol(move), this.getPlayerColor());
+        }
+      }
+      return;
+    }
+    Position start = this.getPosition();
+    Position position = start;
+    List<Ply> plies = new ArrayList<>(moves.length);
+    for (int move : moves) {
+      PieceColor color = position.getPlayerColor();
+      if (move == Position.PASS) {
+        if (position.isGameOver()) {
+          throw new IllegalStateException("The game is over.");
+        }
+        plies.add(new Ply(color, Ply.PASS, new int[0], position.getPasses()));
+        position = position.pass();
+        continue;
+      }
+      int[] flips = position.getFlips(move, color);
+      if (position.getPasses() >= 2) {
+        throw new IllegalStateException("The game is over.");
+      } else if (flips.length == 0) {
+        String msg = "The move at index %s of the replay is invalid for %s.";
+        throw new IllegalStateException(String.format(msg, plies.size(), color));
+      }
+      plies.add(new Ply(color, move, flips, position.getPasses()));
+      position = position.play(move, flips);
+    }
+    if (plies.isEmpty()) {
+      return;
+    }
+    List<Point> changed = new ArrayList<>();
+    for (int index = 0; index < geometry.size(); index++) {
+      PieceColor color = position.getColor(index);
+      if (color != start.getColor(index)) {
+        this.setState(this.getCellAt(geometry.getRow(index), geometry.getCol(index)), color);
+        changed.add(new Point(geometry.getRow(index), geometry.getCol(index)));
+      }
+    }
+    this.turn = position.getTurn();
+    this.passes = position.getPasses();
+    this.position = position;
+    this.history.addAll(plies);
+    this.redoable.clear();
+    if (!this.changeListeners.isEmpty()) {
+      this.fireChange(ModelChange.replayed(plies.get(plies.size() - 1).pieceColor, changed,
+              position.getScore(PieceColor.WHITE), position.getScore(PieceColor.BLACK),
+              this.turn));
+    }
     this.notifyTurn();
   }
 
+  @Override
+  public boolean canUndo() {
+    return !this.history.isEmpty();
+  }
+
+  @Override
+  public boolean canRedo() {
+    return !this.redoable.isEmpty();
+  }
+
+  @Override
+  public void undo() throws IllegalStateException {
+    if (this.history.isEmpty()) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+    Ply ply = this.history.remove(this.history.size() - 1);
+    BoardGeometry geometry = BoardGeometry.of(this.radius);
+    PieceColor other = ply.pieceColor == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+    for (int flip : ply.flips) {
+      this.setState(this.getCellAt(geometry.getRow(flip), geometry.getCol(flip)), other);
+    }
+    if (ply.placed != Ply.PASS) {
+      this.clearState(geometry.getRow(ply.placed), geometry.getCol(ply.placed));
+    }
+    this.turn--;
+    this.passes = ply.passes;
+    this.position = null;
+    this.redoable.add(ply);
+    if (!this.changeListeners.isEmpty()) {
+      ModelChange undone = this.changeOf(ply);
+      this.fireChange(ModelChange.undone(undone, undone.getScore(PieceColor.WHITE),
+              undone.getScore(PieceColor.BLACK), this.turn));
+    }
+    this.notifyTurn();
+  }
+
+  @Override
+  public void redo() throws IllegalStateException {
+    if (this.redoable.isEmpty()) {
+      throw new IllegalStateException("There is no move to redo.");
+    }
+    this.apply(this.redoable.remove(this.redoable.size() - 1));
+  }
+
   @Override
   public boolean isGameOver() {
     if (this.passes == 2) {
@@ -277,6 +440,24 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     return new HexagonalReversi(this);
   }
 
+  @Override
+  public Position getPosition() {
+    if (this.position == null) {
+      this.position = new Position(BoardGeometry.of(this.radius), this.packed.clone(),
+              this.turn, this.passes);
+    }
+    return this.position;
+  }
+
+  @Override
+  public int[] getMoveHistory() {
+    int[] moves = new int[this.history.size()];
+    for (int ply = 0; ply < moves.length; ply++) {
+      moves[ply] = this.history.get(ply).placed;
+    }
+    return moves;
+  }
+
   @Override
   public Optional<PieceColor> getWinner() throws IllegalStateException {
     if (!this.isGameOver()) {
@@ -293,6 +474,83 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     }
   }
 
+  /**
+   * Determines whether this model plays by the unmodified rules of hexagonal Reversi, in which
+   * case the validity and outcome of every move follow directly from the board. Strategies use
+   * this to decide whether they can score moves from the board instead of playing each move on
+   * a copy of the model. Subclasses that change how moves are validated or played should
+   * return false.
+   *
+   * @return true if this model plays by the standard rules, false otherwise.
+   */
+
+  public boolean hasStandardRules() {
+    return true;
+  }
+
+  /**
+   * Applies the provided move or pass, records it in the history, and tells every listener.
+   *
+   * @param ply the move or pass to apply.
+   */
+
+  private void apply(Ply ply) {
+    BoardGeometry geometry = BoardGeometry.of(this.radius);
+    for (int flip : ply.flips) {
+      this.setState(this.getCellAt(geometry.getRow(flip), geometry.getCol(flip)),
+              ply.pieceColor);
+    }
+    if (ply.placed == Ply.PASS) {
+      this.passes = ply.passes + 1;
+    } else {
+      this.setState(this.getCellAt(geometry.getRow(ply.placed), geometry.getCol(ply.placed)),
+              ply.pieceColor);
+      this.passes = 0;
+    }
+    this.turn++;
+    this.position = null;
+    this.history.add(ply);
+    if (!this.changeListeners.isEmpty()) {
+      this.fireChange(this.changeOf(ply));
+    }
+    this.notifyTurn();
+  }
+
+  /**
+   * Describes the provided move or pass as a change, with the scores and turn as they are
+   * now.
+   *
+   * @param ply the move or pass to describe.
+   * @return the change.
+   */
+
+  private ModelChange changeOf(Ply ply) {
+    int whiteScore = Position.countOf(this.packed, PieceColor.WHITE);
+    int blackScore = Position.countOf(this.packed, PieceColor.BLACK);
+    if (ply.placed == Ply.PASS) {
+      return ModelChange.passed(ply.pieceColor, whiteScore, blackScore, this.turn);
+    }
+    BoardGeometry geometry = BoardGeometry.of(this.radius);
+    List<Point> flipped = new ArrayList<>();
+    for (int flip : ply.flips) {
+      flipped.add(new Point(geometry.getRow(flip), geometry.getCol(flip)));
+    }
+    return ModelChange.moved(ply.pieceColor, new Point(geometry.getRow(ply.placed),
+            geometry.getCol(ply.placed)), flipped, whiteScore, blackScore, this.turn);
+  }
+
+  /**
+   * Tells every change listener of the provided change.
+   *
+   * @param change the change to tell the listeners of.
+   */
+
+  private void fireChange(ModelChange change) {
+    for (ModelChangeListener listener : this.changeListeners) {
+      listener.modelChanged(change);
+    }
+  }
+
   /**
    * Returns the cell at the provided row and column.
    *
@@ -343,6 +601,20 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     this.setState(this.getCellAt(r - 1, r - 1), PieceColor.BLACK);
   }
 
+  /**
+   * Empties the cell at the provided row and column.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   */
+
+  private void clearState(int row, int col) {
+    Cell cell = this.getCellAt(row, col);
+    this.cells.get(row).set(col, new ReversiCellPair(cell, HexCellState.EMPTY));
+    Position.set(this.packed, BoardGeometry.of(this.radius).indexOf(row, col), Position.EMPTY);
+    this.position = null;
+  }
+
   /**
    * Sets the state of the provided cell to the provided color.
    *
@@ -351,12 +623,14 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
    */
 
   private void setState(Cell cell, PieceColor color) {
-    for (List<ReversiCellPair> row : this.cells) {
-      for (int i = 0; i < row.size(); i++) {
-        if (row.get(i).getCell().equals(cell)) {
-          row.set(i, new ReversiCellPair(cell, color));
-        }
-      }
+    BoardGeometry geometry = BoardGeometry.of(this.radius);
+    int index = geometry.indexOfAxial(cell.getQ(), cell.getR());
+    if (index != -1) {
+      this.cells.get(geometry.getRow(index)).set(geometry.getCol(index),
+              new ReversiCellPair(cell, color));
+      Position.set(this.packed, index, color == PieceColor.BLACK ? Position.BLACK
+              : Position.WHITE);
+      this.position = null;
     }
   }
 
@@ -375,14 +649,10 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
       throw new IllegalArgumentException("Cell cannot be null.");
     }
     Cell next = this.getDirections(cell).get(direction.ordinal());
-    for (List<ReversiCellPair> row : this.cells) {
-      for (ReversiCellPair pair : row) {
-        if (pair.getCell().equals(next)) {
-          return next;
-        }
-      }
+    if (BoardGeometry.of(this.radius).indexOfAxial(next.getQ(), next.getR()) == -1) {
+      return null;
     }
-    return null;
+    return next;
   }
 
   /**
@@ -433,4 +703,35 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
             new HexCell(cell.getQ(), cell.getR() + 1) // Southeast
     ));
   }
-}
\ No newline at end of file
+
+  /**
+   * A move or pass in the history of a game, stored as the few cells it changed so that it
+   * can be undone and redone without replaying the game.
+   */
+
+  private static final class Ply {
+
+    private static final int PASS = Position.PASS;
+
+    private final PieceColor pieceColor;
+    private final int placed;
+    private final int[] flips;
+    private final int passes;
+
+    /**
+     * Constructs a new {@link Ply}.
+     *
+     * @param pieceColor the color that moved or passed.
+     * @param placed the dense index of the cell the piece was placed on, or {@link #PASS}.
+     * @param flips the dense indices of the cells that were flipped.
+     * @param passes the number of consecutive passes before the ply.
+     */
+
+    private Ply(PieceColor pieceColor, int placed, int[] flips, int passes) {
+      this.pieceColor = pieceColor;
+      this.placed = placed;
+      this.flips = flips;
+      this.passes = passes;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gives a model listener its own mailbox, which is emptied on the listener's own executor
+ * instead of the thread that changed the model. Posting to a mailbox never waits for the
+ * listener, so a slow listener delays only itself, not the model or any other listener.
+ */
+
+public final class ListenerMailbox {
+
+  /**
+   * This class only creates mailboxes, so it is never constructed.
+   */
+
+  private ListenerMailbox() {
+  }
+
+  /**
+   * Gives the provided turn listener a mailbox on the provided executor. Turn notifications
+   * carry no state of their own, so the mailbox coalesces them: while a notification is
+   * waiting to be delivered, any more are dropped, and the listener reads the newest state
+   * of the model when the notification is delivered. A notification that arrives while the
+   * listener is being notified is still delivered afterwards. Notifications are delivered one
+   * at a time, even on an executor with many threads.
+   *
+   * @param listener the listener to deliver notifications to.
+   * @param executor the executor to deliver notifications on.
+   * @return the listener to register with the model.
+   * @throws IllegalArgumentException if either argument is null.
+   */
+
+  public static ModelFeatures coalescing(ModelFeatures listener, Executor executor)
+          throws IllegalArgumentException {
+    if (listener == null || executor == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    AtomicBoolean pending = new AtomicBoolean();
+    AtomicBoolean draining = new AtomicBoolean();
+    Runnable drain = new Runnable() {
+      @Override
+      public void run() {
+        try {
+          while (pending.getAndSet(false)) {
+            listener.notifyTurn();
+          }
+        } finally {
+          draining.set(false);
+          if (pending.get() && draining.compareAndSet(false, true)) {
+            executor.execute(this);
+          }
+        }
+      }
+    };
+    return () -> {
+      if (!pending.getAndSet(true) && draining.compareAndSet(false, true)) {
+        executor.execute(drain);
+      }
+    };
+  }
+
+  /**
+   * Gives the provided change listener a mailbox on the provided executor. Each change only
+   * describes what differs from the change before it, so none are dropped: the changes are
+   * delivered one at a time, in the order they were made.
+   *
+   * @param listener the listener to deliver changes to.
+   * @param executor the executor to deliver changes on.
+   * @return the listener to register with the model.
+   * @throws IllegalArgumentException if either argument is null.
+   */
+
+  public static ModelChangeListener ordered(ModelChangeListener listener, Executor executor)
+          throws IllegalArgumentException {
+    if (listener == null || executor == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    Queue<ModelChange> changes = new ConcurrentLinkedQueue<>();
+    AtomicBoolean draining = new AtomicBoolean();
+    Runnable drain = new Runnable() {
+      @Override
+      public void run() {
+        try {
+          ModelChange change;
+          while ((change = changes.poll()) != null) {
+            listener.modelChanged(change);
+          }
+        } finally {
+          draining.set(false);
+          if (!changes.isEmpty() && draining.compareAndSet(false, true)) {
+            executor.execute(this);
+          }
+        }
+      }
+    };
+    return change -> {
+      changes.add(change);
+      if (draining.compareAndSet(false, true)) {
+        executor.execute(drain);
+      }
+    };
+  }
+}
@@ -0,0 +1,285 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.model;
+
+import java.awt.Point;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents one change to a game of Reversi: either a move, which places a piece and flips
+ * the pieces it captures, or a pass. Along with what changed, it carries the scores and the
+ * turn after the change, so that listeners can keep up with the game by reading only the
+ * cells that changed instead of the whole board. Cells are given as a {@link Point} whose x
+ * is the row and whose y is the column of the cell.
+ *
+ * <p>A change may also be the undoing of an earlier move or pass. Undoing a move empties
+ * the cell it placed a piece on and flips its flipped cells back to the other color.
+ *
+ * <p>A change may also be a replay of many plies at once. A replay only lists every cell whose
+ * state changed, as its flipped cells, and listeners should read those cells again.
+ */
+
+public final class ModelChange {
+
+  private final PieceColor pieceColor;
+  private final Point placed;
+  private final List<Point> flipped;
+  private final int whiteScore;
+  private final int blackScore;
+  private final int turn;
+  private final boolean undone;
+  private final boolean replay;
+
+  /**
+   * Constructs a new {@link ModelChange}.
+   *
+   * @param pieceColor the color that moved or passed.
+   * @param placed the cell the piece was placed on, or null for a pass or a replay.
+   * @param flipped the cells that were flipped.
+   * @param whiteScore white's score after the change.
+   * @param blackScore black's score after the change.
+   * @param turn the turn after the change.
+   * @param undone whether the change undoes the move or pass it describes.
+   * @param replay whether the change replays many plies at once.
+   */
+
+  private ModelChange(PieceColor pieceColor, Point placed, List<Point> flipped, int whiteScore,
+                      int blackScore, int turn, boolean undone, boolean replay) {
+    this.pieceColor = pieceColor;
+    this.placed = placed;
+    this.flipped = flipped;
+    this.whiteScore = whiteScore;
+    this.blackScore = blackScore;
+    this.turn = turn;
+    this.undone = undone;
+    this.replay = replay;
+  }
+
+  /**
+   * Creates the change made by a move.
+   *
+   * @param pieceColor the color that moved.
+   * @param placed the cell the piece was placed on.
+   * @param flipped the cells that were flipped.
+   * @param whiteScore white's score after the move.
+   * @param blackScore black's score after the move.
+   * @param turn the turn after the move.
+   * @return the change made by the move.
+   * @throws IllegalArgumentException if any of the objects are null.
+   */
+
+  public static ModelChange moved(PieceColor pieceColor, Point placed, List<Point> flipped,
+                                  int whiteScore, int blackScore, int turn)
+          throws IllegalArgumentException {
+    if (pieceColor == null || placed == null || flipped == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    List<Point> cells = new ArrayList<>();
+    for (Point cell : flipped) {
+      cells.add(new Point(cell));
+    }
+    return new ModelChange(pieceColor, new Point(placed), Collections.unmodifiableList(cells),
+            whiteScore, blackScore, turn, false, false);
+  }
+
+  /**
+   * Creates the change made by a pass.
+   *
+   * @param pieceColor the color that passed.
+   * @param whiteScore white's score after the pass.
+   * @param blackScore black's score after the pass.
+   * @param turn the turn after the pass.
+   * @return the change made by the pass.
+   * @throws IllegalArgumentException if the color is null.
+   */
+
+  public static ModelChange passed(PieceColor pieceColor, int whiteScore, int blackScore,
+                                   int turn) throws IllegalArgumentException {
+    if (pieceColor == null) {
+      throw new IllegalArgumentException("Color cannot be null.");
+    }
+    return new ModelChange(pieceColor, null, List.of(), whiteScore, blackScore, turn, false, false);
+  }
+
+  /**
+   * Creates the change made by undoing the provided move or pass.
+   *
+   * @param change the move or pass that was undone.
+   * @param whiteScore white's score after it was undone.
+   * @param blackScore black's score after it was undone.
+   * @param turn the turn after it was undone.
+   * @return the change made by undoing it.
+   * @throws IllegalArgumentException if the change is null.
+   */
+
+  public static ModelChange undone(ModelChange change, int whiteScore, int blackScore,
+                                   int turn) throws IllegalArgumentException {
+    if (change == null) {
+      throw new IllegalArgumentException("Change cannot be null.");
+    }
+    return new ModelChange(change.pieceColor, change.placed, change.flipped, whiteScore,
+            blackScore, turn, true, false);
+  }
+
+  /**
+   * Creates the change made by replaying many plies at once.
+   *
+   * @param pieceColor the color that made the last ply.
+   * @param changed every cell whose state changed.
+   * @param whiteScore white's score after the replay.
+   * @param blackScore black's score after the replay.
+   * @param turn the turn after the replay.
+   * @return the change made by the replay.
+   * @throws IllegalArgumentException if any of the objects are null.
+   */
+
+  public static ModelChange replayed(PieceColor pieceColor, List<Point> changed, int whiteScore,
+                                     int blackScore, int turn) throws IllegalArgumentException {
+    if (pieceColor == null || changed == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    List<Point> cells = new ArrayList<>();
+    for (Point cell : changed) {
+      cells.add(new Point(cell));
+    }
+    return new ModelChange(pieceColor, null, Collections.unmodifiableList(cells), whiteScore,
+            blackScore, turn, false, true);
+  }
+
+  /**
+   * Gets the color that moved or passed.
+   *
+   * @return the color that made the change.
+   */
+
+  public PieceColor getPieceColor() {
+    return this.pieceColor;
+  }
+
+  /**
+   * Determines whether this change is a pass.
+   *
+   * @return true if the change is a pass, false if it is a move.
+   */
+
+  public boolean isPass() {
+    return this.placed == null && !this.replay;
+  }
+
+  /**
+   * Determines whether this change replays many plies at once, in which case its flipped
+   * cells are every cell whose state changed.
+   *
+   * @return true if the change is a replay, false otherwise.
+   */
+
+  public boolean isReplay() {
+    return this.replay;
+  }
+
+  /**
+   * Determines whether this change undoes the move or pass it describes, instead of
+   * making it.
+   *
+   * @return true if the move or pass was undone, false if it was made.
+   */
+
+  public boolean isUndone() {
+    return this.undone;
+  }
+
+  /**
+   * Gets the cell that the piece was placed on.
+   *
+   * @return the cell the piece was placed on, or an empty {@link Optional} for a pass or a
+   *         replay.
+   */
+
+  public Optional<Point> getPlacedCell() {
+    return this.placed == null ? Optional.empty() : Optional.of(new Point(this.placed));
+  }
+
+  /**
+   * Gets the cells that were flipped, in the order they were flipped.
+   *
+   * @return an unmodifiable list of the flipped cells, which is empty for a pass.
+   */
+
+  public List<Point> getFlippedCells() {
+    return this.flipped;
+  }
+
+  /**
+   * Gets the provided color's score after the change.
+   *
+   * @param pieceColor the color to get the score of.
+   * @return the color's score.
+   * @throws IllegalArgumentException if the color is null.
+   */
+
+  public int getScore(PieceColor pieceColor) throws IllegalArgumentException {
+    if (pieceColor == null) {
+      throw new IllegalArgumentException("Color cannot be null.");
+    }
+    return pieceColor == PieceColor.WHITE ? this.whiteScore : this.blackScore;
+  }
+
+  /**
+   * Gets the turn after the change, which is the turn of the next player to move.
+   *
+   * @return the turn after the change.
+   */
+
+  public int getTurn() {
+    return this.turn;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof ModelChange)) {
+      return false;
+    }
+    ModelChange change = (ModelChange) other;
+    return this.pieceColor == change.pieceColor && Objects.equals(this.placed, change.placed)
+            && this.flipped.equals(change.flipped) && this.whiteScore == change.whiteScore
+            && this.blackScore == change.blackScore && this.turn == change.turn
+            && this.undone == change.undone && this.replay == change.replay;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.pieceColor, this.placed, this.flipped, this.whiteScore,
+            this.blackScore, this.turn, this.undone, this.replay);
+  }
+
+  @Override
+  public String toString() {
+    String change = this.replay ? "replayed " + this.flipped.size() + " cells"
+            : this.isPass() ? "passed"
+            : String.format("moved at (%s, %s) flipping %s", this.placed.x, this.placed.y,
+            this.flipped.size());
+    return String.format("%s%s %s, W=%s B=%s, turn %s", this.undone ? "undone: " : "",
+            this.pieceColor, change, this.whiteScore, this.blackScore, this.turn);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.model;
+
+/**
+ * Represents a listener that is told exactly what changed after each move or pass of a game
+ * of Reversi, so that it can update itself from the changed cells alone. Change listeners
+ * are told of a change before the model's {@link ModelFeatures} are notified of the next
+ * turn.
+ */
+
+public interface ModelChangeListener {
+
+  /**
+   * Notify this listener that the model has changed.
+   *
+   * @param change what changed.
+   */
+
+  void modelChanged(ModelChange change);
+
+}
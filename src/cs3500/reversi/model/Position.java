@@ -0,0 +1,414 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.model;
+
+import java.util.Arrays;
+
+import cs3500.reversi.model.types.Direction;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * An immutable position of a game of Reversi, played by the standard rules: the state of
+ * every cell, packed two bits per cell in the order of {@link BoardGeometry}'s dense indices,
+ * along with the turn and the number of consecutive passes. A position is cheap to take
+ * from a model and cheap to keep, so it suits snapshots, histories and search trees.
+ * Playing a move or a pass never changes a position; it returns the next one, which only
+ * copies the few words the cells are packed into.
+ */
+
+public final class Position {
+
+  /**
+   * The dense index that stands for a pass in a list of moves.
+   */
+
+  public static final int PASS = -1;
+
+  static final int CELLS_PER_WORD = Long.SIZE / 2;
+  static final long EMPTY = 0;
+  static final long BLACK = 1;
+  static final long WHITE = 2;
+
+  private static final long LOW_BITS = 0x5555555555555555L;
+
+  private final BoardGeometry geometry;
+  private final long[] cells;
+  private final int turn;
+  private final int passes;
+  private final int hash;
+
+  /**
+   * Constructs a new {@link Position}. The cells are not copied, so they must never be
+   * changed afterwards.
+   *
+   * @param geometry the geometry of the board.
+   * @param cells the packed states of the cells.
+   * @param turn the turn of the position.
+   * @param passes the number of consecutive passes.
+   */
+
+  Position(BoardGeometry geometry, long[] cells, int turn, int passes) {
+    this.geometry = geometry;
+    this.cells = cells;
+    this.turn = turn;
+    this.passes = passes;
+    this.hash = 31 * (31 * (31 * Arrays.hashCode(cells) + turn) + passes)
+            + geometry.getRadius();
+  }
+
+  /**
+   * Gets the current position of the provided model.
+   *
+   * @param model the model to get the position of.
+   * @return the model's position.
+   * @throws IllegalArgumentException if the model is null.
+   */
+
+  public static Position of(ReadonlyReversiModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    BoardGeometry geometry = BoardGeometry.of(model.getRadius());
+    long[] cells = emptyCells(geometry);
+    for (int index = 0; index < geometry.size(); index++) {
+      String state = model.getStateOf(geometry.getRow(index), geometry.getCol(index));
+      set(cells, index, state.equals(PieceColor.BLACK.toString()) ? BLACK
+              : state.equals(PieceColor.WHITE.toString()) ? WHITE : EMPTY);
+    }
+    return new Position(geometry, cells, model.getTurn(), model.getPasses());
+  }
+
+  /**
+   * Gets the geometry of the board of this position.
+   *
+   * @return the geometry of the board.
+   */
+
+  public BoardGeometry getGeometry() {
+    return this.geometry;
+  }
+
+  /**
+   * Gets the turn of this position, which starts at 1 and increases with every move and pass.
+   *
+   * @return the turn of this position.
+   */
+
+  public int getTurn() {
+    return this.turn;
+  }
+
+  /**
+   * Gets the number of consecutive passes made before this position.
+   *
+   * @return the number of consecutive passes.
+   */
+
+  public int getPasses() {
+    return this.passes;
+  }
+
+  /**
+   * Gets the color of the player to move. White moves on odd turns and black on even turns.
+   *
+   * @return the color of the player to move.
+   */
+
+  public PieceColor getPlayerColor() {
+    return this.turn % 2 == 1 ? PieceColor.WHITE : PieceColor.BLACK;
+  }
+
+  /**
+   * Gets the color of the piece on the cell with the provided dense index.
+   *
+   * @param index the dense index of the cell.
+   * @return the color of the piece on the cell, or null if the cell is empty.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public PieceColor getColor(int index) throws IllegalArgumentException {
+    long state = get(this.cells, this.checkIndex(index));
+    return state == BLACK ? PieceColor.BLACK : state == WHITE ? PieceColor.WHITE : null;
+  }
+
+  /**
+   * Gets the number of pieces of the provided color on the board.
+   *
+   * @param pieceColor the color to count.
+   * @return the number of pieces of that color.
+   * @throws IllegalArgumentException if the color is null.
+   */
+
+  public int getScore(PieceColor pieceColor) throws IllegalArgumentException {
+    if (pieceColor == null) {
+      throw new IllegalArgumentException("Color cannot be null.");
+    }
+    return countOf(this.cells, pieceColor);
+  }
+
+  /**
+   * Gets the cells that the provided color would flip by moving on the cell with the
+   * provided dense index, in the order of {@link Direction} and then outwards.
+   *
+   * @param index the dense index of the cell to move on.
+   * @param pieceColor the color that would move.
+   * @return the dense indices of the cells that would be flipped, which is empty if the cell
+   *         is occupied or the move would not flip anything.
+   * @throws IllegalArgumentException if the index is not on the board or the color is null.
+   */
+
+  public int[] getFlips(int index, PieceColor pieceColor) throws IllegalArgumentException {
+    if (pieceColor == null) {
+      throw new IllegalArgumentException("Color cannot be null.");
+    }
+    if (get(this.cells, this.checkIndex(index)) != EMPTY) {
+      return new int[0];
+    }
+    long own = pieceColor == PieceColor.BLACK ? BLACK : WHITE;
+    int[] flips = new int[this.geometry.size()];
+    int count = 0;
+    for (Direction direction : Direction.values()) {
+      int run = 0;
+      int cell = this.geometry.getNeighbor(index, direction);
+      while (cell != -1 && get(this.cells, cell) != EMPTY && get(this.cells, cell) != own) {
+        flips[count + run++] = cell;
+        cell = this.geometry.getNeighbor(cell, direction);
+      }
+      if (cell != -1 && get(this.cells, cell) == own) {
+        count += run;
+      }
+    }
+    return Arrays.copyOf(flips, count);
+  }
+
+  /**
+   * Determines whether the provided color may move on the cell with the provided dense index.
+   *
+   * @param index the dense index of the cell.
+   * @param pieceColor the color that would move.
+   * @return true if the move would flip at least one piece, false otherwise.
+   * @throws IllegalArgumentException if the index is not on the board or the color is null.
+   */
+
+  public boolean isValidMove(int index, PieceColor pieceColor) throws IllegalArgumentException {
+    return this.getFlips(index, pieceColor).length > 0;
+  }
+
+  /**
+   * Determines whether the game is over in this position: either both players have passed in
+   * a row, or neither player has a legal move.
+   *
+   * @return true if the game is over, false otherwise.
+   */
+
+  public boolean isGameOver() {
+    if (this.passes >= 2) {
+      return true;
+    }
+    for (int index = 0; index < this.geometry.size(); index++) {
+      if (this.isValidMove(index, PieceColor.BLACK) || this.isValidMove(index, PieceColor.WHITE)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the position after the player to move moves on the cell with the provided dense
+   * index.
+   *
+   * @param index the dense index of the cell to move on.
+   * @return the next position.
+   * @throws IllegalArgumentException if the index is not on the board.
+   * @throws IllegalStateException if the move is not legal, or the game is over.
+   */
+
+  public Position play(int index) throws IllegalArgumentException, IllegalStateException {
+    if (this.passes >= 2) {
+      throw new IllegalStateException("The game is over.");
+    }
+    PieceColor color = this.getPlayerColor();
+    int[] flips = this.getFlips(index, color);
+    if (flips.length == 0) {
+      throw new IllegalStateException("The move at index " + index + " is invalid for "
+              + color + ".");
+    }
+    return this.play(index, flips);
+  }
+
+  /**
+   * Gets the position after the player to move moves on the cell with the provided dense
+   * index, flipping the provided cells, which must be the cells that move flips.
+   *
+   * @param index the dense index of the cell to move on.
+   * @param flips the dense indices of the cells the move flips.
+   * @return the next position.
+   */
+
+  Position play(int index, int[] flips) {
+    long own = this.getPlayerColor() == PieceColor.BLACK ? BLACK : WHITE;
+    long[] next = this.cells.clone();
+    for (int flip : flips) {
+      set(next, flip, own);
+    }
+    set(next, index, own);
+    return new Position(this.geometry, next, this.turn + 1, 0);
+  }
+
+  /**
+   * Gets the position after the player to move passes. The cells are shared with this
+   * position, since a pass does not change them.
+   *
+   * @return the next position.
+   * @throws IllegalStateException if the game is over.
+   */
+
+  public Position pass() throws IllegalStateException {
+    if (this.passes >= 2) {
+      throw new IllegalStateException("The game is over.");
+    }
+    return new Position(this.geometry, this.cells, this.turn + 1, this.passes + 1);
+  }
+
+  /**
+   * Gets the key of this position, which identifies its cells and passes but not its turn.
+   *
+   * @return the key of this position.
+   */
+
+  public PositionKey getKey() {
+    return new PositionKey(this.geometry, this.cells, this.passes);
+  }
+
+  /**
+   * Copies the packed cells of this position, for a model to keep changing.
+   *
+   * @return a copy of the packed cells.
+   */
+
+  long[] copyCells() {
+    return this.cells.clone();
+  }
+
+  /**
+   * Copies the packed cells of this position into the provided array.
+   *
+   * @param target the array to copy the packed cells into.
+   * @param offset the index in the array of the first word to copy.
+   */
+
+  void copyCells(long[] target, int offset) {
+    System.arraycopy(this.cells, 0, target, offset, this.cells.length);
+  }
+
+  /**
+   * Counts the cells of the provided color in packed cells.
+   *
+   * @param cells the packed cells.
+   * @param pieceColor the color to count.
+   * @return the number of cells of that color.
+   */
+
+  static int countOf(long[] cells, PieceColor pieceColor) {
+    int score = 0;
+    for (long word : cells) {
+      long low = word & LOW_BITS;
+      long high = word >>> 1 & LOW_BITS;
+      score += Long.bitCount(pieceColor == PieceColor.BLACK ? low & ~high : high & ~low);
+    }
+    return score;
+  }
+
+  /**
+   * Creates the packed cells of an empty board.
+   *
+   * @param geometry the geometry of the board.
+   * @return the packed cells.
+   */
+
+  static long[] emptyCells(BoardGeometry geometry) {
+    return new long[(geometry.size() + CELLS_PER_WORD - 1) / CELLS_PER_WORD];
+  }
+
+  /**
+   * Gets the state of a cell from packed cells.
+   *
+   * @param cells the packed cells.
+   * @param index the dense index of the cell.
+   * @return the state of the cell: {@link #EMPTY}, {@link #BLACK} or {@link #WHITE}.
+   */
+
+  static long get(long[] cells, int index) {
+    return cells[index / CELLS_PER_WORD] >>> (index % CELLS_PER_WORD * 2) & 3;
+  }
+
+  /**
+   * Sets the state of a cell in packed cells.
+   *
+   * @param cells the packed cells.
+   * @param index the dense index of the cell.
+   * @param state the new state of the cell: {@link #EMPTY}, {@link #BLACK} or {@link #WHITE}.
+   */
+
+  static void set(long[] cells, int index, long state) {
+    int shift = index % CELLS_PER_WORD * 2;
+    cells[index / CELLS_PER_WORD] = cells[index / CELLS_PER_WORD] & ~(3L << shift)
+            | state << shift;
+  }
+
+  /**
+   * Checks that the provided dense index is on the board.
+   *
+   * @param index the dense index to check.
+   * @return the index.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  private int checkIndex(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= this.geometry.size()) {
+      throw new IllegalArgumentException("The provided index is not on the board.");
+    }
+    return index;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof Position)) {
+      return false;
+    }
+    Position position = (Position) other;
+    return this.hash == position.hash && this.geometry == position.geometry
+            && this.turn == position.turn && this.passes == position.passes
+            && Arrays.equals(this.cells, position.cells);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (int index = 0; index < this.geometry.size(); index++) {
+      long state = get(this.cells, index);
+      builder.append(state == BLACK ? 'X' : state == WHITE ? 'O' : '_');
+    }
+    return builder.append(" turn ").append(this.turn).append(" passes ")
+            .append(this.passes).toString();
+  }
+}
@@ -0,0 +1,196 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.model;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Saves and loads {@link Position}s in a compact binary form. A position is a six-byte
+ * header, holding the radius of the board, the number of consecutive passes and the turn,
+ * followed by the states of the cells in dense order as base-3 digits, five cells to a byte
+ * (3<sup>5</sup> = 243 fits in a byte). A position on a board of N cells takes
+ * {@code 6 + ceil(N / 5)} bytes, so a board of radius 5, which has 91 cells, takes 25 bytes.
+ *
+ * <p>Cells are converted five at a time through lookup tables, straight between the bytes
+ * and the two-bit words of the position, so loading a position reads the buffer in place
+ * and allocates nothing but the position itself.
+ */
+
+public final class PositionCodec {
+
+  /**
+   * The number of bytes in the header of a saved position.
+   */
+
+  public static final int HEADER_BYTES = 6;
+
+  private static final int CELLS_PER_BYTE = 5;
+  private static final int GROUP_BITS = 2 * CELLS_PER_BYTE;
+  private static final int GROUP_MASK = (1 << GROUP_BITS) - 1;
+  private static final int DIGITS = 243;
+
+  // The two-bit states of five cells, by the byte they are saved as.
+  private static final int[] DECODE = new int[DIGITS];
+  // The byte five cells are saved as, by their two-bit states, or -1 for an invalid state.
+  private static final int[] ENCODE = new int[1 << GROUP_BITS];
+
+  static {
+    Arrays.fill(ENCODE, -1);
+    for (int digits = 0; digits < DIGITS; digits++) {
+      int bits = 0;
+      int rest = digits;
+      for (int cell = 0; cell < CELLS_PER_BYTE; cell++) {
+        bits |= (rest % 3) << (2 * cell);
+        rest /= 3;
+      }
+      DECODE[digits] = bits;
+      ENCODE[bits] = digits;
+    }
+  }
+
+  private PositionCodec() {
+  }
+
+  /**
+   * Calculates the number of bytes a position on the provided board is saved in.
+   *
+   * @param geometry the geometry of the board.
+   * @return the number of bytes a saved position takes.
+   * @throws IllegalArgumentException if the geometry is null.
+   */
+
+  public static int sizeOf(BoardGeometry geometry) throws IllegalArgumentException {
+    if (geometry == null) {
+      throw new IllegalArgumentException("Geometry cannot be null.");
+    }
+    return HEADER_BYTES + (geometry.size() + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE;
+  }
+
+  /**
+   * Saves the provided position into a new array.
+   *
+   * @param position the position to save.
+   * @return the saved position.
+   * @throws IllegalArgumentException if the position is null or cannot be saved.
+   */
+
+  public static byte[] encode(Position position) throws IllegalArgumentException {
+    if (position == null) {
+      throw new IllegalArgumentException("Position cannot be null.");
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(sizeOf(position.getGeometry()));
+    encode(position, buffer);
+    return buffer.array();
+  }
+
+  /**
+   * Saves the provided position at the current position of the provided buffer, advancing
+   * it past the saved position.
+   *
+   * @param position the position to save.
+   * @param buffer the buffer to save the position into.
+   * @throws IllegalArgumentException if either argument is null, or the radius of the board
+   *                                  is over 255 or the passes are over 127.
+   * @throws BufferOverflowException if the buffer does not have room for the position.
+   */
+
+  public static void encode(Position position, ByteBuffer buffer)
+          throws IllegalArgumentException, BufferOverflowException {
+    if (position == null || buffer == null) {
+      throw new IllegalArgumentException("Position and buffer cannot be null.");
+    }
+    BoardGeometry geometry = position.getGeometry();
+    if (geometry.getRadius() > 0xFF || position.getPasses() > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("The position is too large to save.");
+    }
+    if (buffer.remaining() < sizeOf(geometry)) {
+      throw new BufferOverflowException();
+    }
+    buffer.put((byte) geometry.getRadius()).put((byte) position.getPasses())
+            .putInt(position.getTurn());
+    long[] cells = position.copyCells();
+    int groups = (geometry.size() + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE;
+    for (int group = 0; group < groups; group++) {
+      int bit = group * GROUP_BITS;
+      int word = bit >>> 6;
+      int shift = bit & 63;
+      long bits = cells[word] >>> shift;
+      if (shift > Long.SIZE - GROUP_BITS && word + 1 < cells.length) {
+        bits |= cells[word + 1] << (Long.SIZE - shift);
+      }
+      buffer.put((byte) ENCODE[(int) bits & GROUP_MASK]);
+    }
+  }
+
+  /**
+   * Loads a position saved at the current position of the provided buffer, advancing it
+   * past the saved position.
+   *
+   * @param buffer the buffer to load the position from.
+   * @return the loaded position.
+   * @throws IllegalArgumentException if the buffer is null, or does not hold a whole valid
+   *                                  position.
+   */
+
+  public static Position decode(ByteBuffer buffer) throws IllegalArgumentException {
+    if (buffer == null) {
+      throw new IllegalArgumentException("Buffer cannot be null.");
+    }
+    if (buffer.remaining() < HEADER_BYTES) {
+      throw new IllegalArgumentException("The buffer does not hold a whole position.");
+    }
+    int start = buffer.position();
+    int radius = buffer.get(start) & 0xFF;
+    int passes = buffer.get(start + 1);
+    int turn = buffer.getInt(start + 2);
+    if (radius < 1 || passes < 0 || passes > 2 || turn < 1) {
+      throw new IllegalArgumentException("The buffer does not hold a valid position.");
+    }
+    BoardGeometry geometry = BoardGeometry.of(radius);
+    int size = sizeOf(geometry);
+    if (buffer.remaining() < size) {
+      throw new IllegalArgumentException("The buffer does not hold a whole position.");
+    }
+    long[] cells = Position.emptyCells(geometry);
+    for (int group = 0; group < size - HEADER_BYTES; group++) {
+      int digits = buffer.get(start + HEADER_BYTES + group) & 0xFF;
+      if (digits >= DIGITS) {
+        throw new IllegalArgumentException("The buffer does not hold a valid position.");
+      }
+      long bits = DECODE[digits];
+      int bit = group * GROUP_BITS;
+      int word = bit >>> 6;
+      int shift = bit & 63;
+      cells[word] |= bits << shift;
+      if (shift > Long.SIZE - GROUP_BITS) {
+        if (word + 1 < cells.length) {
+          cells[word + 1] |= bits >>> (Long.SIZE - shift);
+        } else if (bits >>> (Long.SIZE - shift) != 0) {
+          throw new IllegalArgumentException("The buffer holds cells off the board.");
+        }
+      }
+    }
+    int used = 2 * geometry.size() % Long.SIZE;
+    if (used != 0 && cells[cells.length - 1] >>> used != 0) {
+      throw new IllegalArgumentException("The buffer holds cells off the board.");
+    }
+    buffer.position(start + size);
+    return new Position(geometry, cells, turn, passes);
+  }
+}
@@ -0,0 +1,181 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.model;
+
+import java.util.Arrays;
+
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * An immutable key for a position of a game of Reversi: the state of every cell, packed as in
+ * {@link Position}, and the number of consecutive passes, but not the turn. Two keys are
+ * equal exactly when their cells and passes are, so keys can be used to look up anything
+ * computed for a position.
+ */
+
+public final class PositionKey {
+
+  private final BoardGeometry geometry;
+  private final long[] cells;
+  private final int passes;
+  private final int hash;
+
+  /**
+   * Constructs a new {@link PositionKey}. The cells are not copied, so they must never be
+   * changed afterwards.
+   *
+   * @param geometry the geometry of the board.
+   * @param cells the packed states of the cells.
+   * @param passes the number of consecutive passes.
+   */
+
+  PositionKey(BoardGeometry geometry, long[] cells, int passes) {
+    this.geometry = geometry;
+    this.cells = cells;
+    this.passes = passes;
+    this.hash = 31 * (31 * Arrays.hashCode(cells) + passes) + geometry.getRadius();
+  }
+
+  /**
+   * Gets the key of the current position of the provided model.
+   *
+   * @param model the model to get the position of.
+   * @return the key of the model's position.
+   * @throws IllegalArgumentException if the model is null.
+   */
+
+  public static PositionKey of(ReadonlyReversiModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    return model.getPosition().getKey();
+  }
+
+  /**
+   * Gets the geometry of the board of this position.
+   *
+   * @return the geometry of the board.
+   */
+
+  public BoardGeometry getGeometry() {
+    return this.geometry;
+  }
+
+  /**
+   * Gets the color of the piece on the cell with the provided dense index.
+   *
+   * @param index the dense index of the cell.
+   * @return the color of the piece on the cell, or null if the cell is empty.
+   * @throws IllegalArgumentException if the index is not on the board.
+   */
+
+  public PieceColor getColor(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= this.geometry.size()) {
+      throw new IllegalArgumentException("The provided index is not on the board.");
+    }
+    long state = Position.get(this.cells, index);
+    return state == Position.BLACK ? PieceColor.BLACK
+            : state == Position.WHITE ? PieceColor.WHITE : null;
+  }
+
+  /**
+   * Gets the number of consecutive passes made before this position.
+   *
+   * @return the number of consecutive passes.
+   */
+
+  public int getPasses() {
+    return this.passes;
+  }
+
+  /**
+   * Gets the key of the position that the provided symmetry of the board maps this position
+   * to, which has the piece of every cell moved to that cell's image.
+   *
+   * @param symmetry the symmetry to apply.
+   * @return the key of the mapped position.
+   * @throws IllegalArgumentException if the symmetry does not exist.
+   * @see BoardGeometry#getSymmetric(int, int)
+   */
+
+  public PositionKey transform(int symmetry) throws IllegalArgumentException {
+    long[] mapped = Position.emptyCells(this.geometry);
+    for (int index = 0; index < this.geometry.size(); index++) {
+      Position.set(mapped, this.geometry.getSymmetric(index, symmetry),
+              Position.get(this.cells, index));
+    }
+    return new PositionKey(this.geometry, mapped, this.passes);
+  }
+
+  /**
+   * Gets the symmetry that maps this position to its canonical form, which is the same for
+   * every position that a symmetry of the board maps to another. When several symmetries
+   * give the canonical form, the lowest is returned.
+   *
+   * @return the symmetry that maps this position to its canonical form.
+   */
+
+  public int getCanonicalSymmetry() {
+    int best = 0;
+    PositionKey canonical = this;
+    for (int symmetry = 1; symmetry < BoardGeometry.SYMMETRIES; symmetry++) {
+      PositionKey mapped = this.transform(symmetry);
+      if (Arrays.compareUnsigned(mapped.cells, canonical.cells) < 0) {
+        best = symmetry;
+        canonical = mapped;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Gets a 64-bit hash of this key, for indexes too large to tell keys apart by
+   * {@link #hashCode()}. Different keys are very unlikely to share a 64-bit hash.
+   *
+   * @return the 64-bit hash of this key.
+   */
+
+  public long getLongHash() {
+    long hash = mix(this.geometry.getRadius() * 31L + this.passes);
+    for (long word : this.cells) {
+      hash = mix(hash ^ word) + word;
+    }
+    return mix(hash);
+  }
+
+  // Scrambles the bits of the provided value, with the finalizer of SplitMix64.
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof PositionKey)) {
+      return false;
+    }
+    PositionKey key = (PositionKey) other;
+    return this.hash == key.hash && this.geometry == key.geometry
+            && this.passes == key.passes && Arrays.equals(this.cells, key.cells);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hash;
+  }
+}
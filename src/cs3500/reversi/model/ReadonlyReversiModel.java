@@ -19,6 +19,7 @@ package cs3500.reversi.model;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import cs3500.reversi.model.types.HexCellState;
 import cs3500.reversi.model.types.PieceColor;
@@ -201,4 +202,48 @@ public interface ReadonlyReversiModel {
 
   Optional<PieceColor> getWinner() throws IllegalStateException;
 
+  /**
+   * Gets the current position of this game as an immutable {@link Position}, which does not
+   * change as more moves are played. Taking a position only copies the few words its cells
+   * are packed into, so it is much cheaper than {@link #getBoardCopy()} or
+   * {@link #getModelCopy()}.
+   *
+   * @return the current position.
+   */
+
+  Position getPosition();
+
+  /**
+   * Gets the moves and passes played to reach the current position, in order, leaving out
+   * any that were undone. Each move is the dense index of its cell in {@link BoardGeometry},
+   * and each pass is {@link Position#PASS}, so the history can be given straight to
+   * {@link ReversiModel#replay(int[])}. Copies of a model start with an empty history.
+   *
+   * @return the moves played so far.
+   */
+
+  int[] getMoveHistory();
+
+  /**
+   * Adds a {@link ModelChangeListener} to this model, which is told what changed after every
+   * move and pass. Since listening does not change the game, read-only users of the model,
+   * such as views, may listen for changes too.
+   *
+   * @param listener the listener to add.
+   */
+
+  void addChangeListener(ModelChangeListener listener);
+
+  /**
+   * Adds a {@link ModelChangeListener} to this model that is told of changes on the provided
+   * executor instead of the thread that changed the model. The model never waits for the
+   * listener, which is told of every change in order.
+   *
+   * @param listener the listener to add.
+   * @param executor the executor to tell the listener of changes on.
+   * @see ListenerMailbox#ordered(ModelChangeListener, Executor)
+   */
+
+  void addChangeListener(ModelChangeListener listener, Executor executor);
+
 }
\ No newline at end of file
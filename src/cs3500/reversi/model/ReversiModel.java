@@ -17,6 +17,8 @@
 
 package cs3500.reversi.model;
 
+import java.util.concurrent.Executor;
+
 import cs3500.reversi.model.types.PieceColor;
 
 /**
@@ -59,6 +61,58 @@ public interface ReversiModel extends ReadonlyReversiModel {
 
   void pass(PieceColor pieceColor) throws IllegalStateException;
 
+  /**
+   * Replays a recorded sequence of moves and passes from the current position, as fast as
+   * the rules allow. Each move is given as the dense index of its cell in
+   * {@link BoardGeometry}, or {@link Position#PASS} for a pass, and is made by whichever
+   * player is to move. Moves are checked only as far as computing what they flip, which has
+   * to be done anyway, and listeners are told once, after the last ply, with a single
+   * replayed change. If any ply is illegal, the model is left unchanged. Models with rules
+   * of their own may replay ply by ply instead.
+   *
+   * @param moves the moves and passes to replay, in order.
+   * @throws IllegalArgumentException if the moves are null or any is not on the board.
+   * @throws IllegalStateException if any move is illegal, or a ply is made after the game
+   *                               is over.
+   */
+
+  void replay(int[] moves) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Determines whether there is a move or pass to undo.
+   *
+   * @return true if a move or pass can be undone, false otherwise.
+   */
+
+  boolean canUndo();
+
+  /**
+   * Determines whether there is an undone move or pass to redo. Playing a new move or pass
+   * forgets every undone one.
+   *
+   * @return true if a move or pass can be redone, false otherwise.
+   */
+
+  boolean canRedo();
+
+  /**
+   * Undoes the last move or pass, giving the turn back to the player who made it. Listeners
+   * are told of the undone change and notified of the turn.
+   *
+   * @throws IllegalStateException if there is nothing to undo.
+   */
+
+  void undo() throws IllegalStateException;
+
+  /**
+   * Redoes the last undone move or pass. Listeners are told of the change and notified of
+   * the turn, as they were when it was first made.
+   *
+   * @throws IllegalStateException if there is nothing to redo.
+   */
+
+  void redo() throws IllegalStateException;
+
   /**
    * Adds a {@link ModelFeatures} to this model. This allows the model to notify the
    * features when the game state changes.
@@ -68,6 +122,18 @@ public interface ReversiModel extends ReadonlyReversiModel {
 
   void addFeatureListener(ModelFeatures features);
 
+  /**
+   * Adds a {@link ModelFeatures} to this model that is notified on the provided executor
+   * instead of the thread that changed the model. The model never waits for the features,
+   * and notifications that pile up while they are waiting to be delivered are coalesced.
+   *
+   * @param features the features to add.
+   * @param executor the executor to notify the features on.
+   * @see ListenerMailbox#coalescing(ModelFeatures, Executor)
+   */
+
+  void addFeatureListener(ModelFeatures features, Executor executor);
+
   /**
    * Starts the game with the given players. This method will initialize the game state
    * and notify the features that the game has started.
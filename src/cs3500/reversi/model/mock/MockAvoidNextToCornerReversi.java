@@ -88,6 +88,11 @@ public final class MockAvoidNextToCornerReversi extends HexagonalReversi impleme
     super.playMove(row, col, pieceColor);
   }
 
+  @Override
+  public boolean hasStandardRules() {
+    return false;
+  }
+
   @Override
   public ReversiModel getModelCopy() {
     return new MockAvoidNextToCornerReversi(this.log, this.rows);
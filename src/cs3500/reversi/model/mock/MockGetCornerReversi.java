@@ -72,6 +72,11 @@ public final class MockGetCornerReversi extends HexagonalReversi implements Reve
             row == size / 2 && col == cells.get(size / 2).size() - 1;
   }
 
+  @Override
+  public boolean hasStandardRules() {
+    return false;
+  }
+
   @Override
   public ReversiModel getModelCopy() {
     return new MockGetCornerReversi(this.log, this.rows);
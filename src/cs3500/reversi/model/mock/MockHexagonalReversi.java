@@ -76,6 +76,11 @@ public final class MockHexagonalReversi extends HexagonalReversi implements Reve
     this.log.append(String.format("Passed for %s.%n", color));
   }
 
+  @Override
+  public boolean hasStandardRules() {
+    return false;
+  }
+
   @Override
   public ReversiModel getModelCopy() {
     return new MockHexagonalReversi(log, rows, this);
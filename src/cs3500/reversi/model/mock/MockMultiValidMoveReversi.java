@@ -79,6 +79,11 @@ public final class MockMultiValidMoveReversi extends HexagonalReversi implements
     return row == 1 && col == 2 || row == 1 && col == 3;
   }
 
+  @Override
+  public boolean hasStandardRules() {
+    return false;
+  }
+
   @Override
   public ReversiModel getModelCopy() {
     return new MockMultiValidMoveReversi(log, rows, this);
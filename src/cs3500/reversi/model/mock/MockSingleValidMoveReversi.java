@@ -75,6 +75,11 @@ public final class MockSingleValidMoveReversi extends HexagonalReversi implement
     return row == 0 && col == 2;
   }
 
+  @Override
+  public boolean hasStandardRules() {
+    return false;
+  }
+
   @Override
   public ReversiModel getModelCopy() {
     return new MockSingleValidMoveReversi(log, rows, this);
@@ -20,48 +20,100 @@ package cs3500.reversi.player;
 import java.awt.Point;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-import cs3500.reversi.adapter.ModelAdapter;
+import javax.swing.SwingUtilities;
+
+import cs3500.reversi.adapter.ProviderStrategyAdapter;
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.clock.GameClock;
+import cs3500.reversi.clock.TimeManager;
 import cs3500.reversi.model.ModelFeatures;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
-import cs3500.reversi.model.types.ReversiCellPair;
-import cs3500.reversi.provider.model.AxialCoordinate;
-import cs3500.reversi.provider.model.Piece;
-import cs3500.reversi.provider.model.ReadOnlyReversiInterface;
-import cs3500.reversi.provider.strategy.MaxCaptureStrategy;
+import cs3500.reversi.strategy.AsyncReversiStrategy;
 import cs3500.reversi.strategy.AvoidCellsNextToCorners;
+import cs3500.reversi.strategy.BackgroundStrategy;
 import cs3500.reversi.strategy.ChooseCornerCell;
 import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.strategy.MoveContext;
+import cs3500.reversi.strategy.ParallelStrategyWithFallbacks;
+import cs3500.reversi.strategy.RankedMove;
+import cs3500.reversi.strategy.RankingStrategy;
+import cs3500.reversi.strategy.ReversiStrategy;
 import cs3500.reversi.strategy.StrategyWithFallbacks;
 import cs3500.reversi.view.ViewFeatures;
 
-import static cs3500.reversi.adapter.ViewAdapter.getPoint;
-
 /**
- * Represents an AI player in a game of Reversi.
+ * Represents an AI player in a game of Reversi. The AI never searches on the thread that
+ * notifies it of a new turn: it searches a copy of the model on its own background thread,
+ * and posts the move it chooses back to its features listeners through its callback executor,
+ * which is the Swing event dispatch thread unless another executor is set. Searches go
+ * through the game's {@link MoveService}, so AI players of the same color and difficulty in
+ * the same game share one search per position. The fallbacks of a difficulty's strategy are
+ * searched at once rather than one after another, so a first choice that finds no move does
+ * not delay the move.
  */
 
 public class AIPlayer implements Player, ModelFeatures {
 
+  // Enough threads for the strategies of a difficulty to run their fallbacks at once.
+  private static final int SEARCH_THREADS = 2;
+
   private final ReversiModel model;
   private final PieceColor color;
   private final AIDifficulty difficulty;
   private final ArrayList<ViewFeatures> features = new ArrayList<>();
+  private final Ponderer ponderer;
+  private final TimeManager timeManager = new TimeManager();
+  private final ReversiStrategy strategy;
+  private final MoveService moves;
+  private final ExecutorService ownExecutor;
+  private Executor searchExecutor;
+  private AsyncReversiStrategy search;
+  private Executor callbackExecutor = SwingUtilities::invokeLater;
+  private GameClock clock;
+  private Deadline pending;
 
   /**
-   * Construct an AI player.
+   * Construct an AI player that does not think on its opponent's time.
    * @param model the model to use.
    * @param color the color of the player.
    * @param difficulty the difficulty of the AI.
    */
 
   public AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty) {
+    this(model, color, difficulty, false);
+  }
+
+  /**
+   * Construct an AI player. A pondering AI searches the opponent's likely replies in the
+   * background while the opponent is to move, so that its own move is usually ready as soon
+   * as its turn begins.
+   * @param model the model to use.
+   * @param color the color of the player.
+   * @param difficulty the difficulty of the AI.
+   * @param ponder whether the AI should think on its opponent's time.
+   */
+
+  public AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty, boolean ponder) {
     this.model = model;
     this.color = color;
     this.difficulty = difficulty;
+    this.ponderer = ponder ? new Ponderer() : null;
+    this.strategy = this.createStrategy();
+    this.ownExecutor = Executors.newFixedThreadPool(SEARCH_THREADS, runnable -> {
+      Thread thread = new Thread(runnable, "reversi-ai-" + color);
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.searchExecutor = this.ownExecutor;
+    this.search = searchFor(difficulty, this.searchExecutor);
+    this.moves = MoveService.forGame(model);
     this.model.addFeatureListener(this);
   }
 
@@ -77,17 +129,67 @@ public class AIPlayer implements Player, ModelFeatures {
 
   @Override
   public void notifyTurn() {
+    this.cancelPending();
     if (!this.isTurn()) {
+      if (this.ponderer != null && !this.model.isGameOver()) {
+        this.ponderer.ponder(this.model.getModelCopy(), this.color,
+            position -> this.ponderMove(position));
+      }
       return;
     }
-    Optional<Point> move = this.getMove(this.model);
-    for (ViewFeatures feature : this.features) {
-      if (move.isPresent()) {
-        feature.makeMove(move.get().x, move.get().y);
-      } else {
-        feature.passTurn();
+    Deadline deadline = Deadline.none();
+    if (this.clock != null) {
+      this.clock.switchTo(this.color);
+      deadline = this.timeManager.allocate(this.clock, this.model, this.color);
+    }
+    this.pending = deadline;
+    Deadline moveDeadline = deadline;
+    int turn = this.model.getTurn();
+    CompletableFuture<Optional<Point>> move = this.moves.request(this.model, this.color,
+            this.difficulty, deadline, () -> this.search(moveDeadline));
+    move.whenComplete((result, error) -> {
+      if (!moveDeadline.isCancelled()) {
+        Optional<Point> chosen = error == null ? result : Optional.empty();
+        this.callbackExecutor.execute(() -> this.post(turn, chosen));
       }
+    });
+  }
+
+  /**
+   * Starts searching for this AI's move in the current position, taking the move it pondered
+   * if it pondered this position.
+   *
+   * @param deadline the deadline of the search.
+   * @return the chosen move, or an empty {@link Optional} to pass.
+   */
+
+  private CompletableFuture<Optional<Point>> search(Deadline deadline) {
+    if (this.ponderer == null) {
+      return this.search.chooseMoveAsync(this.model, this.color, deadline, improved -> { });
     }
+    ReversiModel snapshot = this.model.getModelCopy();
+    return CompletableFuture.supplyAsync(() -> this.ponderer.take(snapshot, deadline),
+            this.searchExecutor).thenCompose(pondered -> pondered
+            .map(CompletableFuture::completedFuture)
+            .orElseGet(() -> this.search.chooseMoveAsync(snapshot, this.color,
+                    deadline, improved -> { })));
+  }
+
+  /**
+   * Chooses this AI's move in a position it is pondering. A ranking strategy is asked for its
+   * ranking rather than its move, since choosing a move may print it, and pondering chooses a
+   * move for every likely reply.
+   *
+   * @param position the position to choose a move in.
+   * @return the chosen move, or an empty {@link Optional} to pass.
+   */
+
+  private Optional<Point> ponderMove(ReversiModel position) {
+    if (this.strategy instanceof RankingStrategy) {
+      return ((RankingStrategy) this.strategy).rankMoves(MoveContext.of(position, this.color))
+              .stream().findFirst().map(RankedMove::getPoint);
+    }
+    return this.strategy.chooseMove(position, this.color);
   }
 
   @Override
@@ -95,65 +197,167 @@ public class AIPlayer implements Player, ModelFeatures {
     this.features.add(feature);
   }
 
+  /**
+   * Times this AI with the provided clock. From now on, each of the AI's moves is given a
+   * deadline based on the time it has left, and its strategy stops at that deadline with the
+   * best move it has found so far.
+   *
+   * @param clock the clock to time this AI with, or null to stop timing it.
+   */
+
+  public void setClock(GameClock clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Sets the executor that the AI's chosen moves are posted back to its features listeners
+   * on. By default, moves are posted to the Swing event dispatch thread.
+   *
+   * @param callbackExecutor the executor to post moves on.
+   * @throws IllegalArgumentException if the executor is null.
+   */
+
+  public void setCallbackExecutor(Executor callbackExecutor) throws IllegalArgumentException {
+    if (callbackExecutor == null) {
+      throw new IllegalArgumentException("Executor cannot be null.");
+    }
+    this.callbackExecutor = callbackExecutor;
+  }
+
+  /**
+   * Sets the executor that the AI searches for its moves on, such as a pool of workers shared
+   * with other players. By default, the AI searches on its own background thread, which is
+   * stopped once another executor is set.
+   *
+   * @param searchExecutor the executor to search on.
+   * @throws IllegalArgumentException if the executor is null.
+   */
+
+  public void setSearchExecutor(Executor searchExecutor) throws IllegalArgumentException {
+    if (searchExecutor == null) {
+      throw new IllegalArgumentException("Executor cannot be null.");
+    }
+    this.searchExecutor = searchExecutor;
+    this.search = searchFor(this.difficulty, searchExecutor);
+    this.ownExecutor.shutdown();
+  }
+
   @Override
   public boolean isAI() {
     return true;
   }
 
   /**
-   * Returns the move that the AI should make. This is based on the
-   * provided difficulty level when the player is created.
+   * Posts the move chosen for the provided turn to all features listeners, as long as the
+   * game is still at that turn. A move for a turn that has already been played is dropped.
    *
-   * @param model the model to get the move for.
-   * @return the move that the AI should make.
+   * @param turn the turn the move was chosen for.
+   * @param move the chosen move, or an empty {@link Optional} to pass.
    */
 
-  private Optional<Point> getMove(ReversiModel model) {
-    try {
-      switch (this.difficulty) {
-        case EASY:
-          return new FlipMostCells().chooseMove(model, this.color);
-        case MEDIUM:
-          return new StrategyWithFallbacks(
-                  new ChooseCornerCell(),
-                  new FlipMostCells()
-          ).chooseMove(model, this.color);
-        case HARD:
-          return new StrategyWithFallbacks(
-                  new AvoidCellsNextToCorners(),
-                  new FlipMostCells()
-          ).chooseMove(model, this.color);
-        case PROVIDER:
-          ReadOnlyReversiInterface modelAdapter = new ModelAdapter(model);
-          Piece adapted = this.adaptPieceColorToPiece(this.color);
-          Optional<AxialCoordinate> move = new MaxCaptureStrategy().
-                  chooseMove(modelAdapter, adapted);
-          if (move.isPresent()) {
-            return Optional.of(this.adaptAxialCoordinate(move.get()));
-          }
-          return Optional.empty();
-        default:
-          throw new IllegalArgumentException("Invalid difficulty.");
+  private void post(int turn, Optional<Point> move) {
+    if (this.model.getTurn() != turn || !this.isTurn()) {
+      return;
+    }
+    for (ViewFeatures feature : this.features) {
+      if (move.isPresent()) {
+        feature.makeMove(move.get().x, move.get().y);
+      } else {
+        feature.passTurn();
       }
-    } catch (IllegalStateException e) {
-      return Optional.empty();
     }
   }
 
-  private Piece adaptPieceColorToPiece(PieceColor piece) {
-    if (piece == PieceColor.BLACK) {
-      return Piece.BLACK;
+  /**
+   * Cancels the search for the current move, if one is running.
+   */
+
+  private void cancelPending() {
+    if (this.pending != null) {
+      this.pending.cancel();
+      this.pending = null;
+    }
+  }
+
+  /**
+   * Creates the strategy the AI chooses its moves with. This is based on the
+   * provided difficulty level when the player is created.
+   *
+   * @return the strategy that the AI should use.
+   */
+
+  private ReversiStrategy createStrategy() {
+    return strategyFor(this.difficulty);
+  }
+
+  /**
+   * Creates the strategy an AI of the provided difficulty chooses its moves with.
+   *
+   * @param difficulty the difficulty of the AI.
+   * @return a new strategy for that difficulty.
+   * @throws IllegalArgumentException if the difficulty is null.
+   */
+
+  public static ReversiStrategy strategyFor(AIDifficulty difficulty)
+          throws IllegalArgumentException {
+    if (difficulty == null) {
+      throw new IllegalArgumentException("Invalid difficulty.");
+    }
+    switch (difficulty) {
+      case EASY:
+        return new FlipMostCells();
+      case MEDIUM:
+        return new StrategyWithFallbacks(
+                new ChooseCornerCell(),
+                new FlipMostCells()
+        );
+      case HARD:
+        return new StrategyWithFallbacks(
+                new AvoidCellsNextToCorners(),
+                new FlipMostCells()
+        );
+      case PROVIDER:
+        return new ProviderStrategyAdapter();
+      default:
+        throw new IllegalArgumentException("Invalid difficulty.");
+    }
+  }
+
+  /**
+   * Creates the search an AI of the provided difficulty runs on the provided executor. It
+   * chooses the same moves as {@link #strategyFor(AIDifficulty)}, but the strategies a
+   * difficulty falls back on all start at once on the executor, so a failed first choice costs
+   * no more time than the slowest strategy that had to run.
+   *
+   * @param difficulty the difficulty of the AI.
+   * @param executor the executor to search on.
+   * @return a new search for that difficulty.
+   * @throws IllegalArgumentException if either argument is null.
+   */
+
+  public static AsyncReversiStrategy searchFor(AIDifficulty difficulty, Executor executor)
+          throws IllegalArgumentException {
+    if (difficulty == null || executor == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    switch (difficulty) {
+      case MEDIUM:
+        return new ParallelStrategyWithFallbacks(executor,
+                new ChooseCornerCell(),
+                new FlipMostCells()
+        );
+      case HARD:
+        return new ParallelStrategyWithFallbacks(executor,
+                new AvoidCellsNextToCorners(),
+                new FlipMostCells()
+        );
+      default:
+        return new BackgroundStrategy(strategyFor(difficulty), executor);
     }
-    return Piece.WHITE;
   }
 
   @Override
   public Optional<AIDifficulty> getDifficulty() {
     return Optional.ofNullable(this.difficulty);
   }
-
-  private Point adaptAxialCoordinate(AxialCoordinate coord) {
-    List<List<ReversiCellPair>> board = model.getBoardCopy();
-    return getPoint(coord, board);
-  }
 }
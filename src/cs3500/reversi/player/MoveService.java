@@ -0,0 +1,193 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.player;
+
+import java.awt.Point;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.PositionKey;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Computes the moves of the AI players in one game, so that players who would run the same
+ * search never run it twice. Each search is keyed by the position it is run on, the color
+ * it is run for, and the difficulty of the AI running it. A request for a search that is
+ * already running, or that has finished for the current position, shares that search's
+ * result instead of starting another one.
+ *
+ * <p>A search is forgotten once its deadline is cancelled, which happens as soon as the
+ * player that started it is notified of the next turn.
+ */
+
+public final class MoveService {
+
+  private static final Map<ReadonlyReversiModel, MoveService> GAMES =
+          Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final Map<Key, Search> searches = new HashMap<>();
+  private int computed;
+  private int shared;
+
+  /**
+   * Gets the move service of the provided game, creating it the first time it is asked for.
+   * Every player of the same game shares the same service.
+   *
+   * @param game the game to get the service of.
+   * @return the game's move service.
+   * @throws IllegalArgumentException if the game is null.
+   */
+
+  public static MoveService forGame(ReadonlyReversiModel game) throws IllegalArgumentException {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null.");
+    }
+    return GAMES.computeIfAbsent(game, key -> new MoveService());
+  }
+
+  /**
+   * Requests the move of the provided color in the provided position, as chosen by an AI of
+   * the provided difficulty. If the same search has already been requested and has not been
+   * cancelled, its result is shared; otherwise, the provided search is started and runs
+   * until the provided deadline.
+   *
+   * @param position the position to choose a move in.
+   * @param pieceColor the color to choose a move for.
+   * @param difficulty the difficulty of the AI choosing the move.
+   * @param deadline the deadline of the search, if it has to be started.
+   * @param search starts the search.
+   * @return the chosen move, or an empty {@link Optional} to pass. Cancelling the returned
+   *         future does not cancel a search that is shared with other requests.
+   * @throws IllegalArgumentException if any argument other than the difficulty is null.
+   */
+
+  public CompletableFuture<Optional<Point>> request(ReadonlyReversiModel position,
+                                                    PieceColor pieceColor,
+                                                    AIDifficulty difficulty,
+                                                    Deadline deadline,
+                                                    Supplier<CompletableFuture<Optional<Point>>>
+                                                            search)
+          throws IllegalArgumentException {
+    if (position == null || pieceColor == null || deadline == null || search == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    Key key = new Key(position, pieceColor, difficulty);
+    synchronized (this) {
+      this.searches.values().removeIf(running -> running.deadline.isCancelled());
+      Search running = this.searches.get(key);
+      if (running != null) {
+        this.shared++;
+      } else {
+        this.computed++;
+        running = new Search(deadline, search.get());
+        this.searches.put(key, running);
+      }
+      return running.result.thenApply(move -> move);
+    }
+  }
+
+  /**
+   * Gets the number of searches this service has started.
+   *
+   * @return the number of searches started.
+   */
+
+  public synchronized int getComputedCount() {
+    return this.computed;
+  }
+
+  /**
+   * Gets the number of requests that shared a search instead of starting one.
+   *
+   * @return the number of shared requests.
+   */
+
+  public synchronized int getSharedCount() {
+    return this.shared;
+  }
+
+  /**
+   * A search that has been started, and the deadline it runs until.
+   */
+
+  private static final class Search {
+
+    private final Deadline deadline;
+    private final CompletableFuture<Optional<Point>> result;
+
+    /**
+     * Constructs a new {@link Search}.
+     *
+     * @param deadline the deadline the search runs until.
+     * @param result the result of the search.
+     */
+
+    private Search(Deadline deadline, CompletableFuture<Optional<Point>> result) {
+      this.deadline = deadline;
+      this.result = result;
+    }
+  }
+
+  /**
+   * The key of a search: the position it is run on, and the color and difficulty it is for.
+   */
+
+  private static final class Key {
+
+    private final PositionKey position;
+    private final PieceColor pieceColor;
+    private final AIDifficulty difficulty;
+
+    /**
+     * Constructs a new {@link Key} for the provided search.
+     *
+     * @param model the position the search is run on.
+     * @param pieceColor the color the search is for.
+     * @param difficulty the difficulty of the AI running the search.
+     */
+
+    private Key(ReadonlyReversiModel model, PieceColor pieceColor, AIDifficulty difficulty) {
+      this.position = PositionKey.of(model);
+      this.pieceColor = pieceColor;
+      this.difficulty = difficulty;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return this.position.equals(key.position) && this.pieceColor == key.pieceColor
+              && this.difficulty == key.difficulty;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.position, this.pieceColor, this.difficulty);
+    }
+  }
+}
@@ -0,0 +1,320 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.player;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.PositionKey;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.BatchMoveScorer;
+
+/**
+ * Thinks on the opponent's time for an {@link AIPlayer}. While the opponent is to move, the
+ * ponderer plays each of the opponent's likely replies on a private copy of the model and
+ * computes the AI's answer to each of them in the background, most likely reply first. When
+ * it becomes the AI's turn, the answer for the position that was actually reached is taken
+ * from the pondered results if it is there, and the rest of the pondering is cancelled.
+ */
+
+public final class Ponderer {
+
+  private final ExecutorService executor;
+  private Session session;
+  private Future<?> task;
+  private volatile Session running;
+  private int hits;
+  private int misses;
+
+  /**
+   * Constructs a new {@link Ponderer} with its own background thread.
+   */
+
+  public Ponderer() {
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "reversi-ponderer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts pondering the provided position, in which the opponent of the provided color is to
+   * move. Any pondering that is still running is cancelled first.
+   *
+   * @param snapshot a copy of the model that is owned by this ponderer from now on.
+   * @param color the color of the AI that is pondering.
+   * @param search the search that chooses the AI's move in a position.
+   */
+
+  public synchronized void ponder(ReversiModel snapshot, PieceColor color,
+                                  Function<ReversiModel, Optional<Point>> search) {
+    this.cancel();
+    Session session = new Session();
+    this.session = session;
+    this.task = this.executor.submit(() -> this.run(session, snapshot, search));
+  }
+
+  /**
+   * Takes the pondered answer for the provided position and cancels all other pondering,
+   * waiting as long as it takes for an answer that is being computed right now.
+   *
+   * @param model the position the AI is to move in.
+   * @return the pondered answer, or an empty {@link Optional} if the position was not pondered.
+   * @see #take(ReadonlyReversiModel, Deadline)
+   */
+
+  public Optional<Optional<Point>> take(ReadonlyReversiModel model) {
+    return this.take(model, Deadline.none());
+  }
+
+  /**
+   * Takes the pondered answer for the provided position and cancels all other pondering. If the
+   * answer for the position is being computed right now, this waits for it until the hard
+   * limit of the deadline, since that is never slower than starting over. If the pondering has
+   * not even started because a cancelled search still holds the background thread, this gives
+   * up at once. The ponderer is never locked while waiting, so pondering can be started or
+   * cancelled meanwhile.
+   *
+   * @param model the position the AI is to move in.
+   * @param deadline the time limit for waiting on the answer.
+   * @return the pondered answer, or an empty {@link Optional} if the position was not pondered
+   *         or its answer was not ready in time.
+   */
+
+  public Optional<Optional<Point>> take(ReadonlyReversiModel model, Deadline deadline) {
+    PositionKey key = PositionKey.of(model);
+    Session session;
+    synchronized (this) {
+      session = this.session;
+    }
+    Optional<Optional<Point>> result = Optional.empty();
+    Session stale = this.running;
+    if (session != null && (session.enumerated.isDone() || stale == null || stale == session)) {
+      try {
+        await(session.enumerated, deadline);
+        CompletableFuture<Optional<Point>> answer = session.answers.get(key);
+        if (answer != null && (answer.isDone() || key.equals(session.current))) {
+          result = Optional.of(await(answer, deadline));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException | CancellationException | TimeoutException e) {
+        // The answer could not be pondered in time, so it has to be searched for again.
+      }
+    }
+    synchronized (this) {
+      if (result.isPresent()) {
+        this.hits++;
+      } else {
+        this.misses++;
+      }
+      if (this.session == session) {
+        this.cancel();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Cancels any pondering that is running and forgets all pondered answers. A search that is
+   * already running is left to finish, but its answer is dropped, and nothing else of the
+   * cancelled pondering runs. Anyone waiting on one of its answers stops waiting.
+   */
+
+  public synchronized void cancel() {
+    if (this.session != null) {
+      this.session.cancelled = true;
+      this.session.enumerated.cancel(false);
+      this.session.answers.values().forEach(answer -> answer.cancel(false));
+      this.session = null;
+    }
+    if (this.task != null) {
+      this.task.cancel(true);
+      this.task = null;
+    }
+  }
+
+  /**
+   * Gets the number of turns whose answer was taken from the pondered results.
+   *
+   * @return the number of pondering hits.
+   */
+
+  public synchronized int getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Gets the number of turns whose answer had not been pondered.
+   *
+   * @return the number of pondering misses.
+   */
+
+  public synchronized int getMisses() {
+    return this.misses;
+  }
+
+  /**
+   * Ponders the replies to a position for the provided session on the background thread,
+   * recording that the session holds the thread until it is done, so that taking an answer
+   * can tell when a cancelled search is still in the way.
+   *
+   * @param session the session to ponder for.
+   * @param snapshot the position the opponent is to move in.
+   * @param search the search that chooses the AI's move in a position.
+   */
+
+  private void run(Session session, ReversiModel snapshot,
+                   Function<ReversiModel, Optional<Point>> search) {
+    this.running = session;
+    try {
+      this.ponderReplies(session, snapshot, search);
+    } finally {
+      this.running = null;
+    }
+  }
+
+  /**
+   * Enumerates and searches the replies to a position for the provided session, most likely
+   * first. The session's replies are always marked as enumerated, even if enumerating them
+   * fails, so that taking an answer never waits on a pondering that has stopped. Once the
+   * session is cancelled, nothing more is searched for it.
+   *
+   * @param session the session to ponder for.
+   * @param snapshot the position the opponent is to move in.
+   * @param search the search that chooses the AI's move in a position.
+   */
+
+  private void ponderReplies(Session session, ReversiModel snapshot,
+                             Function<ReversiModel, Optional<Point>> search) {
+    List<ReversiModel> replies;
+    List<CompletableFuture<Optional<Point>>> pending = new ArrayList<>();
+    List<PositionKey> keys = new ArrayList<>();
+    try {
+      replies = this.likelyReplies(snapshot);
+      for (ReversiModel reply : replies) {
+        CompletableFuture<Optional<Point>> answer = new CompletableFuture<>();
+        keys.add(PositionKey.of(reply));
+        pending.add(answer);
+        session.answers.put(keys.get(keys.size() - 1), answer);
+      }
+      session.current = keys.isEmpty() ? null : keys.get(0);
+    } finally {
+      session.enumerated.complete(null);
+    }
+    for (int i = 0; i < replies.size(); i++) {
+      if (session.cancelled || Thread.currentThread().isInterrupted()) {
+        pending.subList(i, pending.size()).forEach(answer -> answer.cancel(false));
+        return;
+      }
+      session.current = keys.get(i);
+      try {
+        pending.get(i).complete(search.apply(replies.get(i)));
+      } catch (RuntimeException e) {
+        pending.get(i).completeExceptionally(e);
+      }
+    }
+    session.current = null;
+  }
+
+  /**
+   * Plays each of the opponent's legal moves on a copy of the provided model, ordered from the
+   * move that flips the most cells to the move that flips the fewest. If the opponent has no
+   * legal move, the only reply is a pass.
+   *
+   * @param snapshot the position the opponent is to move in.
+   * @return the positions the opponent can reach, most likely first.
+   */
+
+  private List<ReversiModel> likelyReplies(ReversiModel snapshot) {
+    PieceColor opponent = snapshot.getPlayerColor();
+    List<ReversiModel> replies = new ArrayList<>();
+    if (BatchMoveScorer.canScore(snapshot, opponent)) {
+      BatchMoveScorer scorer = BatchMoveScorer.of(snapshot, opponent);
+      int[] discCounts = scorer.getDiscCounts();
+      List<Integer> order = new ArrayList<>();
+      for (int i = 0; i < scorer.size(); i++) {
+        order.add(i);
+      }
+      order.sort((a, b) -> Integer.compare(discCounts[b], discCounts[a]));
+      for (int i : order) {
+        ReversiModel reply = snapshot.getModelCopy();
+        reply.playMove(scorer.getPoint(i).x, scorer.getPoint(i).y, opponent);
+        replies.add(reply);
+      }
+    }
+    if (replies.isEmpty() && snapshot.getPasses() == 0) {
+      ReversiModel reply = snapshot.getModelCopy();
+      reply.pass(opponent);
+      replies.add(reply);
+    }
+    return replies;
+  }
+
+  /**
+   * Waits for the provided future until the hard limit of the provided deadline.
+   *
+   * @param future the future to wait for.
+   * @param deadline the time limit for waiting.
+   * @param <T> the type of the future's result.
+   * @return the result of the future.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   * @throws ExecutionException if the future failed.
+   * @throws TimeoutException if the deadline passed first.
+   */
+
+  private static <T> T await(Future<T> future, Deadline deadline)
+          throws InterruptedException, ExecutionException, TimeoutException {
+    if (future.isDone() || deadline.isUnbounded() && !deadline.isCancelled()) {
+      return future.get();
+    }
+    return future.get(deadline.getRemainingNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * The state of one pondering, from the position it started at until it is cancelled. Each
+   * pondering has its own session, so a pondering that is still finishing a search after it
+   * was cancelled can only ever change its own, forgotten state.
+   */
+
+  private static final class Session {
+
+    private final Map<PositionKey, CompletableFuture<Optional<Point>>> answers =
+            new ConcurrentHashMap<>();
+    private final CompletableFuture<Void> enumerated = new CompletableFuture<>();
+    private volatile PositionKey current;
+    private volatile boolean cancelled;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import cs3500.reversi.model.Position;
+
+/**
+ * Represents how a move from a position did across the games an {@link OpeningBook} was built
+ * from, counted for the player who made the move.
+ */
+
+public final class BookMove {
+
+  private final int move;
+  private final int games;
+  private final int points;
+  private final long margin;
+
+  /**
+   * Constructs a new {@link BookMove}.
+   *
+   * @param move the dense index of the move, or {@link Position#PASS}.
+   * @param games the number of games in which the move was made.
+   * @param points the points the mover scored in those games, two per win and one per draw.
+   * @param margin the sum of the mover's final margins in those games.
+   */
+
+  BookMove(int move, int games, int points, long margin) {
+    this.move = move;
+    this.games = games;
+    this.points = points;
+    this.margin = margin;
+  }
+
+  /**
+   * Gets the move, in the orientation of the position that was looked up.
+   *
+   * @return the dense index of the move, or {@link Position#PASS} for a pass.
+   */
+
+  public int getMove() {
+    return this.move;
+  }
+
+  /**
+   * Gets the number of games in which the move was made.
+   *
+   * @return the number of games.
+   */
+
+  public int getGames() {
+    return this.games;
+  }
+
+  /**
+   * Gets the share of the games the move scored for its player, counting a draw as half a
+   * win.
+   *
+   * @return the score of the move, from 0 to 1.
+   */
+
+  public double getScore() {
+    return this.points / (2.0 * this.games);
+  }
+
+  /**
+   * Gets the score of the move as if it had also drawn one more game, which favors moves
+   * that did well in many games over moves that did well in a few.
+   *
+   * @return the adjusted score of the move, from 0 to 1.
+   */
+
+  public double getAdjustedScore() {
+    return (this.points + 1) / (2.0 * (this.games + 1));
+  }
+
+  /**
+   * Gets how many more discs than its opponent the player making the move finished with, on
+   * average.
+   *
+   * @return the average final margin of the move.
+   */
+
+  public double getAverageMargin() {
+    return (double) this.margin / this.games;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %s games, score %.3f, margin %+.2f",
+            this.move == Position.PASS ? "pass" : this.move, this.games, this.getScore(),
+            this.getAverageMargin());
+  }
+}
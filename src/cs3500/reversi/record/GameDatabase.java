@@ -0,0 +1,543 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.Position;
+import cs3500.reversi.model.PositionKey;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents an archive of recorded games of Reversi that can be searched by position. The
+ * games are appended to a file in the format of {@link GameRecordWriter}, which is mapped
+ * into memory to read them back, and are numbered from 0 in the order they were added.
+ *
+ * <p>Every position reached in every game is indexed by a 64-bit hash of its canonical form
+ * (see {@link PositionKey#getCanonicalSymmetry()}) and the player to move, so a position
+ * matches the games that reached it in any orientation of the board. The index is made of
+ * sorted runs of pairs of longs: the hash, then the game, the ply and the move played next
+ * from the canonical position. Queries binary-search each run, so they take time in
+ * proportion to the number of matches rather than the size of the archive. Games added since
+ * the last merge are held in a small unsorted array that queries scan, and are sorted into a
+ * new run in the background once there are enough of them.
+ *
+ * <p>Runs are kept in tiers: a run is merged with the one before it only once it has grown to
+ * half that run's size, so the runs shrink geometrically, there are only logarithmically many
+ * of them, and every pair is copied a logarithmic number of times however many games are
+ * added, instead of the whole index being copied on every merge.
+ *
+ * <p>The index is rebuilt by replaying every game when the archive is opened, and the file
+ * is mapped as a single buffer, so it must stay under 2 GB.
+ */
+
+public class GameDatabase implements Closeable {
+
+  private static final int MERGE_THRESHOLD = 1 << 14;
+  // A run is merged with the one before it once it is at least this fraction of its size.
+  private static final int RUN_RATIO = 2;
+  private static final int MAX_PLIES = 0xFFFF;
+  private static final long WHITE_TO_MOVE = 0x9E3779B97F4A7C15L;
+  private static final int NO_MOVE = 0;
+  private static final int PASSED = 1;
+  private static final GameResult[] RESULTS = GameResult.values();
+
+  private final FileChannel channel;
+  private final GameRecordWriter writer;
+  private final Executor merger;
+  private final Map<Integer, Position> starts;
+  private final Object mergeLock;
+
+  // all guarded by this
+  private MappedByteBuffer mapped;
+  private long size;
+  private long[] offsets;
+  private byte[] results;
+  private int count;
+  // sorted runs of pairs, from the oldest games to the newest
+  private long[][] runs;
+  private long[] pending;
+  private int pendingSize;
+  private boolean merging;
+  private boolean compacting;
+  private boolean closed;
+
+  // Opens the archive in the provided channel, indexing every game already in it.
+  private GameDatabase(FileChannel channel, Executor merger) throws IOException {
+    this.channel = channel;
+    this.merger = merger;
+    this.starts = new HashMap<>();
+    this.mergeLock = new Object();
+    this.size = channel.size();
+    this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+    this.offsets = new long[64];
+    this.results = new byte[64];
+    this.pending = new long[64];
+
+    int[] moves = new int[64];
+    GameRecordReader reader = GameRecordReader.over(this.mapped);
+    while (reader.next()) {
+      int plies = reader.getMoveCount();
+      if (moves.length < plies) {
+        moves = new int[Math.max(plies, moves.length * 2)];
+      }
+      for (int ply = 0; ply < plies; ply++) {
+        moves[ply] = reader.getMove(ply);
+      }
+      try {
+        this.addPending(this.pairsOf(this.count, reader.getRadius(), moves, plies));
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Game " + this.count + " is not a legal game.", e);
+      }
+      this.addGame(reader.getOffset(), reader.getResult().orElse(null));
+    }
+    this.runs = new long[][] {sortPairs(Arrays.copyOf(this.pending, this.pendingSize))};
+    this.pendingSize = 0;
+
+    channel.position(this.size);
+    this.writer = new GameRecordWriter(channel);
+  }
+
+  /**
+   * Opens the archive in the provided file, creating it if it does not exist, and merges
+   * new games into the index on the common fork-join pool.
+   *
+   * @param file the file of the archive.
+   * @return the opened archive.
+   * @throws IOException if the file cannot be opened or does not hold legal games.
+   */
+
+  public static GameDatabase open(Path file) throws IOException {
+    return open(file, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Opens the archive in the provided file, creating it if it does not exist.
+   *
+   * @param file the file of the archive.
+   * @param merger the executor to merge new games into the index on.
+   * @return the opened archive.
+   * @throws IOException if the file cannot be opened or does not hold legal games.
+   * @throws IllegalArgumentException if either argument is null.
+   */
+
+  public static GameDatabase open(Path file, Executor merger)
+          throws IOException, IllegalArgumentException {
+    if (file == null || merger == null) {
+      throw new IllegalArgumentException("File and merger cannot be null.");
+    }
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      return new GameDatabase(channel, merger);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Adds the provided game to the end of the archive and indexes its positions.
+   *
+   * @param record the game to add.
+   * @return the id of the game.
+   * @throws IOException if the game cannot be written.
+   * @throws IllegalArgumentException if the record is null or not a legal game.
+   * @throws IllegalStateException if the archive is closed.
+   */
+
+  public int add(GameRecord record)
+          throws IOException, IllegalArgumentException, IllegalStateException {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    }
+    int[] moves = record.getMoves();
+    int game;
+    boolean merge;
+    synchronized (this) {
+      this.checkOpen();
+      game = this.count;
+      long[] pairs = this.pairsOf(game, record.getRadius(), moves, moves.length);
+      this.writer.write(record);
+      this.writer.flush();
+      this.addGame(this.size, record.getResult().orElse(null));
+      this.size = this.channel.size();
+      this.addPending(pairs);
+      merge = !this.merging && this.pendingSize >= 2 * MERGE_THRESHOLD;
+      this.merging |= merge;
+    }
+    if (merge) {
+      this.merger.execute(this::mergePending);
+    }
+    return game;
+  }
+
+  /**
+   * Gets the number of games in the archive.
+   *
+   * @return the number of games.
+   */
+
+  public synchronized int getGameCount() {
+    return this.count;
+  }
+
+  /**
+   * Reads a game from the archive.
+   *
+   * @param game the id of the game.
+   * @return the record of the game.
+   * @throws IOException if the game cannot be read.
+   * @throws IllegalArgumentException if there is no game with the provided id.
+   * @throws IllegalStateException if the archive is closed.
+   */
+
+  public GameRecord getGame(int game)
+          throws IOException, IllegalArgumentException, IllegalStateException {
+    ByteBuffer buffer;
+    synchronized (this) {
+      this.checkOpen();
+      if (game < 0 || game >= this.count) {
+        throw new IllegalArgumentException("There is no game " + game + ".");
+      }
+      if (this.mapped.capacity() < this.size) {
+        this.mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+      }
+      buffer = this.mapped.duplicate().position((int) this.offsets[game]);
+    }
+    GameRecordReader reader = GameRecordReader.over(buffer);
+    if (!reader.next()) {
+      throw new IOException("Game " + game + " is missing.");
+    }
+    return reader.read();
+  }
+
+  /**
+   * Finds every game that reached the provided position, in any orientation of the board,
+   * and how each move from it turned out.
+   *
+   * @param position the position to look for.
+   * @return the games that reached the position and the statistics of their next moves.
+   * @throws IllegalArgumentException if the position is null.
+   */
+
+  public PositionMatches find(Position position) throws IllegalArgumentException {
+    if (position == null) {
+      throw new IllegalArgumentException("Position cannot be null.");
+    }
+    PositionKey key = position.getKey();
+    int symmetry = key.getCanonicalSymmetry();
+    long hash = hashOf(key.transform(symmetry), position.getPlayerColor());
+
+    long[][] index;
+    byte[] outcomes;
+    long[] recent = new long[0];
+    int recentSize = 0;
+    synchronized (this) {
+      index = this.runs;
+      outcomes = this.results;
+      for (int pair = 0; pair < this.pendingSize; pair += 2) {
+        if (this.pending[pair] == hash) {
+          if (recentSize == recent.length) {
+            recent = Arrays.copyOf(recent, Math.max(8, recentSize * 2));
+          }
+          recent[recentSize++] = this.pending[pair + 1];
+        }
+      }
+    }
+
+    // Each run is sorted by game within a hash, every run holds older games than the runs after
+    // it, and pending games are newer than any run, so the matches come out in order of game.
+    int[] from = new int[index.length];
+    int[] to = new int[index.length];
+    int matches = recentSize;
+    for (int run = 0; run < index.length; run++) {
+      from[run] = lowerBound(index[run], hash);
+      to[run] = from[run];
+      while (to[run] < index[run].length && index[run][to[run]] == hash) {
+        to[run] += 2;
+      }
+      matches += (to[run] - from[run]) / 2;
+    }
+    long[] values = new long[matches];
+    int found = 0;
+    for (int run = 0; run < index.length; run++) {
+      for (int pair = from[run]; pair < to[run]; pair += 2) {
+        values[found++] = index[run][pair + 1];
+      }
+    }
+    System.arraycopy(recent, 0, values, found, recentSize);
+
+    int[] games = new int[matches];
+    int[] plies = new int[matches];
+    BoardGeometry geometry = position.getGeometry();
+    int[][] tallies = new int[geometry.size() + 2][];
+    PieceColor mover = position.getPlayerColor();
+    for (int match = 0; match < matches; match++) {
+      long value = values[match];
+      games[match] = (int) (value >>> 32);
+      plies[match] = (int) (value >>> 16) & 0xFFFF;
+      int code = (int) value & 0xFFFF;
+      if (code == NO_MOVE) {
+        continue;
+      }
+      if (tallies[code] == null) {
+        tallies[code] = new int[4];
+      }
+      tallies[code][0]++;
+      int outcome = outcomes[games[match]];
+      if (outcome > 0) {
+        GameResult result = RESULTS[outcome - 1];
+        tallies[code][result == GameResult.DRAW ? 2
+                : result == GameResult.winFor(mover) ? 1 : 3]++;
+      }
+    }
+
+    List<MoveStats> moves = new ArrayList<>();
+    for (int code = PASSED; code < tallies.length; code++) {
+      if (tallies[code] != null) {
+        int move = code == PASSED ? Position.PASS
+                : geometry.getSymmetrySource(code - 2, symmetry);
+        moves.add(new MoveStats(move, tallies[code][0], tallies[code][1], tallies[code][2],
+                tallies[code][3]));
+      }
+    }
+    moves.sort(Comparator.comparingInt(MoveStats::getGames).reversed()
+            .thenComparingInt(MoveStats::getMove));
+    return new PositionMatches(games, plies, moves);
+  }
+
+  /**
+   * Sorts every game added since the last merge into a new run of the index, then merges
+   * adjacent runs until each run is less than half the size of the one before it. This
+   * happens in the background once enough games have been added, and never changes the
+   * results of queries.
+   */
+
+  public void mergePending() {
+    boolean compact;
+    synchronized (this.mergeLock) {
+      long[] batch;
+      synchronized (this) {
+        batch = Arrays.copyOf(this.pending, this.pendingSize);
+      }
+      long[] run = sortPairs(batch);
+      synchronized (this) {
+        this.runs = Arrays.copyOf(this.runs, this.runs.length + 1);
+        this.runs[this.runs.length - 1] = run;
+        this.pendingSize -= batch.length;
+        System.arraycopy(this.pending, batch.length, this.pending, 0, this.pendingSize);
+        this.merging = false;
+        compact = !this.compacting;
+        this.compacting = true;
+      }
+    }
+    if (compact) {
+      this.compact();
+    }
+  }
+
+  /**
+   * Gets the number of sorted runs the index is made of, which grows only logarithmically
+   * with the number of games.
+   *
+   * @return the number of runs in the index.
+   */
+
+  public synchronized int getRunCount() {
+    return this.runs.length;
+  }
+
+  // Merges adjacent runs until every run is less than half the size of the one before it.
+  // Only one thread compacts at a time, and new runs may be added while it merges, so the
+  // runs it merges are found again by identity before they are replaced.
+  private void compact() {
+    while (true) {
+      long[] older = null;
+      long[] newer = null;
+      synchronized (this) {
+        for (int run = this.runs.length - 1; run > 0; run--) {
+          if (this.runs[run].length * RUN_RATIO >= this.runs[run - 1].length) {
+            older = this.runs[run - 1];
+            newer = this.runs[run];
+            break;
+          }
+        }
+        if (older == null) {
+          this.compacting = false;
+          return;
+        }
+      }
+      long[] combined = new long[older.length + newer.length];
+      merge(older, 0, older.length, newer, 0, newer.length, combined, 0);
+      synchronized (this) {
+        int at = 0;
+        while (this.runs[at] != older) {
+          at++;
+        }
+        long[][] replaced = new long[this.runs.length - 1][];
+        System.arraycopy(this.runs, 0, replaced, 0, at);
+        replaced[at] = combined;
+        System.arraycopy(this.runs, at + 2, replaced, at + 1, this.runs.length - at - 2);
+        this.runs = replaced;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (!this.closed) {
+      this.closed = true;
+      this.writer.close();
+    }
+  }
+
+  // Throws if the archive has been closed.
+  private void checkOpen() {
+    if (this.closed) {
+      throw new IllegalStateException("The archive is closed.");
+    }
+  }
+
+  // Records the offset and result of the next game.
+  private void addGame(long offset, GameResult result) {
+    if (this.count == this.offsets.length) {
+      this.offsets = Arrays.copyOf(this.offsets, this.count * 2);
+      this.results = Arrays.copyOf(this.results, this.count * 2);
+    }
+    this.offsets[this.count] = offset;
+    this.results[this.count] = (byte) (result == null ? 0 : result.ordinal() + 1);
+    this.count++;
+  }
+
+  // Adds index pairs that have not been merged yet.
+  private void addPending(long[] pairs) {
+    if (this.pendingSize + pairs.length > this.pending.length) {
+      this.pending = Arrays.copyOf(this.pending,
+              Math.max(this.pendingSize + pairs.length, this.pending.length * 2));
+    }
+    System.arraycopy(pairs, 0, this.pending, this.pendingSize, pairs.length);
+    this.pendingSize += pairs.length;
+  }
+
+  /**
+   * Replays a game and builds the index pairs of every position in it.
+   *
+   * @param game the id of the game.
+   * @param radius the radius of its board.
+   * @param moves its moves, as dense indices or {@link Position#PASS}.
+   * @param plies the number of moves.
+   * @return a pair of longs per position reached, including the starting position.
+   * @throws IllegalArgumentException if the moves are not a legal game.
+   */
+
+  private long[] pairsOf(int game, int radius, int[] moves, int plies)
+          throws IllegalArgumentException {
+    if (plies > MAX_PLIES) {
+      throw new IllegalArgumentException("A game can have at most " + MAX_PLIES + " plies.");
+    }
+    Position position = this.starts.computeIfAbsent(radius,
+        r -> new HexagonalReversi(2 * r + 1).getPosition());
+    long[] pairs = new long[2 * (plies + 1)];
+    try {
+      for (int ply = 0; ; ply++) {
+        PositionKey key = position.getKey();
+        int symmetry = key.getCanonicalSymmetry();
+        int code = ply == plies ? NO_MOVE : moves[ply] == Position.PASS ? PASSED
+                : position.getGeometry().getSymmetric(moves[ply], symmetry) + 2;
+        pairs[2 * ply] = hashOf(key.transform(symmetry), position.getPlayerColor());
+        pairs[2 * ply + 1] = (long) game << 32 | (long) ply << 16 | code;
+        if (ply == plies) {
+          return pairs;
+        }
+        position = moves[ply] == Position.PASS ? position.pass() : position.play(moves[ply]);
+      }
+    } catch (IllegalStateException e) {
+      throw new IllegalArgumentException("The moves are not a legal game.", e);
+    }
+  }
+
+  // Hashes a canonical position together with the player to move.
+  static long hashOf(PositionKey canonical, PieceColor mover) {
+    return canonical.getLongHash() ^ (mover == PieceColor.WHITE ? WHITE_TO_MOVE : 0);
+  }
+
+  // Finds the offset of the first pair whose hash is not less than the provided hash.
+  private static int lowerBound(long[] pairs, long hash) {
+    int low = 0;
+    int high = pairs.length / 2;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (pairs[2 * mid] < hash) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return 2 * low;
+  }
+
+  // Sorts pairs by hash, then by value, with a bottom-up merge sort.
+  private static long[] sortPairs(long[] pairs) {
+    long[] from = pairs;
+    long[] to = new long[pairs.length];
+    for (int width = 2; width < pairs.length; width *= 2) {
+      for (int low = 0; low < pairs.length; low += 2 * width) {
+        int mid = Math.min(low + width, pairs.length);
+        int high = Math.min(low + 2 * width, pairs.length);
+        merge(from, low, mid, from, mid, high, to, low);
+      }
+      long[] sorted = to;
+      to = from;
+      from = sorted;
+    }
+    return from;
+  }
+
+  // Merges two sorted runs of pairs into the provided array, starting at the provided offset.
+  private static void merge(long[] left, int leftFrom, int leftTo, long[] right, int rightFrom,
+                            int rightTo, long[] into, int at) {
+    while (leftFrom < leftTo && rightFrom < rightTo) {
+      int compare = Long.compare(left[leftFrom], right[rightFrom]);
+      if (compare < 0 || (compare == 0 && left[leftFrom + 1] <= right[rightFrom + 1])) {
+        into[at++] = left[leftFrom++];
+        into[at++] = left[leftFrom++];
+      } else {
+        into[at++] = right[rightFrom++];
+        into[at++] = right[rightFrom++];
+      }
+    }
+    System.arraycopy(left, leftFrom, into, at, leftTo - leftFrom);
+    System.arraycopy(right, rightFrom, into, at + leftTo - leftFrom, rightTo - rightFrom);
+  }
+}
@@ -0,0 +1,896 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.awt.Point;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.Position;
+import cs3500.reversi.model.PositionCodec;
+import cs3500.reversi.model.ReversiModel;
+
+/**
+ * Represents a durable log of the games a service is hosting, from which every game can be
+ * rebuilt after a restart. Each game has an append-only file of events: its start, each move,
+ * pass and undo, and its result. Events are appended without waiting for the disk, and a
+ * committer thread writes everything appended since its last commit as one checksummed frame
+ * per game, then forces each file once, so many events share each sync. The future returned
+ * for an event completes once the event is on disk.
+ *
+ * <p>After a game has logged enough events, the committer writes a snapshot of it, which is
+ * its moves and its {@link PositionCodec saved position}, then empties its log, so a game is
+ * recovered from at most one snapshot and a bounded number of events however long it has
+ * been played. Opening a log recovers every game in its directory; a frame that was only
+ * partly written when the service stopped fails its checksum and is discarded, along with
+ * everything after it. Every frame records the number of events before it, and a log whose
+ * frames do not follow on from each other is rejected as corrupt rather than replayed on the
+ * wrong moves.
+ *
+ * <p>If a game's frame cannot be written or forced, its events fail, and so does every event
+ * logged for that game afterwards, so that nothing is ever written after a gap in its log.
+ * A game that has ended can be {@link #finish finished}, which commits it and closes its file,
+ * so a long-running service only keeps the files of the games it is hosting open.
+ */
+
+public final class GameLog implements Closeable {
+
+  /**
+   * The number of events a game logs between snapshots by default.
+   */
+
+  public static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+
+  /**
+   * The number of milliseconds the committer waits for more events by default.
+   */
+
+  public static final long DEFAULT_COMMIT_MILLIS = 2;
+
+  private static final byte START = 1;
+  private static final byte MOVE = 2;
+  private static final byte PASS = 3;
+  private static final byte UNDO = 4;
+  private static final byte RESULT = 5;
+  private static final int FRAME_HEADER = 2 * Integer.BYTES;
+  private static final int SNAPSHOT_MAGIC = 0x52564C53;
+  private static final String LOG = ".log";
+  private static final String SNAPSHOT = ".snap";
+  private static final GameResult[] RESULTS = GameResult.values();
+
+  private final Path directory;
+  private final int snapshotInterval;
+  private final long commitMillis;
+  private final Thread committer;
+
+  // all guarded by this
+  private final Map<Long, Journal> journals;
+  private final Set<Long> finishing;
+  private final Set<Journal> dirty;
+  private boolean closed;
+  private int commits;
+  private int snapshots;
+
+  // Opens the log in the provided directory and recovers every game in it.
+  private GameLog(Path directory, int snapshotInterval, long commitMillis) throws IOException {
+    this.directory = directory;
+    this.snapshotInterval = snapshotInterval;
+    this.commitMillis = commitMillis;
+    this.journals = new HashMap<>();
+    this.finishing = new HashSet<>();
+    this.dirty = new LinkedHashSet<>();
+    Files.createDirectories(directory);
+    try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, "*" + LOG)) {
+      for (Path log : logs) {
+        String name = log.getFileName().toString();
+        long id;
+        try {
+          id = Long.parseLong(name.substring(0, name.length() - LOG.length()));
+        } catch (NumberFormatException e) {
+          continue;
+        }
+        Journal journal = this.load(id);
+        if (journal != null) {
+          this.journals.put(id, journal);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      this.closeChannels();
+      throw e;
+    }
+    this.committer = new Thread(this::commitLoop, "reversi-log");
+    this.committer.setDaemon(true);
+    this.committer.start();
+  }
+
+  /**
+   * Opens the log in the provided directory, creating it if it does not exist, with the
+   * default snapshot interval and commit delay.
+   *
+   * @param directory the directory of the log.
+   * @return the opened log, holding every game recovered from the directory.
+   * @throws IOException if the directory cannot be read or holds a corrupt snapshot.
+   */
+
+  public static GameLog open(Path directory) throws IOException {
+    return open(directory, DEFAULT_SNAPSHOT_INTERVAL, DEFAULT_COMMIT_MILLIS);
+  }
+
+  /**
+   * Opens the log in the provided directory, creating it if it does not exist.
+   *
+   * @param directory the directory of the log.
+   * @param snapshotInterval the number of events a game logs between snapshots.
+   * @param commitMillis how long the committer waits for more events before each commit.
+   * @return the opened log, holding every game recovered from the directory.
+   * @throws IOException if the directory cannot be read or holds a corrupt snapshot.
+   * @throws IllegalArgumentException if the directory is null, the interval is not positive
+   *                                  or the delay is negative.
+   */
+
+  public static GameLog open(Path directory, int snapshotInterval, long commitMillis)
+          throws IOException, IllegalArgumentException {
+    if (directory == null || snapshotInterval < 1 || commitMillis < 0) {
+      throw new IllegalArgumentException("Invalid log settings.");
+    }
+    return new GameLog(directory, snapshotInterval, commitMillis);
+  }
+
+  /**
+   * Gets the ids of every game in the log.
+   *
+   * @return the ids of the games, in increasing order.
+   */
+
+  public synchronized Set<Long> getGameIds() {
+    return new TreeSet<>(this.journals.keySet());
+  }
+
+  /**
+   * Rebuilds a game from the log, as of its last logged event.
+   *
+   * @param id the id of the game.
+   * @return a new model of the game, with every logged move available to undo.
+   * @throws IllegalArgumentException if there is no game with the provided id.
+   * @throws IllegalStateException if the logged moves are not a legal game.
+   */
+
+  public ReversiModel recover(long id) throws IllegalArgumentException, IllegalStateException {
+    int rows;
+    int[] moves;
+    synchronized (this) {
+      Journal journal = this.getJournal(id);
+      rows = 2 * journal.radius + 1;
+      moves = Arrays.copyOf(journal.moves, journal.plies);
+    }
+    ReversiModel model = new HexagonalReversi(rows);
+    model.replay(moves);
+    return model;
+  }
+
+  /**
+   * Gets the logged result of a game.
+   *
+   * @param id the id of the game.
+   * @return the result, or an empty {@link Optional} if the game has not ended.
+   * @throws IllegalArgumentException if there is no game with the provided id.
+   */
+
+  public synchronized Optional<GameResult> getResult(long id) throws IllegalArgumentException {
+    return Optional.ofNullable(this.getJournal(id).result);
+  }
+
+  /**
+   * Logs the start of a new game.
+   *
+   * @param id the id of the game.
+   * @param rows the number of rows of its board.
+   * @return a future that completes once the event is on disk.
+   * @throws IOException if the game's log cannot be created.
+   * @throws IllegalArgumentException if a game with the provided id is already logged or
+   *                                  still being finished, or the number of rows is not odd
+   *                                  and at least 5.
+   * @throws IllegalStateException if the log is closed.
+   */
+
+  public synchronized CompletableFuture<Void> start(long id, int rows)
+          throws IOException, IllegalArgumentException, IllegalStateException {
+    this.checkOpen();
+    if (this.journals.containsKey(id) || this.finishing.contains(id)) {
+      throw new IllegalArgumentException("Game " + id + " is already logged.");
+    }
+    if (rows < 5 || rows % 2 == 0) {
+      throw new IllegalArgumentException("Rows must be at least 5 and odd.");
+    }
+    Journal journal = new Journal(id, FileChannel.open(this.logOf(id), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    Files.deleteIfExists(this.snapshotOf(id));
+    this.journals.put(id, journal);
+    return this.append(journal, START, rows / 2);
+  }
+
+  /**
+   * Logs a move in a game.
+   *
+   * @param id the id of the game.
+   * @param index the dense index of the cell played.
+   * @return a future that completes once the event is on disk.
+   * @throws IllegalArgumentException if there is no game with the provided id or the index is
+   *                                  not on its board.
+   * @throws IllegalStateException if the log is closed.
+   */
+
+  public synchronized CompletableFuture<Void> move(long id, int index)
+          throws IllegalArgumentException, IllegalStateException {
+    this.checkOpen();
+    Journal journal = this.getJournal(id);
+    if (index < 0 || index >= BoardGeometry.of(journal.radius).size()) {
+      throw new IllegalArgumentException("The provided index is not on the board.");
+    }
+    return this.append(journal, MOVE, index);
+  }
+
+  /**
+   * Logs a pass in a game.
+   *
+   * @param id the id of the game.
+   * @return a future that completes once the event is on disk.
+   * @throws IllegalArgumentException if there is no game with the provided id.
+   * @throws IllegalStateException if the log is closed.
+   */
+
+  public synchronized CompletableFuture<Void> pass(long id)
+          throws IllegalArgumentException, IllegalStateException {
+    this.checkOpen();
+    return this.append(this.getJournal(id), PASS, 0);
+  }
+
+  /**
+   * Logs that the last move or pass of a game was taken back, which also clears its result.
+   *
+   * @param id the id of the game.
+   * @return a future that completes once the event is on disk.
+   * @throws IllegalArgumentException if there is no game with the provided id.
+   * @throws IllegalStateException if the log is closed or the game has no moves.
+   */
+
+  public synchronized CompletableFuture<Void> undo(long id)
+          throws IllegalArgumentException, IllegalStateException {
+    this.checkOpen();
+    Journal journal = this.getJournal(id);
+    if (journal.plies == 0) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+    return this.append(journal, UNDO, 0);
+  }
+
+  /**
+   * Logs the result of a game.
+   *
+   * @param id the id of the game.
+   * @param result the result of the game.
+   * @return a future that completes once the event is on disk.
+   * @throws IllegalArgumentException if there is no game with the provided id or the result
+   *                                  is null.
+   * @throws IllegalStateException if the log is closed.
+   */
+
+  public synchronized CompletableFuture<Void> result(long id, GameResult result)
+          throws IllegalArgumentException, IllegalStateException {
+    this.checkOpen();
+    if (result == null) {
+      throw new IllegalArgumentException("Result cannot be null.");
+    }
+    return this.append(this.getJournal(id), RESULT, result.ordinal());
+  }
+
+  /**
+   * Logs every move, pass and undo the provided model makes from now on, and its result once
+   * it ends, ignoring any event that cannot be logged.
+   *
+   * @param id the id of the game.
+   * @param model the model of the game.
+   * @throws IOException if the game's log cannot be created.
+   * @throws IllegalArgumentException if the model is null.
+   * @throws IllegalStateException if the log is closed.
+   * @see #attach(long, ReversiModel, Consumer)
+   */
+
+  public void attach(long id, ReversiModel model)
+          throws IOException, IllegalArgumentException, IllegalStateException {
+    this.attach(id, model, failure -> { });
+  }
+
+  /**
+   * Logs every move, pass and undo the provided model makes from now on, and its result once
+   * it ends. If the game is not logged yet, its start and its moves so far are logged first.
+   * An event of the model that cannot be logged, because the log is closed, the game was
+   * finished or its file could not be written, is reported to the provided consumer instead
+   * of being thrown into the model, which has already made the move and still has to tell
+   * its other listeners.
+   *
+   * @param id the id of the game.
+   * @param model the model of the game.
+   * @param onFailure told of every event of the model that could not be logged.
+   * @throws IOException if the game's log cannot be created.
+   * @throws IllegalArgumentException if the model or consumer is null.
+   * @throws IllegalStateException if the log is closed.
+   */
+
+  public void attach(long id, ReversiModel model, Consumer<Throwable> onFailure)
+          throws IOException, IllegalArgumentException, IllegalStateException {
+    if (model == null || onFailure == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    synchronized (this) {
+      if (!this.journals.containsKey(id)) {
+        this.start(id, model.getDiameter());
+        for (int move : model.getMoveHistory()) {
+          this.logMove(id, move);
+        }
+        if (model.isGameOver()) {
+          GameResult.of(model).ifPresent(result -> this.result(id, result));
+        }
+      }
+    }
+    BoardGeometry geometry = BoardGeometry.of(model.getRadius());
+    Consumer<CompletableFuture<Void>> report = durable -> durable.whenComplete(
+        (done, failure) -> {
+          if (failure != null) {
+            onFailure.accept(failure);
+          }
+        });
+    model.addChangeListener(change -> {
+      try {
+        if (change.isUndone()) {
+          report.accept(this.undo(id));
+          return;
+        } else if (change.isReplay()) {
+          int[] history = model.getMoveHistory();
+          synchronized (this) {
+            for (int ply = this.getJournal(id).plies; ply < history.length; ply++) {
+              report.accept(this.logMove(id, history[ply]));
+            }
+          }
+        } else if (change.isPass()) {
+          report.accept(this.pass(id));
+        } else {
+          Point placed = change.getPlacedCell().orElseThrow();
+          report.accept(this.move(id, geometry.indexOf(placed.x, placed.y)));
+        }
+        if (model.isGameOver()) {
+          GameResult.of(model).ifPresent(result -> report.accept(this.result(id, result)));
+        }
+      } catch (RuntimeException e) {
+        onFailure.accept(e);
+      }
+    });
+  }
+
+  /**
+   * Stops logging a game, committing every event appended for it, then closing its file and,
+   * if asked to, deleting its files. Until the returned future completes, a new game with the
+   * same id cannot be started.
+   *
+   * @param id the id of the game.
+   * @param delete whether to delete the game's files once they are closed.
+   * @return a future that completes once the game's events are on disk and its file is closed,
+   *         or fails if any of its events could not be written.
+   * @throws IllegalArgumentException if there is no game with the provided id.
+   * @throws IllegalStateException if the log is closed.
+   */
+
+  public synchronized CompletableFuture<Void> finish(long id, boolean delete)
+          throws IllegalArgumentException, IllegalStateException {
+    this.checkOpen();
+    Journal journal = this.getJournal(id);
+    this.journals.remove(id);
+    this.finishing.add(id);
+    journal.finished = new CompletableFuture<>();
+    journal.delete = delete;
+    this.dirty.add(journal);
+    this.notifyAll();
+    return journal.finished;
+  }
+
+  /**
+   * Gets the number of commits, each of which forced every file it wrote to once.
+   *
+   * @return the number of commits so far.
+   */
+
+  public synchronized int getCommitCount() {
+    return this.commits;
+  }
+
+  /**
+   * Gets the number of snapshots written since the log was opened.
+   *
+   * @return the number of snapshots.
+   */
+
+  public synchronized int getSnapshotCount() {
+    return this.snapshots;
+  }
+
+  /**
+   * Commits every event appended so far, then closes the log.
+   *
+   * @throws IOException if the files of the log cannot be closed.
+   */
+
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+      this.notifyAll();
+    }
+    try {
+      this.committer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    this.closeChannels();
+  }
+
+  // Logs a move or a pass.
+  private CompletableFuture<Void> logMove(long id, int move) {
+    return move == Position.PASS ? this.pass(id) : this.move(id, move);
+  }
+
+  // Appends an event to a game's pending frame and wakes the committer. Called holding this.
+  private CompletableFuture<Void> append(Journal journal, byte type, int argument) {
+    if (journal.failure != null) {
+      throw new IllegalStateException("The log of game " + journal.id + " could not be written.",
+              journal.failure);
+    }
+    long before = journal.seq;
+    journal.apply(type, argument);
+    if (journal.pending.remaining() < 1 + 5) {
+      journal.pending = ByteBuffer.allocate(journal.pending.capacity() * 2)
+              .put(journal.pending.flip());
+    }
+    if (journal.pending.position() == 0) {
+      journal.pendingFrom = before;
+    }
+    journal.pending.put(type);
+    if (type == START || type == MOVE || type == RESULT) {
+      GameRecordWriter.putVarint(journal.pending, argument);
+    }
+    CompletableFuture<Void> durable = new CompletableFuture<>();
+    journal.waiting.add(durable);
+    this.dirty.add(journal);
+    this.notifyAll();
+    return durable;
+  }
+
+  // Writes pending events until the log is closed and nothing is pending.
+  private void commitLoop() {
+    while (true) {
+      synchronized (this) {
+        while (this.dirty.isEmpty() && !this.closed) {
+          try {
+            this.wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (this.dirty.isEmpty()) {
+          return;
+        }
+      }
+      if (this.commitMillis > 0) {
+        try {
+          Thread.sleep(this.commitMillis);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+      this.commit();
+    }
+  }
+
+  // Writes and forces one frame per dirty game, then snapshots the games that are due.
+  private void commit() {
+    List<Batch> batches = new ArrayList<>();
+    synchronized (this) {
+      for (Journal journal : this.dirty) {
+        Batch batch = new Batch(journal);
+        batch.failure = journal.failure;
+        journal.pending.clear();
+        journal.waiting = new ArrayList<>();
+        journal.sinceSnapshot += batch.futures.size();
+        if (journal.sinceSnapshot >= this.snapshotInterval && journal.finished == null) {
+          journal.sinceSnapshot = 0;
+          batch.snapshot = journal.copy();
+        }
+        batches.add(batch);
+      }
+      this.dirty.clear();
+    }
+    for (Batch batch : batches) {
+      try {
+        if (batch.failure == null && !batch.futures.isEmpty()) {
+          batch.write();
+        }
+      } catch (IOException e) {
+        batch.failure = e;
+      }
+    }
+    for (Batch batch : batches) {
+      try {
+        if (batch.failure == null && !batch.futures.isEmpty()) {
+          batch.journal.channel.force(false);
+        }
+      } catch (IOException e) {
+        batch.failure = e;
+      }
+    }
+    synchronized (this) {
+      this.commits++;
+      for (Batch batch : batches) {
+        if (batch.failure != null) {
+          batch.journal.failure = batch.failure;
+        }
+      }
+    }
+    for (Batch batch : batches) {
+      for (CompletableFuture<Void> future : batch.futures) {
+        if (batch.failure == null) {
+          future.complete(null);
+        } else {
+          future.completeExceptionally(batch.failure);
+        }
+      }
+      if (batch.failure == null && batch.snapshot != null) {
+        try {
+          this.snapshot(batch.journal, batch.snapshot);
+        } catch (IOException | RuntimeException e) {
+          // the log still holds every event, so the game recovers without the snapshot
+        }
+      }
+      if (batch.journal.finished != null) {
+        this.closeFinished(batch.journal, batch.failure);
+      }
+    }
+  }
+
+  // Closes the file of a finished game, deleting its files if asked to.
+  private void closeFinished(Journal journal, IOException failure) {
+    IOException error = failure;
+    try {
+      journal.channel.close();
+      if (journal.delete) {
+        Files.deleteIfExists(this.logOf(journal.id));
+        Files.deleteIfExists(this.snapshotOf(journal.id));
+      }
+    } catch (IOException e) {
+      error = error == null ? e : error;
+    }
+    synchronized (this) {
+      this.finishing.remove(journal.id);
+    }
+    if (error == null) {
+      journal.finished.complete(null);
+    } else {
+      journal.finished.completeExceptionally(error);
+    }
+  }
+
+  // Writes a snapshot of a game atomically, then empties its log.
+  private void snapshot(Journal journal, Journal state) throws IOException {
+    long id = journal.id;
+    Position position = state.position();
+    ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + 2 + 5
+            + 5 * state.plies + PositionCodec.sizeOf(position.getGeometry()) + Integer.BYTES);
+    buffer.putInt(SNAPSHOT_MAGIC).putLong(state.seq).put((byte) state.radius)
+            .put((byte) (state.result == null ? 0 : state.result.ordinal() + 1));
+    GameRecordWriter.putVarint(buffer, state.plies);
+    for (int ply = 0; ply < state.plies; ply++) {
+      GameRecordWriter.putVarint(buffer, state.moves[ply] + 1);
+    }
+    PositionCodec.encode(position, buffer);
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), 0, buffer.position());
+    buffer.putInt((int) crc.getValue()).flip();
+
+    Path temporary = this.directory.resolve(id + SNAPSHOT + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    Files.move(temporary, this.snapshotOf(id), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+    journal.channel.truncate(0);
+    journal.channel.force(true);
+    synchronized (this) {
+      this.snapshots++;
+    }
+  }
+
+  // Rebuilds the journal of a game from its snapshot and log, or deletes an empty log.
+  private Journal load(long id) throws IOException {
+    Path log = this.logOf(id);
+    Path snapshot = this.snapshotOf(id);
+    Journal journal = new Journal(id, null);
+    long covered = 0;
+    if (Files.exists(snapshot)) {
+      covered = readSnapshot(journal, Files.readAllBytes(snapshot));
+    }
+    ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(log));
+    int valid = 0;
+    while (bytes.remaining() >= FRAME_HEADER) {
+      int length = bytes.getInt();
+      int checksum = bytes.getInt();
+      if (length < Long.BYTES || length > bytes.remaining()) {
+        break;
+      }
+      CRC32 crc = new CRC32();
+      crc.update(bytes.array(), bytes.position(), length);
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      ByteBuffer frame = bytes.slice().limit(length);
+      bytes.position(bytes.position() + length);
+      valid = bytes.position();
+      long seq = frame.getLong();
+      while (frame.hasRemaining()) {
+        byte type = frame.get();
+        int argument = type == START || type == MOVE || type == RESULT ? getVarint(frame) : 0;
+        if (seq++ >= covered) {
+          if (seq - 1 != journal.seq) {
+            throw new IOException("The log of game " + id + " is missing events.");
+          }
+          try {
+            journal.apply(type, argument);
+          } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("The log of game " + id + " is corrupt.", e);
+          }
+        }
+      }
+    }
+    if (journal.seq == 0) {
+      Files.delete(log);
+      return null;
+    }
+    journal.channel = FileChannel.open(log, StandardOpenOption.WRITE);
+    journal.channel.truncate(valid);
+    journal.channel.position(valid);
+    return journal;
+  }
+
+  // Reads a snapshot into an empty journal, returning the last event it covers.
+  private static long readSnapshot(Journal journal, byte[] snapshot) throws IOException {
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(snapshot, 0, snapshot.length - Integer.BYTES);
+      CRC32 crc = new CRC32();
+      crc.update(snapshot, 0, snapshot.length - Integer.BYTES);
+      if (buffer.getInt() != SNAPSHOT_MAGIC
+              || ByteBuffer.wrap(snapshot).getInt(snapshot.length - Integer.BYTES)
+              != (int) crc.getValue()) {
+        throw new IOException("Corrupt snapshot.");
+      }
+      journal.seq = buffer.getLong();
+      journal.radius = buffer.get() & 0xFF;
+      int result = buffer.get();
+      journal.result = result == 0 ? null : RESULTS[result - 1];
+      journal.plies = getVarint(buffer);
+      journal.moves = new int[Math.max(64, journal.plies)];
+      for (int ply = 0; ply < journal.plies; ply++) {
+        journal.moves[ply] = getVarint(buffer) - 1;
+      }
+      if (!PositionCodec.decode(buffer).equals(journal.position())) {
+        throw new IOException("Snapshot moves do not match its position.");
+      }
+      return journal.seq;
+    } catch (RuntimeException e) {
+      throw new IOException("Corrupt snapshot.", e);
+    }
+  }
+
+  // Reads a varint from a buffer.
+  private static int getVarint(ByteBuffer buffer) {
+    int value = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte next = buffer.get();
+      value |= (next & 0x7F) << shift;
+      if (next >= 0) {
+        return value;
+      }
+    }
+  }
+
+  // Throws if the log has been closed. Called holding this.
+  private void checkOpen() {
+    if (this.closed) {
+      throw new IllegalStateException("The log is closed.");
+    }
+  }
+
+  // Gets the journal of a game. Called holding this.
+  private Journal getJournal(long id) {
+    Journal journal = this.journals.get(id);
+    if (journal == null) {
+      throw new IllegalArgumentException("There is no game " + id + ".");
+    }
+    return journal;
+  }
+
+  // Closes the file of every game.
+  private void closeChannels() throws IOException {
+    for (Journal journal : this.journals.values()) {
+      if (journal.channel != null) {
+        journal.channel.close();
+      }
+    }
+  }
+
+  private Path logOf(long id) {
+    return this.directory.resolve(id + LOG);
+  }
+
+  private Path snapshotOf(long id) {
+    return this.directory.resolve(id + SNAPSHOT);
+  }
+
+  /**
+   * The state of one logged game: its file, the game as of its last appended event, and the
+   * events appended since the last commit.
+   */
+
+  private static final class Journal {
+
+    private final long id;
+    private FileChannel channel;
+    private int radius;
+    private int[] moves = new int[64];
+    private int plies;
+    private GameResult result;
+    private long seq;
+    private int sinceSnapshot;
+    private ByteBuffer pending = ByteBuffer.allocate(64);
+    private long pendingFrom;
+    private List<CompletableFuture<Void>> waiting = new ArrayList<>();
+    // The error that stopped the game's log from being written, after which nothing is.
+    private IOException failure;
+    // Completed once the game is finished and its file closed; null while it is logged.
+    private CompletableFuture<Void> finished;
+    private boolean delete;
+
+    // Constructs the journal of a game logged to the provided file.
+    private Journal(long id, FileChannel channel) {
+      this.id = id;
+      this.channel = channel;
+    }
+
+    // Applies an event to the game, throwing if it cannot follow the events before it.
+    private void apply(byte type, int argument) {
+      if ((type == START) != (this.seq == 0)) {
+        throw new IllegalStateException("A game must start exactly once.");
+      }
+      switch (type) {
+        case START:
+          this.radius = BoardGeometry.of(argument).getRadius();
+          break;
+        case MOVE:
+        case PASS:
+          if (this.plies == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.plies * 2);
+          }
+          this.moves[this.plies++] = type == PASS ? Position.PASS : argument;
+          this.result = null;
+          break;
+        case UNDO:
+          if (this.plies == 0) {
+            throw new IllegalStateException("There is no move to undo.");
+          }
+          this.plies--;
+          this.result = null;
+          break;
+        case RESULT:
+          this.result = RESULTS[argument];
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown event " + type + ".");
+      }
+      this.seq++;
+    }
+
+    // Copies the game as of the last appended event, for a snapshot.
+    private Journal copy() {
+      Journal copy = new Journal(this.id, null);
+      copy.radius = this.radius;
+      copy.moves = Arrays.copyOf(this.moves, this.plies);
+      copy.plies = this.plies;
+      copy.result = this.result;
+      copy.seq = this.seq;
+      return copy;
+    }
+
+    // Replays the moves of the game on a position.
+    private Position position() {
+      Position position = new HexagonalReversi(2 * this.radius + 1).getPosition();
+      for (int ply = 0; ply < this.plies; ply++) {
+        position = this.moves[ply] == Position.PASS ? position.pass()
+                : position.play(this.moves[ply]);
+      }
+      return position;
+    }
+  }
+
+  /**
+   * The events of one game taken by a commit, with the futures waiting on them.
+   */
+
+  private static final class Batch {
+
+    private final Journal journal;
+    private final ByteBuffer frame;
+    private final List<CompletableFuture<Void>> futures;
+    private Journal snapshot;
+    private IOException failure;
+
+    // Takes the pending events of a journal as a frame. Called holding the log.
+    private Batch(Journal journal) {
+      this.journal = journal;
+      this.futures = journal.waiting;
+      ByteBuffer events = journal.pending.duplicate().flip();
+      this.frame = ByteBuffer.allocate(FRAME_HEADER + Long.BYTES + events.remaining());
+      this.frame.position(FRAME_HEADER);
+      this.frame.putLong(journal.pendingFrom).put(events);
+      CRC32 crc = new CRC32();
+      crc.update(this.frame.array(), FRAME_HEADER, this.frame.position() - FRAME_HEADER);
+      this.frame.putInt(0, this.frame.position() - FRAME_HEADER)
+              .putInt(Integer.BYTES, (int) crc.getValue()).flip();
+    }
+
+    // Writes the frame to the end of the journal's file.
+    private void write() throws IOException {
+      while (this.frame.hasRemaining()) {
+        this.journal.channel.write(this.frame);
+      }
+    }
+  }
+}
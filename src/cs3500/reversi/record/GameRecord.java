@@ -0,0 +1,153 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import cs3500.reversi.model.Position;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.ReversiModel;
+
+/**
+ * Represents a recorded game of Reversi: the radius of its board, its moves and passes, and
+ * optionally its result and the time each ply took. Moves are dense cell indices, with
+ * {@link Position#PASS} for a pass, so a record can be replayed with
+ * {@link ReversiModel#replay(int[])}.
+ *
+ * <p>Records are stored by {@link GameRecordWriter} and read back by
+ * {@link GameRecordReader}.
+ */
+
+public final class GameRecord {
+
+  private final int radius;
+  private final int[] moves;
+  private final GameResult result;
+  private final int[] clockMillis;
+
+  /**
+   * Constructs a new {@link GameRecord}.
+   *
+   * @param radius the radius of the board.
+   * @param moves the moves and passes of the game, in order.
+   * @param result the result of the game, or null if it is unknown.
+   * @param clockMillis the milliseconds each ply took, or null if they were not recorded.
+   * @throws IllegalArgumentException if the radius is less than 1, the moves are null, any
+   *                                  move is less than {@link Position#PASS}, any time is
+   *                                  negative, or there is not one time per ply.
+   */
+
+  public GameRecord(int radius, int[] moves, GameResult result, int[] clockMillis)
+          throws IllegalArgumentException {
+    if (radius < 1 || moves == null) {
+      throw new IllegalArgumentException("A record needs a radius and moves.");
+    }
+    if (Arrays.stream(moves).anyMatch(move -> move < Position.PASS)) {
+      throw new IllegalArgumentException("Moves must be cell indices or passes.");
+    }
+    if (clockMillis != null && (clockMillis.length != moves.length
+            || Arrays.stream(clockMillis).anyMatch(millis -> millis < 0))) {
+      throw new IllegalArgumentException("There must be one non-negative time per ply.");
+    }
+    this.radius = radius;
+    this.moves = moves.clone();
+    this.result = result;
+    this.clockMillis = clockMillis == null ? null : clockMillis.clone();
+  }
+
+  /**
+   * Records the provided game as it stands, with its result if it is over.
+   *
+   * @param model the game to record.
+   * @return the record of the game.
+   * @throws IllegalArgumentException if the model is null.
+   */
+
+  public static GameRecord of(ReadonlyReversiModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    return new GameRecord(model.getRadius(), model.getMoveHistory(),
+            GameResult.of(model).orElse(null), null);
+  }
+
+  /**
+   * Gets the radius of the board.
+   *
+   * @return the radius of the board.
+   */
+
+  public int getRadius() {
+    return this.radius;
+  }
+
+  /**
+   * Gets the moves and passes of the game.
+   *
+   * @return a copy of the moves, in order.
+   */
+
+  public int[] getMoves() {
+    return this.moves.clone();
+  }
+
+  /**
+   * Gets the result of the game.
+   *
+   * @return the result, or an empty {@link Optional} if it is unknown.
+   */
+
+  public Optional<GameResult> getResult() {
+    return Optional.ofNullable(this.result);
+  }
+
+  /**
+   * Gets the time each ply took.
+   *
+   * @return a copy of the milliseconds each ply took, or an empty {@link Optional} if they
+   *         were not recorded.
+   */
+
+  public Optional<int[]> getClockMillis() {
+    return Optional.ofNullable(this.clockMillis).map(int[]::clone);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof GameRecord)) {
+      return false;
+    }
+    GameRecord record = (GameRecord) other;
+    return this.radius == record.radius && Arrays.equals(this.moves, record.moves)
+            && this.result == record.result && Arrays.equals(this.clockMillis,
+            record.clockMillis);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * (31 * this.radius + Arrays.hashCode(this.moves))
+            + (this.result == null ? 0 : this.result.hashCode()))
+            + Arrays.hashCode(this.clockMillis);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("radius %s, %s plies, result %s", this.radius, this.moves.length,
+            this.result);
+  }
+}
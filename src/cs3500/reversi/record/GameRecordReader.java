@@ -0,0 +1,329 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+import cs3500.reversi.model.Position;
+
+/**
+ * Reads {@link GameRecord}s written by a {@link GameRecordWriter} from a channel, one at a
+ * time. The reader is a cursor: {@link #next()} decodes the next record into arrays the
+ * reader reuses, and the getters read from those arrays, so scanning a file builds no
+ * objects per record unless {@link #read()} is called.
+ */
+
+public class GameRecordReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final GameResult[] RESULTS = GameResult.values();
+
+  private final ReadableByteChannel channel;
+  private ByteBuffer buffer;
+  private boolean exhausted;
+  private long base;
+  private long offset;
+
+  private boolean current;
+  private int radius;
+  private int plies;
+  private int[] moves;
+  private GameResult result;
+  private boolean hasClock;
+  private int[] clockMillis;
+
+  /**
+   * Constructs a new {@link GameRecordReader} that reads from the provided channel.
+   *
+   * @param channel the channel to read records from.
+   * @throws IllegalArgumentException if the channel is null.
+   */
+
+  public GameRecordReader(ReadableByteChannel channel) throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel cannot be null.");
+    }
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+    this.moves = new int[64];
+    this.clockMillis = new int[64];
+  }
+
+  // Constructs a reader over bytes already in memory, which never reads from a channel.
+  private GameRecordReader(ByteBuffer buffer) {
+    this.channel = null;
+    this.buffer = buffer;
+    this.exhausted = true;
+    this.moves = new int[64];
+    this.clockMillis = new int[64];
+  }
+
+  /**
+   * Constructs a reader over the records from the position to the limit of the provided
+   * buffer, such as a file mapped into memory, without copying them.
+   *
+   * @param buffer the buffer to read records from.
+   * @return a reader positioned before the first record in the buffer.
+   * @throws IllegalArgumentException if the buffer is null.
+   */
+
+  public static GameRecordReader over(ByteBuffer buffer) throws IllegalArgumentException {
+    if (buffer == null) {
+      throw new IllegalArgumentException("Buffer cannot be null.");
+    }
+    return new GameRecordReader(buffer.slice());
+  }
+
+  /**
+   * Opens a reader over the provided file.
+   *
+   * @param file the file to read records from.
+   * @return a reader positioned before the first record of the file.
+   * @throws IOException if the file cannot be opened.
+   */
+
+  public static GameRecordReader open(Path file) throws IOException {
+    return new GameRecordReader(FileChannel.open(file, StandardOpenOption.READ));
+  }
+
+  /**
+   * Advances to the next record.
+   *
+   * @return true if there was another record, or false if the channel has ended.
+   * @throws IOException if the channel cannot be read, ends partway through a record, or
+   *                     holds a malformed record.
+   */
+
+  public boolean next() throws IOException {
+    this.current = false;
+    if (!this.fill(1)) {
+      return false;
+    }
+    this.offset = this.base + this.buffer.position();
+    int size = this.getVarint();
+    if (size <= 0 || !this.fill(size)) {
+      throw new IOException("Truncated record.");
+    }
+    int end = this.buffer.position() + size;
+    this.radius = this.getVarint();
+    int flags = this.buffer.get();
+    this.plies = this.getVarint();
+    if (this.radius < 1 || this.plies < 0 || this.plies > size) {
+      throw new IOException("Malformed record.");
+    }
+    if (this.moves.length < this.plies) {
+      this.moves = new int[Math.max(this.plies, this.moves.length * 2)];
+    }
+    for (int ply = 0; ply < this.plies; ply++) {
+      this.moves[ply] = this.getVarint() - 1;
+    }
+    this.result = null;
+    if ((flags & GameRecordWriter.HAS_RESULT) != 0) {
+      int ordinal = this.buffer.get();
+      if (ordinal < 0 || ordinal >= RESULTS.length) {
+        throw new IOException("Malformed result.");
+      }
+      this.result = RESULTS[ordinal];
+    }
+    this.hasClock = (flags & GameRecordWriter.HAS_CLOCK) != 0;
+    if (this.hasClock) {
+      if (this.clockMillis.length < this.plies) {
+        this.clockMillis = new int[Math.max(this.plies, this.clockMillis.length * 2)];
+      }
+      for (int ply = 0; ply < this.plies; ply++) {
+        this.clockMillis[ply] = this.getVarint();
+      }
+    }
+    if (this.buffer.position() != end) {
+      throw new IOException("Malformed record.");
+    }
+    this.current = true;
+    return true;
+  }
+
+  /**
+   * Gets the number of bytes before the current record, from where the reader started.
+   *
+   * @return the offset of the current record.
+   * @throws IllegalStateException if there is no current record.
+   */
+
+  long getOffset() throws IllegalStateException {
+    this.checkCurrent();
+    return this.offset;
+  }
+
+  /**
+   * Gets the radius of the board of the current record.
+   *
+   * @return the radius of the board.
+   * @throws IllegalStateException if there is no current record.
+   */
+
+  public int getRadius() throws IllegalStateException {
+    this.checkCurrent();
+    return this.radius;
+  }
+
+  /**
+   * Gets the number of plies in the current record.
+   *
+   * @return the number of moves and passes.
+   * @throws IllegalStateException if there is no current record.
+   */
+
+  public int getMoveCount() throws IllegalStateException {
+    this.checkCurrent();
+    return this.plies;
+  }
+
+  /**
+   * Gets a ply of the current record.
+   *
+   * @param ply the index of the ply, from 0.
+   * @return the cell index played, or {@link Position#PASS} for a pass.
+   * @throws IllegalStateException if there is no current record.
+   * @throws IndexOutOfBoundsException if there is no such ply.
+   */
+
+  public int getMove(int ply) throws IllegalStateException, IndexOutOfBoundsException {
+    this.checkCurrent();
+    return this.moves[this.checkPly(ply)];
+  }
+
+  /**
+   * Gets the result of the current record.
+   *
+   * @return the result, or an empty {@link Optional} if it is unknown.
+   * @throws IllegalStateException if there is no current record.
+   */
+
+  public Optional<GameResult> getResult() throws IllegalStateException {
+    this.checkCurrent();
+    return Optional.ofNullable(this.result);
+  }
+
+  /**
+   * Determines if the current record has the time each ply took.
+   *
+   * @return true if the current record has clock data.
+   * @throws IllegalStateException if there is no current record.
+   */
+
+  public boolean hasClock() throws IllegalStateException {
+    this.checkCurrent();
+    return this.hasClock;
+  }
+
+  /**
+   * Gets the time a ply of the current record took.
+   *
+   * @param ply the index of the ply, from 0.
+   * @return the milliseconds the ply took.
+   * @throws IllegalStateException if there is no current record or it has no clock data.
+   * @throws IndexOutOfBoundsException if there is no such ply.
+   */
+
+  public int getClockMillis(int ply) throws IllegalStateException, IndexOutOfBoundsException {
+    if (!this.hasClock()) {
+      throw new IllegalStateException("The current record has no clock data.");
+    }
+    return this.clockMillis[this.checkPly(ply)];
+  }
+
+  /**
+   * Builds a {@link GameRecord} from the current record.
+   *
+   * @return the current record.
+   * @throws IllegalStateException if there is no current record.
+   */
+
+  public GameRecord read() throws IllegalStateException {
+    this.checkCurrent();
+    return new GameRecord(this.radius, Arrays.copyOf(this.moves, this.plies), this.result,
+            this.hasClock ? Arrays.copyOf(this.clockMillis, this.plies) : null);
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.current = false;
+    if (this.channel != null) {
+      this.channel.close();
+    }
+  }
+
+  // Throws if next has not returned true since the reader was opened or last ran out.
+  private void checkCurrent() {
+    if (!this.current) {
+      throw new IllegalStateException("There is no current record.");
+    }
+  }
+
+  // Throws if the ply is not in the current record, otherwise returns it.
+  private int checkPly(int ply) {
+    if (ply < 0 || ply >= this.plies) {
+      throw new IndexOutOfBoundsException("No ply " + ply + " in this record.");
+    }
+    return ply;
+  }
+
+  // Reads until the buffer holds the provided number of bytes, growing it if it is too
+  // small, and returns false if the channel ends first.
+  private boolean fill(int bytes) throws IOException {
+    if (this.buffer.remaining() >= bytes) {
+      return true;
+    } else if (this.exhausted) {
+      return false;
+    }
+    this.base += this.buffer.position();
+    if (this.buffer.capacity() < bytes) {
+      ByteBuffer larger = ByteBuffer.allocate(Math.max(bytes, this.buffer.capacity() * 2));
+      this.buffer = larger.put(this.buffer);
+    } else {
+      this.buffer.compact();
+    }
+    while (this.buffer.position() < bytes && !this.exhausted) {
+      this.exhausted = this.channel.read(this.buffer) < 0;
+    }
+    this.buffer.flip();
+    return this.buffer.remaining() >= bytes;
+  }
+
+  // Reads a varint, refilling the buffer if the varint straddles its end.
+  private int getVarint() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      if (!this.fill(1)) {
+        throw new IOException("Truncated record.");
+      }
+      byte next = this.buffer.get();
+      value |= (next & 0x7F) << shift;
+      if (next >= 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint.");
+  }
+}
@@ -0,0 +1,196 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import cs3500.reversi.model.Position;
+
+/**
+ * Appends {@link GameRecord}s to a channel in a compact binary format. Each record is its
+ * length in bytes followed by that many bytes of payload, so a file can be appended to
+ * indefinitely and read back sequentially by a {@link GameRecordReader}.
+ *
+ * <p>All numbers are unsigned varints: seven bits per byte, least significant first, with
+ * the high bit set on every byte but the last. The payload is the radius, a flags byte
+ * ({@link #HAS_RESULT}, {@link #HAS_CLOCK}), the number of plies, each ply as its cell index
+ * plus one (so a pass is 0), the ordinal of the {@link GameResult} if flagged, and the
+ * milliseconds of each ply if flagged. A typical game takes about one byte per ply.
+ */
+
+public class GameRecordWriter implements Closeable {
+
+  static final int HAS_RESULT = 1;
+  static final int HAS_CLOCK = 2;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final WritableByteChannel channel;
+  private ByteBuffer buffer;
+
+  /**
+   * Constructs a new {@link GameRecordWriter} that writes to the provided channel.
+   *
+   * @param channel the channel to write records to.
+   * @throws IllegalArgumentException if the channel is null.
+   */
+
+  public GameRecordWriter(WritableByteChannel channel) throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel cannot be null.");
+    }
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  }
+
+  /**
+   * Opens a writer that appends to the provided file, creating it if it does not exist.
+   *
+   * @param file the file to append records to.
+   * @return a writer appending to the file.
+   * @throws IOException if the file cannot be opened.
+   */
+
+  public static GameRecordWriter append(Path file) throws IOException {
+    return new GameRecordWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+  }
+
+  /**
+   * Writes the provided record.
+   *
+   * @param record the record to write.
+   * @throws IOException if the record cannot be written.
+   * @throws IllegalArgumentException if the record is null.
+   */
+
+  public void write(GameRecord record) throws IOException, IllegalArgumentException {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    }
+    int[] moves = record.getMoves();
+    this.write(record.getRadius(), moves, moves.length, record.getResult().orElse(null),
+            record.getClockMillis().orElse(null));
+  }
+
+  /**
+   * Writes a record straight from the provided arrays, without building a
+   * {@link GameRecord}. Only the first {@code plies} entries of the arrays are written.
+   *
+   * @param radius the radius of the board.
+   * @param moves the moves of the game, as cell indices or {@link Position#PASS}.
+   * @param plies the number of plies to write.
+   * @param result the result of the game, or null if it is unknown.
+   * @param clockMillis the milliseconds each ply took, or null if they were not recorded.
+   * @throws IOException if the record cannot be written.
+   * @throws IllegalArgumentException if the radius is less than 1, the number of plies is
+   *                                  out of range of either array, or a move or time is
+   *                                  invalid.
+   */
+
+  public void write(int radius, int[] moves, int plies, GameResult result, int[] clockMillis)
+          throws IOException, IllegalArgumentException {
+    if (radius < 1 || moves == null || plies < 0 || plies > moves.length
+            || (clockMillis != null && plies > clockMillis.length)) {
+      throw new IllegalArgumentException("Invalid record.");
+    }
+    int size = sizeOf(radius) + 1 + sizeOf(plies) + (result == null ? 0 : 1);
+    for (int ply = 0; ply < plies; ply++) {
+      if (moves[ply] < Position.PASS || (clockMillis != null && clockMillis[ply] < 0)) {
+        throw new IllegalArgumentException("Invalid move or time at ply " + ply + ".");
+      }
+      size += sizeOf(moves[ply] + 1) + (clockMillis == null ? 0 : sizeOf(clockMillis[ply]));
+    }
+    this.reserve(sizeOf(size) + size);
+    putVarint(this.buffer, size);
+    putVarint(this.buffer, radius);
+    this.buffer.put((byte) ((result == null ? 0 : HAS_RESULT)
+            | (clockMillis == null ? 0 : HAS_CLOCK)));
+    putVarint(this.buffer, plies);
+    for (int ply = 0; ply < plies; ply++) {
+      putVarint(this.buffer, moves[ply] + 1);
+    }
+    if (result != null) {
+      this.buffer.put((byte) result.ordinal());
+    }
+    if (clockMillis != null) {
+      for (int ply = 0; ply < plies; ply++) {
+        putVarint(this.buffer, clockMillis[ply]);
+      }
+    }
+  }
+
+  /**
+   * Writes every buffered record to the channel.
+   *
+   * @throws IOException if the records cannot be written.
+   */
+
+  public void flush() throws IOException {
+    this.buffer.flip();
+    while (this.buffer.hasRemaining()) {
+      this.channel.write(this.buffer);
+    }
+    this.buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      this.flush();
+    } finally {
+      this.channel.close();
+    }
+  }
+
+  // Makes room for the provided number of bytes, flushing or growing the buffer as needed.
+  private void reserve(int bytes) throws IOException {
+    if (this.buffer.remaining() >= bytes) {
+      return;
+    }
+    this.flush();
+    if (this.buffer.capacity() < bytes) {
+      this.buffer = ByteBuffer.allocate(Math.max(bytes, this.buffer.capacity() * 2));
+    }
+  }
+
+  /**
+   * Calculates the number of bytes the provided non-negative value takes as a varint.
+   *
+   * @param value the value to measure.
+   * @return the number of bytes it takes, from 1 to 5.
+   */
+
+  static int sizeOf(int value) {
+    return value < 0 ? 5 : (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+  }
+
+  // Puts the provided non-negative value into the buffer as a varint.
+  static void putVarint(ByteBuffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.util.Optional;
+
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents the result of a finished game of Reversi, as stored in a {@link GameRecord}.
+ */
+
+public enum GameResult {
+
+  WHITE_WIN, BLACK_WIN, DRAW;
+
+  /**
+   * Gets the result of the provided game.
+   *
+   * @param model the game to get the result of.
+   * @return the result of the game, or an empty {@link Optional} if it is not over.
+   */
+
+  public static Optional<GameResult> of(ReadonlyReversiModel model) {
+    if (!model.isGameOver()) {
+      return Optional.empty();
+    }
+    return Optional.of(model.getWinner().map(GameResult::winFor).orElse(DRAW));
+  }
+
+  /**
+   * Gets the result in which the provided color won.
+   *
+   * @param winner the color that won.
+   * @return the result in which that color won.
+   */
+
+  public static GameResult winFor(PieceColor winner) {
+    return winner == PieceColor.WHITE ? WHITE_WIN : BLACK_WIN;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import cs3500.reversi.model.Position;
+
+/**
+ * Represents how the games in a {@link GameDatabase} that reached a position went on after
+ * one next move, counted for the player who made that move.
+ */
+
+public final class MoveStats {
+
+  private final int move;
+  private final int games;
+  private final int wins;
+  private final int draws;
+  private final int losses;
+
+  /**
+   * Constructs a new {@link MoveStats}.
+   *
+   * @param move the dense index of the move, or {@link Position#PASS}.
+   * @param games the number of games in which the move was made.
+   * @param wins the number of those games the mover won.
+   * @param draws the number of those games that were drawn.
+   * @param losses the number of those games the mover lost.
+   */
+
+  MoveStats(int move, int games, int wins, int draws, int losses) {
+    this.move = move;
+    this.games = games;
+    this.wins = wins;
+    this.draws = draws;
+    this.losses = losses;
+  }
+
+  /**
+   * Gets the move, in the orientation of the position that was queried.
+   *
+   * @return the dense index of the move, or {@link Position#PASS} for a pass.
+   */
+
+  public int getMove() {
+    return this.move;
+  }
+
+  /**
+   * Gets the number of games in which the move was made.
+   *
+   * @return the number of games.
+   */
+
+  public int getGames() {
+    return this.games;
+  }
+
+  /**
+   * Gets the number of games the player making the move went on to win.
+   *
+   * @return the number of wins.
+   */
+
+  public int getWins() {
+    return this.wins;
+  }
+
+  /**
+   * Gets the number of games that went on to be drawn.
+   *
+   * @return the number of draws.
+   */
+
+  public int getDraws() {
+    return this.draws;
+  }
+
+  /**
+   * Gets the number of games the player making the move went on to lose. Games without a
+   * recorded result are counted in none of the wins, draws and losses.
+   *
+   * @return the number of losses.
+   */
+
+  public int getLosses() {
+    return this.losses;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %s games, +%s =%s -%s", this.move == Position.PASS ? "pass"
+            : this.move, this.games, this.wins, this.draws, this.losses);
+  }
+}
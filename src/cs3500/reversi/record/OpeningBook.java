@@ -0,0 +1,150 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.Position;
+import cs3500.reversi.model.PositionKey;
+
+/**
+ * Represents the statistics of the moves played from the opening positions of many games, as
+ * written by an {@link OpeningBookBuilder}. Positions are looked up by their canonical form,
+ * so a position matches the games that reached it in any orientation of the board.
+ *
+ * <p>The book file is a header of a magic number and the number of entries, followed by four
+ * columns of that many entries: the keys as longs, the games and the points as ints, and the
+ * sums of final margins as longs. A key is the 64-bit hash of a canonical position and the
+ * player to move, with its low {@value #MOVE_BITS} bits replaced by the canonical move, so
+ * the keys are sorted and every move of a position is found by one binary search in the
+ * mapped file.
+ */
+
+public final class OpeningBook {
+
+  static final int MAGIC = 0x52564231;
+  static final int HEADER_BYTES = 2 * Integer.BYTES;
+  static final int MOVE_BITS = 12;
+  static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+  static final int PASSED = 1;
+
+  private final LongBuffer keys;
+  private final IntBuffer games;
+  private final IntBuffer points;
+  private final LongBuffer margins;
+  private final int size;
+
+  // Constructs a book over the columns of a book file in memory.
+  private OpeningBook(ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not an opening book.");
+    }
+    this.size = buffer.getInt(Integer.BYTES);
+    if (this.size < 0 || buffer.capacity() != HEADER_BYTES + 24L * this.size) {
+      throw new IOException("Truncated opening book.");
+    }
+    int at = HEADER_BYTES;
+    this.keys = buffer.position(at).slice().asLongBuffer().limit(this.size);
+    at += Long.BYTES * this.size;
+    this.games = buffer.position(at).slice().asIntBuffer().limit(this.size);
+    at += Integer.BYTES * this.size;
+    this.points = buffer.position(at).slice().asIntBuffer().limit(this.size);
+    at += Integer.BYTES * this.size;
+    this.margins = buffer.position(at).slice().asLongBuffer().limit(this.size);
+  }
+
+  /**
+   * Opens the book in the provided file, mapping it into memory.
+   *
+   * @param file the file of the book.
+   * @return the opened book.
+   * @throws IOException if the file cannot be read or is not an opening book.
+   * @throws IllegalArgumentException if the file is null.
+   */
+
+  public static OpeningBook open(Path file) throws IOException, IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Gets the number of distinct moves from distinct positions in the book.
+   *
+   * @return the number of entries.
+   */
+
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the statistics of every move played from the provided position, most played first.
+   *
+   * @param position the position to look up.
+   * @return the moves played from the position, or an empty list if it is not in the book.
+   * @throws IllegalArgumentException if the position is null.
+   */
+
+  public List<BookMove> getMoves(Position position) throws IllegalArgumentException {
+    if (position == null) {
+      throw new IllegalArgumentException("Position cannot be null.");
+    }
+    PositionKey key = position.getKey();
+    int symmetry = key.getCanonicalSymmetry();
+    long base = GameDatabase.hashOf(key.transform(symmetry), position.getPlayerColor())
+            & ~MOVE_MASK;
+    int low = 0;
+    int high = this.size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.keys.get(mid) < base) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    BoardGeometry geometry = position.getGeometry();
+    List<BookMove> moves = new ArrayList<>();
+    for (int entry = low; entry < this.size
+            && (this.keys.get(entry) & ~MOVE_MASK) == base; entry++) {
+      int code = (int) (this.keys.get(entry) & MOVE_MASK);
+      if (code != PASSED && code - 2 >= geometry.size()) {
+        continue;
+      }
+      int move = code == PASSED ? Position.PASS : geometry.getSymmetrySource(code - 2, symmetry);
+      moves.add(new BookMove(move, this.games.get(entry), this.points.get(entry),
+              this.margins.get(entry)));
+    }
+    moves.sort(Comparator.comparingInt(BookMove::getGames).reversed()
+            .thenComparingInt(BookMove::getMove));
+    return moves;
+  }
+}
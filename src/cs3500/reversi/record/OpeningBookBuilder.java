@@ -0,0 +1,297 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.Position;
+import cs3500.reversi.model.PositionKey;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Builds an {@link OpeningBook} from recorded games. Games are buffered in chunks, and each
+ * chunk is replayed on {@link Position}s by a fork-join pool, whose tasks each count the moves
+ * of their share of the games in a primitive hash table and merge their tables as they join.
+ * Every chunk's table is merged into one table for the whole book, so memory grows with the
+ * number of distinct opening moves rather than the number of games.
+ *
+ * <p>Only the first plies of each game, up to the depth of the builder, are counted, and
+ * games that did not finish are skipped, since their final margins are unknown. Games whose
+ * moves are not legal are skipped as well, without affecting the games buffered with them,
+ * and are counted by {@link #getRejectedCount()}.
+ */
+
+public final class OpeningBookBuilder {
+
+  /**
+   * The number of plies of each game that are counted by default.
+   */
+
+  public static final int DEFAULT_DEPTH = 20;
+
+  private static final int CHUNK = 1 << 12;
+  private static final int GAMES_PER_TASK = 64;
+
+  private final int depth;
+  private final ForkJoinPool pool;
+  private final Map<Integer, Position> starts;
+  private final StatsTable table;
+  private final int[] radii;
+  private final int[][] moves;
+  private int buffered;
+  private int games;
+  private int rejected;
+
+  /**
+   * Constructs a new {@link OpeningBookBuilder} that counts the first
+   * {@link #DEFAULT_DEPTH} plies of each game on the common fork-join pool.
+   */
+
+  public OpeningBookBuilder() {
+    this(DEFAULT_DEPTH, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new {@link OpeningBookBuilder}.
+   *
+   * @param depth the number of plies of each game to count.
+   * @param pool the pool to replay games on.
+   * @throws IllegalArgumentException if the depth is negative or the pool is null.
+   */
+
+  public OpeningBookBuilder(int depth, ForkJoinPool pool) throws IllegalArgumentException {
+    if (depth < 0 || pool == null) {
+      throw new IllegalArgumentException("Depth must be non-negative and pool non-null.");
+    }
+    this.depth = depth;
+    this.pool = pool;
+    this.starts = new ConcurrentHashMap<>();
+    this.table = new StatsTable();
+    this.radii = new int[CHUNK];
+    this.moves = new int[CHUNK][];
+  }
+
+  /**
+   * Adds the provided game to the book.
+   *
+   * @param record the game to add.
+   * @throws IllegalArgumentException if the record is null or its board is too large.
+   */
+
+  public void add(GameRecord record) throws IllegalArgumentException {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    }
+    this.buffer(record.getRadius(), record.getMoves());
+  }
+
+  /**
+   * Adds every remaining game of the provided reader to the book.
+   *
+   * @param reader the reader to stream games from.
+   * @throws IOException if the games cannot be read.
+   * @throws IllegalArgumentException if the reader is null or a game's board is too large.
+   */
+
+  public void addAll(GameRecordReader reader) throws IOException, IllegalArgumentException {
+    if (reader == null) {
+      throw new IllegalArgumentException("Reader cannot be null.");
+    }
+    while (reader.next()) {
+      int[] game = new int[reader.getMoveCount()];
+      for (int ply = 0; ply < game.length; ply++) {
+        game[ply] = reader.getMove(ply);
+      }
+      this.buffer(reader.getRadius(), game);
+    }
+  }
+
+  /**
+   * Gets the number of finished games counted so far.
+   *
+   * @return the number of games in the book.
+   */
+
+  public int getGameCount() {
+    this.drain();
+    return this.games;
+  }
+
+  /**
+   * Gets the number of games skipped so far because their moves are not a legal game.
+   *
+   * @return the number of rejected games.
+   */
+
+  public int getRejectedCount() {
+    this.drain();
+    return this.rejected;
+  }
+
+  /**
+   * Writes the book to the provided file, replacing it if it exists.
+   *
+   * @param file the file to write the book to.
+   * @throws IOException if the book cannot be written.
+   * @throws IllegalArgumentException if the file is null.
+   */
+
+  public void write(Path file) throws IOException, IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    this.drain();
+    long[] keys = this.table.sortedKeys();
+    ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + 24 * keys.length);
+    buffer.putInt(OpeningBook.MAGIC).putInt(keys.length);
+    for (long key : keys) {
+      buffer.putLong(key);
+    }
+    for (long key : keys) {
+      buffer.putInt(this.table.getGames(key));
+    }
+    for (long key : keys) {
+      buffer.putInt(this.table.getPoints(key));
+    }
+    for (long key : keys) {
+      buffer.putLong(this.table.getMargin(key));
+    }
+    buffer.flip();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  // Buffers a game, counting the whole chunk once it is full.
+  private void buffer(int radius, int[] game) {
+    if (3 * radius * (radius + 1) + 2 > OpeningBook.MOVE_MASK) {
+      throw new IllegalArgumentException("The board of radius " + radius + " is too large.");
+    }
+    this.radii[this.buffered] = radius;
+    this.moves[this.buffered++] = game;
+    if (this.buffered == CHUNK) {
+      this.drain();
+    }
+  }
+
+  // Counts every buffered game and merges the counts into the book.
+  private void drain() {
+    if (this.buffered == 0) {
+      return;
+    }
+    int count = this.buffered;
+    Tally tally = this.pool.invoke(new Tally(0, count));
+    this.buffered = 0;
+    Arrays.fill(this.moves, 0, count, null);
+    this.table.addAll(tally.table);
+    this.games += tally.games;
+    this.rejected += tally.rejected;
+  }
+
+  /**
+   * Counts the moves of a range of the buffered games, splitting the range in half until it
+   * is small enough to count directly.
+   */
+
+  private final class Tally extends RecursiveTask<Tally> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private StatsTable table;
+    private int games;
+    private int rejected;
+
+    // Constructs a task that counts the buffered games from one index to another.
+    private Tally(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Tally compute() {
+      if (this.to - this.from <= GAMES_PER_TASK) {
+        this.table = new StatsTable();
+        for (int game = this.from; game < this.to; game++) {
+          this.count(radii[game], moves[game]);
+        }
+        return this;
+      }
+      int mid = (this.from + this.to) >>> 1;
+      Tally right = new Tally(mid, this.to);
+      right.fork();
+      Tally left = new Tally(this.from, mid).compute();
+      right = right.join();
+      Tally larger = left.table.size() >= right.table.size() ? left : right;
+      larger.table.addAll(larger == left ? right.table : left.table);
+      this.table = larger.table;
+      this.games = left.games + right.games;
+      this.rejected = left.rejected + right.rejected;
+      return this;
+    }
+
+    // Replays one game to its end, then counts its opening moves with its final margin, or
+    // rejects the game if its moves are not legal.
+    private void count(int radius, int[] game) {
+      Position position = starts.computeIfAbsent(radius,
+          r -> new HexagonalReversi(2 * r + 1).getPosition());
+      int plies = Math.min(depth, game.length);
+      long[] keys = new long[plies];
+      boolean[] white = new boolean[plies];
+      try {
+        for (int ply = 0; ply < game.length; ply++) {
+          int move = game[ply];
+          if (ply < plies) {
+            PositionKey key = position.getKey();
+            int symmetry = key.getCanonicalSymmetry();
+            white[ply] = position.getPlayerColor() == PieceColor.WHITE;
+            keys[ply] = (GameDatabase.hashOf(key.transform(symmetry), position.getPlayerColor())
+                    & ~OpeningBook.MOVE_MASK) | (move == Position.PASS ? OpeningBook.PASSED
+                    : position.getGeometry().getSymmetric(move, symmetry) + 2);
+          }
+          position = move == Position.PASS ? position.pass() : position.play(move);
+        }
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        this.rejected++;
+        return;
+      }
+      if (!position.isGameOver()) {
+        return;
+      }
+      int margin = position.getScore(PieceColor.WHITE) - position.getScore(PieceColor.BLACK);
+      for (int ply = 0; ply < plies; ply++) {
+        int mine = white[ply] ? margin : -margin;
+        this.table.add(keys[ply], 1, Integer.signum(mine) + 1, mine);
+      }
+      this.games++;
+    }
+  }
+}
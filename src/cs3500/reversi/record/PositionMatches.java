@@ -0,0 +1,86 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.util.List;
+
+/**
+ * Represents the games in a {@link GameDatabase} that reached a position, in any orientation
+ * of the board, and how they went on from it.
+ */
+
+public final class PositionMatches {
+
+  private final int[] games;
+  private final int[] plies;
+  private final List<MoveStats> moves;
+
+  /**
+   * Constructs a new {@link PositionMatches}.
+   *
+   * @param games the ids of the matching games, in increasing order.
+   * @param plies the ply at which each game reached the position.
+   * @param moves the statistics of each next move, most played first.
+   */
+
+  PositionMatches(int[] games, int[] plies, List<MoveStats> moves) {
+    this.games = games;
+    this.plies = plies;
+    this.moves = List.copyOf(moves);
+  }
+
+  /**
+   * Gets the number of games that reached the position.
+   *
+   * @return the number of matching games.
+   */
+
+  public int getGameCount() {
+    return this.games.length;
+  }
+
+  /**
+   * Gets the ids of the games that reached the position.
+   *
+   * @return a copy of the ids, in increasing order.
+   */
+
+  public int[] getGames() {
+    return this.games.clone();
+  }
+
+  /**
+   * Gets the number of plies each matching game had played when it reached the position.
+   *
+   * @return a copy of the plies, in the same order as {@link #getGames()}.
+   */
+
+  public int[] getPlies() {
+    return this.plies.clone();
+  }
+
+  /**
+   * Gets the statistics of every move made from the position, most played first. Games that
+   * ended at the position have no next move and appear in none of them.
+   *
+   * @return the statistics of each next move.
+   */
+
+  public List<MoveStats> getMoves() {
+    return this.moves;
+  }
+}
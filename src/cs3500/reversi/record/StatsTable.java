@@ -0,0 +1,180 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.record;
+
+import java.util.Arrays;
+
+/**
+ * Represents a hash table from non-zero long keys to the statistics of a move: the number of
+ * games it was played in, the points its player scored in them (two for a win, one for a
+ * draw) and the sum of their final margins. Keys are stored in open-addressed primitive
+ * arrays, so adding the statistics of a game allocates nothing, and tables built from
+ * separate games can be merged.
+ */
+
+final class StatsTable {
+
+  private long[] keys;
+  private int[] games;
+  private int[] points;
+  private long[] margins;
+  private int size;
+
+  /**
+   * Constructs an empty {@link StatsTable}.
+   */
+
+  StatsTable() {
+    this.allocate(64);
+  }
+
+  /**
+   * Adds statistics to the provided key.
+   *
+   * @param key the non-zero key to add to.
+   * @param games the number of games to add.
+   * @param points the points to add.
+   * @param margin the sum of final margins to add.
+   */
+
+  void add(long key, int games, int points, long margin) {
+    int slot = this.slotOf(key);
+    if (this.keys[slot] == 0) {
+      if (2 * (this.size + 1) > this.keys.length) {
+        this.grow();
+        slot = this.slotOf(key);
+      }
+      this.keys[slot] = key;
+      this.size++;
+    }
+    this.games[slot] += games;
+    this.points[slot] += points;
+    this.margins[slot] += margin;
+  }
+
+  /**
+   * Adds every entry of the provided table to this table.
+   *
+   * @param other the table to add.
+   */
+
+  void addAll(StatsTable other) {
+    for (int slot = 0; slot < other.keys.length; slot++) {
+      if (other.keys[slot] != 0) {
+        this.add(other.keys[slot], other.games[slot], other.points[slot],
+                other.margins[slot]);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of keys in this table.
+   *
+   * @return the number of keys.
+   */
+
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets every key in this table, in increasing order.
+   *
+   * @return the sorted keys.
+   */
+
+  long[] sortedKeys() {
+    long[] sorted = new long[this.size];
+    int next = 0;
+    for (long key : this.keys) {
+      if (key != 0) {
+        sorted[next++] = key;
+      }
+    }
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  /**
+   * Gets the number of games of a key in this table.
+   *
+   * @param key the key.
+   * @return the number of games, or 0 if the key is not in the table.
+   */
+
+  int getGames(long key) {
+    return this.games[this.slotOf(key)];
+  }
+
+  /**
+   * Gets the points of a key in this table.
+   *
+   * @param key the key.
+   * @return the points, or 0 if the key is not in the table.
+   */
+
+  int getPoints(long key) {
+    return this.points[this.slotOf(key)];
+  }
+
+  /**
+   * Gets the sum of the final margins of a key in this table.
+   *
+   * @param key the key.
+   * @return the sum of the margins, or 0 if the key is not in the table.
+   */
+
+  long getMargin(long key) {
+    return this.margins[this.slotOf(key)];
+  }
+
+  // Finds the slot holding the key, or the empty slot where it belongs.
+  private int slotOf(long key) {
+    int mask = this.keys.length - 1;
+    int slot = (int) ((key ^ (key >>> 29)) * 0x9E3779B97F4A7C15L >>> 32) & mask;
+    while (this.keys[slot] != 0 && this.keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  // Doubles the number of slots and reinserts every entry.
+  private void grow() {
+    long[] oldKeys = this.keys;
+    int[] oldGames = this.games;
+    int[] oldPoints = this.points;
+    long[] oldMargins = this.margins;
+    this.allocate(oldKeys.length * 2);
+    for (int slot = 0; slot < oldKeys.length; slot++) {
+      if (oldKeys[slot] != 0) {
+        int to = this.slotOf(oldKeys[slot]);
+        this.keys[to] = oldKeys[slot];
+        this.games[to] = oldGames[slot];
+        this.points[to] = oldPoints[slot];
+        this.margins[to] = oldMargins[slot];
+      }
+    }
+  }
+
+  // Replaces the arrays with empty ones of the provided power-of-two length.
+  private void allocate(int slots) {
+    this.keys = new long[slots];
+    this.games = new int[slots];
+    this.points = new int[slots];
+    this.margins = new long[slots];
+  }
+}
@@ -0,0 +1,233 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs3500.reversi.player.AIDifficulty;
+
+/**
+ * Represents one client connected to a {@link GameServer}. The connection reads the client's
+ * commands on its own thread and hands each one to the game it names, and any game can send
+ * lines back to the client, one whole line at a time. Sending only queues the line: the
+ * connection writes its queue on a second thread of its own, so a client that stops reading
+ * never blocks the game that sent it a line. A client that falls {@link #OUTBOX_LINES} lines
+ * behind is disconnected.
+ */
+
+final class Connection implements Runnable, Closeable {
+
+  /**
+   * The number of lines that may wait to be written to a client before it is disconnected.
+   */
+
+  static final int OUTBOX_LINES = 4096;
+
+  // Queued once the connection is hanging up; no game ever sends an empty line.
+  private static final String HANG_UP = "";
+
+  private final Socket socket;
+  private final GameServer server;
+  private final Writer out;
+  private final BlockingQueue<String> outbox;
+  private final Set<HostedGame> games;
+
+  /**
+   * Constructs a new {@link Connection}.
+   *
+   * @param socket the socket connected to the client.
+   * @param server the server the client connected to.
+   * @throws IOException if the socket's output cannot be opened.
+   */
+
+  Connection(Socket socket, GameServer server) throws IOException {
+    this.socket = socket;
+    this.server = server;
+    this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+            StandardCharsets.UTF_8));
+    this.outbox = new ArrayBlockingQueue<>(OUTBOX_LINES);
+    this.games = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Reads the client's commands until it quits or goes away. Once the client quits, the
+   * lines already sent to it are still written before the connection is closed.
+   */
+
+  @Override
+  public void run() {
+    try {
+      BufferedReader in = new BufferedReader(new InputStreamReader(
+              this.socket.getInputStream(), StandardCharsets.UTF_8));
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (!this.handle(line.trim())) {
+          break;
+        }
+      }
+      this.hangUp();
+    } catch (IOException e) {
+      // the client went away; its games are abandoned
+      this.close();
+    }
+  }
+
+  /**
+   * Writes the lines sent to the client, in the order they were sent, until the connection
+   * hangs up or the client goes away. Lines are flushed whenever no more are waiting.
+   */
+
+  void write() {
+    try {
+      String line;
+      while (!(line = this.outbox.take()).equals(HANG_UP)) {
+        this.out.write(line);
+        this.out.write('\n');
+        if (this.outbox.isEmpty()) {
+          this.out.flush();
+        }
+      }
+      this.out.flush();
+    } catch (IOException e) {
+      // the client went away; reading fails too once the socket is closed
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      this.closeSocket();
+    }
+  }
+
+  /**
+   * Sends a line to the client without waiting for it to be written. Lines sent from several
+   * games at once are never interleaved, and a client that is too far behind to queue the
+   * line is disconnected.
+   *
+   * @param line the line to send.
+   */
+
+  void send(String line) {
+    if (!this.outbox.offer(line)) {
+      this.closeSocket();
+    }
+  }
+
+  /**
+   * Stops tracking a game that has ended.
+   *
+   * @param game the game that ended.
+   */
+
+  void forget(HostedGame game) {
+    this.games.remove(game);
+  }
+
+  /**
+   * Closes the connection at once, without writing the lines still waiting, and abandons
+   * its games.
+   */
+
+  @Override
+  public void close() {
+    this.closeSocket();
+    this.hangUp();
+  }
+
+  // Handles one command, returning false once the client quits.
+  private boolean handle(String line) {
+    String[] words = line.split("\\s+");
+    try {
+      switch (words[0].toUpperCase(Locale.ROOT)) {
+        case "NEW":
+          this.checkArgs(words, 2, 3);
+          AIDifficulty difficulty = words.length == 3
+                  ? AIDifficulty.valueOf(words[2].toUpperCase(Locale.ROOT)) : null;
+          HostedGame created = this.server.create(Integer.parseInt(words[1]), difficulty);
+          this.games.add(created);
+          created.create(this);
+          break;
+        case "JOIN":
+          this.checkArgs(words, 2, 2);
+          HostedGame joined = this.server.find(Long.parseLong(words[1]));
+          this.games.add(joined);
+          joined.join(this);
+          break;
+        case "MOVE":
+          this.checkArgs(words, 4, 4);
+          this.server.find(Long.parseLong(words[1])).move(this, Integer.parseInt(words[2]),
+                  Integer.parseInt(words[3]));
+          break;
+        case "PASS":
+          this.checkArgs(words, 2, 2);
+          this.server.find(Long.parseLong(words[1])).pass(this);
+          break;
+        case "BOARD":
+          this.checkArgs(words, 2, 2);
+          this.server.find(Long.parseLong(words[1])).board(this);
+          break;
+        case "QUIT":
+          this.send("BYE");
+          return false;
+        default:
+          this.send("ERROR Unknown command " + words[0] + ".");
+      }
+    } catch (IllegalArgumentException e) {
+      this.send("ERROR " + e.getMessage());
+    }
+    return true;
+  }
+
+  // Throws if a command has too few or too many words.
+  private void checkArgs(String[] words, int min, int max) {
+    if (words.length < min || words.length > max) {
+      throw new IllegalArgumentException("Wrong number of arguments to " + words[0] + ".");
+    }
+  }
+
+  // Abandons the connection's games and lets the writer close the socket once it is done.
+  private void hangUp() {
+    for (HostedGame game : this.games) {
+      game.leave(this);
+    }
+    this.games.clear();
+    this.server.disconnected(this);
+    if (!this.outbox.offer(HANG_UP)) {
+      this.closeSocket();
+    }
+  }
+
+  // Closes the socket, which also ends the reading and writing threads.
+  private void closeSocket() {
+    try {
+      this.socket.close();
+    } catch (IOException e) {
+      // already closed
+    }
+  }
+}
@@ -0,0 +1,243 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import cs3500.reversi.player.AIDifficulty;
+import cs3500.reversi.player.AIPlayer;
+
+/**
+ * Hosts games of Reversi for clients connected over TCP on the loopback interface, without
+ * any views. Clients send one command per line and the server answers with lines of its
+ * own, each naming the game it is about:
+ *
+ * <ul>
+ *   <li>{@code NEW <rows> [<difficulty>]} creates a game, seating the client as white. With
+ *   a difficulty (one of {@link AIDifficulty}), the server plays black; otherwise black is
+ *   free for another client to join. Answered by {@code GAME <id> WHITE}.</li>
+ *   <li>{@code JOIN <id>} takes the free seat of a game. Answered by
+ *   {@code GAME <id> BLACK}.</li>
+ *   <li>{@code MOVE <id> <row> <col>} and {@code PASS <id>} play for the client's seat.
+ *   Every player of the game is sent {@code MOVED <id> <color> <row> <col>} or
+ *   {@code PASSED <id> <color>}.</li>
+ *   <li>{@code BOARD <id>} is answered by {@code BOARD <id> <color> <cells>}: the color to
+ *   move and the state of every cell in dense order.</li>
+ *   <li>{@code QUIT} is answered by {@code BYE}, and the connection is closed.</li>
+ * </ul>
+ *
+ * <p>Whenever the turn changes, every player of the game is sent {@code TURN <id> <color>},
+ * and once it ends, {@code OVER <id> <result>}, where the result is a
+ * {@link cs3500.reversi.record.GameResult} or {@code ABANDONED} if a player disconnected or
+ * the server's AI could not play, in which case the players are first sent an {@code ERROR}.
+ * A request that cannot be carried out is answered by {@code ERROR <message>}.
+ *
+ * <p>Each connection reads its commands and writes its lines on two threads of its own from a
+ * cached pool, so a client that stops reading only ever holds up itself. Each game is
+ * owned by a serial queue on a shared pool of game threads, so a game's model is only ever
+ * touched by one thread at a time without a thread per game, and AI players search on a
+ * separate shared pool of workers so searches never delay other games' moves.
+ */
+
+public final class GameServer implements Closeable {
+
+  private final ServerSocket socket;
+  private final ExecutorService connections;
+  private final ExecutorService games;
+  private final ExecutorService workers;
+  private final Map<Long, HostedGame> hosted;
+  private final Set<Connection> open;
+  private final AtomicLong nextId;
+  private final Thread acceptor;
+
+  /**
+   * Starts a server on the provided port with one game thread and one worker per available
+   * processor.
+   *
+   * @param port the port to listen on, or 0 for any free port.
+   * @throws IOException if the port cannot be listened on.
+   */
+
+  public GameServer(int port) throws IOException {
+    this(port, Runtime.getRuntime().availableProcessors(),
+            Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Starts a server on the provided port.
+   *
+   * @param port the port to listen on, or 0 for any free port.
+   * @param gameThreads the number of threads that games apply moves on.
+   * @param workerThreads the number of threads that AI players search on.
+   * @throws IOException if the port cannot be listened on.
+   * @throws IllegalArgumentException if either number of threads is not positive.
+   */
+
+  public GameServer(int port, int gameThreads, int workerThreads)
+          throws IOException, IllegalArgumentException {
+    if (gameThreads < 1 || workerThreads < 1) {
+      throw new IllegalArgumentException("There must be at least one thread of each kind.");
+    }
+    this.socket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+    this.connections = Executors.newCachedThreadPool(daemons("reversi-connection-"));
+    this.games = Executors.newFixedThreadPool(gameThreads, daemons("reversi-game-"));
+    this.workers = Executors.newFixedThreadPool(workerThreads, daemons("reversi-worker-"));
+    this.hosted = new ConcurrentHashMap<>();
+    this.open = ConcurrentHashMap.newKeySet();
+    this.nextId = new AtomicLong();
+    this.acceptor = new Thread(this::accept, "reversi-accept");
+    this.acceptor.setDaemon(true);
+    this.acceptor.start();
+  }
+
+  /**
+   * Gets the port the server is listening on.
+   *
+   * @return the port.
+   */
+
+  public int getPort() {
+    return this.socket.getLocalPort();
+  }
+
+  /**
+   * Gets the number of games being played.
+   *
+   * @return the number of hosted games.
+   */
+
+  public int getGameCount() {
+    return this.hosted.size();
+  }
+
+  /**
+   * Gets the number of clients connected.
+   *
+   * @return the number of open connections.
+   */
+
+  public int getConnectionCount() {
+    return this.open.size();
+  }
+
+  /**
+   * Stops accepting clients, disconnects every client and stops every thread.
+   *
+   * @throws IOException if the server socket cannot be closed.
+   */
+
+  @Override
+  public void close() throws IOException {
+    this.socket.close();
+    for (Connection connection : this.open) {
+      connection.close();
+    }
+    this.connections.shutdown();
+    this.games.shutdown();
+    this.workers.shutdown();
+  }
+
+  /**
+   * Creates a new game.
+   *
+   * @param rows the number of rows of its board.
+   * @param difficulty the difficulty of the AI playing black, or null if a client will.
+   * @return the new game.
+   * @throws IllegalArgumentException if the number of rows is invalid.
+   */
+
+  HostedGame create(int rows, AIDifficulty difficulty) throws IllegalArgumentException {
+    HostedGame game = new HostedGame(this.nextId.incrementAndGet(), this, rows, this.games,
+            this.workers, difficulty == null ? null : AIPlayer.strategyFor(difficulty));
+    this.hosted.put(game.getId(), game);
+    return game;
+  }
+
+  /**
+   * Finds a game being played.
+   *
+   * @param id the id of the game.
+   * @return the game.
+   * @throws IllegalArgumentException if no game with the provided id is being played.
+   */
+
+  HostedGame find(long id) throws IllegalArgumentException {
+    HostedGame game = this.hosted.get(id);
+    if (game == null) {
+      throw new IllegalArgumentException("There is no game " + id + ".");
+    }
+    return game;
+  }
+
+  /**
+   * Stops hosting a game that has ended.
+   *
+   * @param game the game that ended.
+   */
+
+  void remove(HostedGame game) {
+    this.hosted.remove(game.getId());
+  }
+
+  /**
+   * Stops tracking a connection that has closed.
+   *
+   * @param connection the connection that closed.
+   */
+
+  void disconnected(Connection connection) {
+    this.open.remove(connection);
+  }
+
+  // Accepts clients until the server socket is closed.
+  private void accept() {
+    while (!this.socket.isClosed()) {
+      try {
+        Socket client = this.socket.accept();
+        client.setTcpNoDelay(true);
+        Connection connection = new Connection(client, this);
+        this.open.add(connection);
+        this.connections.execute(connection);
+        this.connections.execute(connection::write);
+      } catch (IOException e) {
+        // the server socket was closed, or one client failed to connect
+      }
+    }
+  }
+
+  // Creates a factory of daemon threads named with the provided prefix and a counter.
+  private static ThreadFactory daemons(String prefix) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
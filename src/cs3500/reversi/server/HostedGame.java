@@ -0,0 +1,298 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.server;
+
+import java.awt.Point;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.GameResult;
+import cs3500.reversi.strategy.MoveContext;
+import cs3500.reversi.strategy.RankedMove;
+import cs3500.reversi.strategy.RankingStrategy;
+import cs3500.reversi.strategy.ReversiStrategy;
+
+/**
+ * Represents one game hosted by a {@link GameServer}, with the connections seated at it and
+ * the strategy of its AI, if it has one. The game owns its model: every request is queued on
+ * the game's own {@link SerialExecutor}, so only one thread touches the model at a time, and
+ * the AI searches a copy of the model on the server's shared workers before queueing its
+ * move like any other player.
+ */
+
+final class HostedGame {
+
+  private final long id;
+  private final GameServer server;
+  private final ReversiModel model;
+  private final Executor owner;
+  private final Executor workers;
+  private final PieceColor aiColor;
+  private final ReversiStrategy strategy;
+  private final Map<PieceColor, Connection> seats;
+  private boolean over;
+
+  /**
+   * Constructs a new {@link HostedGame}.
+   *
+   * @param id the id of the game.
+   * @param server the server hosting the game.
+   * @param rows the number of rows of the board.
+   * @param owner the executor that the game's requests are queued on.
+   * @param workers the executor that the AI searches on.
+   * @param strategy the strategy of the AI, which plays black, or null if both players are
+   *                 connections.
+   * @throws IllegalArgumentException if the number of rows is invalid.
+   */
+
+  HostedGame(long id, GameServer server, int rows, Executor owner, Executor workers,
+             ReversiStrategy strategy) throws IllegalArgumentException {
+    this.id = id;
+    this.server = server;
+    this.model = new HexagonalReversi(rows);
+    this.owner = new SerialExecutor(owner);
+    this.workers = workers;
+    this.strategy = strategy;
+    this.aiColor = strategy == null ? null : PieceColor.BLACK;
+    this.seats = new EnumMap<>(PieceColor.class);
+  }
+
+  /**
+   * Gets the id of this game.
+   *
+   * @return the id of the game.
+   */
+
+  long getId() {
+    return this.id;
+  }
+
+  /**
+   * Seats the connection that created this game as white, and starts the game if the other
+   * seat is taken by the AI.
+   *
+   * @param connection the connection that created the game.
+   */
+
+  void create(Connection connection) {
+    this.owner.execute(() -> {
+      this.seats.put(PieceColor.WHITE, connection);
+      connection.send("GAME " + this.id + " " + PieceColor.WHITE.name());
+      if (this.aiColor != null) {
+        this.advance();
+      }
+    });
+  }
+
+  /**
+   * Seats the provided connection as black, if that seat is free, and starts the game.
+   *
+   * @param connection the connection joining the game.
+   */
+
+  void join(Connection connection) {
+    this.owner.execute(() -> {
+      if (this.over || this.aiColor != null || this.seats.containsKey(PieceColor.BLACK)) {
+        connection.send("ERROR Game " + this.id + " has no free seat.");
+        return;
+      }
+      this.seats.put(PieceColor.BLACK, connection);
+      connection.send("GAME " + this.id + " " + PieceColor.BLACK.name());
+      this.advance();
+    });
+  }
+
+  /**
+   * Plays a move for the player the provided connection is seated as.
+   *
+   * @param connection the connection making the move.
+   * @param row the row of the move.
+   * @param col the column of the move.
+   */
+
+  void move(Connection connection, int row, int col) {
+    this.owner.execute(() -> {
+      PieceColor color = this.seatOf(connection);
+      if (color == null) {
+        return;
+      }
+      try {
+        this.model.playMove(row, col, color);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        connection.send("ERROR " + e.getMessage());
+        return;
+      }
+      this.broadcast("MOVED " + this.id + " " + color.name() + " " + row + " " + col);
+      this.advance();
+    });
+  }
+
+  /**
+   * Passes for the player the provided connection is seated as.
+   *
+   * @param connection the connection passing.
+   */
+
+  void pass(Connection connection) {
+    this.owner.execute(() -> {
+      PieceColor color = this.seatOf(connection);
+      if (color == null) {
+        return;
+      }
+      try {
+        this.model.pass(color);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        connection.send("ERROR " + e.getMessage());
+        return;
+      }
+      this.broadcast("PASSED " + this.id + " " + color.name());
+      this.advance();
+    });
+  }
+
+  /**
+   * Sends the board of this game to the provided connection, as the color to move and the
+   * states of the cells in dense order.
+   *
+   * @param connection the connection asking for the board.
+   */
+
+  void board(Connection connection) {
+    this.owner.execute(() -> {
+      BoardGeometry geometry = BoardGeometry.of(this.model.getRadius());
+      StringBuilder cells = new StringBuilder();
+      for (int index = 0; index < geometry.size(); index++) {
+        cells.append(this.model.getStateOf(geometry.getRow(index), geometry.getCol(index)));
+      }
+      connection.send("BOARD " + this.id + " " + this.model.getPlayerColor().name() + " "
+              + cells);
+    });
+  }
+
+  /**
+   * Ends this game because the provided connection left it, telling any other player.
+   *
+   * @param connection the connection that left.
+   */
+
+  void leave(Connection connection) {
+    this.owner.execute(() -> {
+      if (!this.over && this.seats.containsValue(connection)) {
+        this.seats.values().remove(connection);
+        this.finish("ABANDONED");
+      }
+    });
+  }
+
+  // Gets the seat of a connection, telling it if it is not seated at this game.
+  private PieceColor seatOf(Connection connection) {
+    for (Map.Entry<PieceColor, Connection> seat : this.seats.entrySet()) {
+      if (seat.getValue() == connection) {
+        return seat.getKey();
+      }
+    }
+    connection.send("ERROR You are not playing game " + this.id + ".");
+    return null;
+  }
+
+  // Announces the next turn, or the result if the game is over, and starts the AI's search.
+  private void advance() {
+    if (this.model.isGameOver()) {
+      this.finish(GameResult.of(this.model).map(GameResult::name).orElseThrow());
+      return;
+    }
+    PieceColor color = this.model.getPlayerColor();
+    this.broadcast("TURN " + this.id + " " + color.name());
+    if (color == this.aiColor) {
+      ReversiModel copy = this.model.getModelCopy();
+      this.workers.execute(() -> {
+        try {
+          Optional<Point> move = this.chooseAi(copy, color);
+          this.owner.execute(() -> this.playAi(color, move));
+        } catch (RuntimeException e) {
+          this.owner.execute(() -> this.abandon(e));
+        }
+      });
+    }
+  }
+
+  // Chooses the AI's move. A ranking strategy is asked for its ranking rather than its move,
+  // since choosing a move also prints it, which thousands of games must not all do at once.
+  private Optional<Point> chooseAi(ReversiModel copy, PieceColor color) {
+    if (this.strategy instanceof RankingStrategy) {
+      return ((RankingStrategy) this.strategy).rankMoves(MoveContext.of(copy, color)).stream()
+              .findFirst().map(RankedMove::getPoint);
+    }
+    return this.strategy.chooseMove(copy, color);
+  }
+
+  // Plays the move the AI chose, or passes if it found none.
+  private void playAi(PieceColor color, Optional<Point> move) {
+    if (this.over) {
+      return;
+    }
+    try {
+      if (move.isPresent()) {
+        this.model.playMove(move.get().x, move.get().y, color);
+      } else {
+        this.model.pass(color);
+      }
+    } catch (RuntimeException e) {
+      this.abandon(e);
+      return;
+    }
+    if (move.isPresent()) {
+      this.broadcast("MOVED " + this.id + " " + color.name() + " " + move.get().x + " "
+              + move.get().y);
+    } else {
+      this.broadcast("PASSED " + this.id + " " + color.name());
+    }
+    this.advance();
+  }
+
+  // Ends the game because the AI could not play, telling every player why.
+  private void abandon(RuntimeException e) {
+    if (this.over) {
+      return;
+    }
+    this.broadcast("ERROR The AI of game " + this.id + " failed: " + e.getMessage());
+    this.finish("ABANDONED");
+  }
+
+  // Ends the game with the provided outcome and stops hosting it.
+  private void finish(String outcome) {
+    this.over = true;
+    this.server.remove(this);
+    this.broadcast("OVER " + this.id + " " + outcome);
+    for (Connection connection : this.seats.values()) {
+      connection.forget(this);
+    }
+  }
+
+  // Sends a line to every connection seated at the game.
+  private void broadcast(String line) {
+    for (Connection connection : this.seats.values()) {
+      connection.send(line);
+    }
+  }
+}
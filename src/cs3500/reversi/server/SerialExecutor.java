@@ -0,0 +1,72 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks one at a time, in the order they were submitted, on a shared executor. Many
+ * serial executors can share one pool, so each game can own a queue of its own without
+ * owning a thread, and no two tasks of the same game ever run at once.
+ */
+
+final class SerialExecutor implements Executor {
+
+  private final Executor executor;
+  private final Queue<Runnable> tasks;
+  private final AtomicBoolean draining;
+  private final Runnable drain;
+
+  /**
+   * Constructs a new {@link SerialExecutor} that runs its tasks on the provided executor.
+   *
+   * @param executor the executor to run tasks on.
+   */
+
+  SerialExecutor(Executor executor) {
+    this.executor = executor;
+    this.tasks = new ConcurrentLinkedQueue<>();
+    this.draining = new AtomicBoolean();
+    this.drain = this::drain;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    this.tasks.add(task);
+    if (this.draining.compareAndSet(false, true)) {
+      this.executor.execute(this.drain);
+    }
+  }
+
+  // Runs queued tasks until the queue is empty, then hands the queue back.
+  private void drain() {
+    try {
+      Runnable task;
+      while ((task = this.tasks.poll()) != null) {
+        task.run();
+      }
+    } finally {
+      this.draining.set(false);
+      if (!this.tasks.isEmpty() && this.draining.compareAndSet(false, true)) {
+        this.executor.execute(this.drain);
+      }
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a strategy that chooses its move without blocking the caller. The search runs
+ * elsewhere and its result is delivered through a {@link CompletableFuture}. Cancelling the
+ * future stops the search, and the provided {@link Deadline} limits how long it may run. While
+ * the search runs, every improvement of its best move is streamed to the caller, so the caller
+ * always has the best move found so far.
+ *
+ * @see ReversiStrategy
+ * @see TimedReversiStrategy
+ */
+
+public interface AsyncReversiStrategy {
+
+  /**
+   * Starts choosing a move for the given player based on the game state of the provided model.
+   * The model is only read before this method returns, so the caller may change it afterwards.
+   *
+   * @param model the model to choose a move from.
+   * @param pieceColor the player to choose a move for.
+   * @param deadline the time limit for choosing the move.
+   * @param onImprovement notified, from the searching thread, each time the best move found
+   *                      so far improves.
+   * @return a future that completes with the chosen move, or with an empty {@link Optional} if
+   *         no move could be chosen.
+   */
+
+  CompletableFuture<Optional<Point>> chooseMoveAsync(ReadonlyReversiModel model,
+                                                     PieceColor pieceColor, Deadline deadline,
+                                                     Consumer<Point> onImprovement);
+
+}
@@ -19,43 +19,62 @@ package cs3500.reversi.strategy;
 
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.BoardGeometry;
 import cs3500.reversi.model.ReadonlyReversiModel;
-import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.CellClass;
 import cs3500.reversi.model.types.PieceColor;
 
 /**
  * Represents a strategy that avoids choosing moves next to corners.
  */
 
-public final class AvoidCellsNextToCorners implements ReversiStrategy {
+public final class AvoidCellsNextToCorners implements RankingStrategy {
   @Override
   public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
-    int maxScore = 0;
-    Point maxPoint = null;
-    for (Point p : this.getPointsNotNextToCorners(model)) {
-      ReversiModel modelCopy = model.getModelCopy();
-      try {
-        modelCopy.playMove(p.x, p.y, pieceColor);
-      } catch (IllegalStateException e) {
-        continue;
-      }
-      int score = modelCopy.getScore(pieceColor);
-      if (score > maxScore) {
-        maxScore = score;
-        maxPoint = new Point(p.x, p.y);
-      }
-    }
-    if (maxPoint == null) {
+    return this.chooseMove(model, pieceColor, Deadline.none());
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor,
+                                    Deadline deadline, Consumer<Point> onImprovement) {
+    Optional<Point> maxPoint = RankingStrategy.super.chooseMove(model, pieceColor, deadline,
+            onImprovement);
+    if (maxPoint.isEmpty()) {
       System.out.println("[AvoidNextToCorners AI] No valid moves found for " + pieceColor + ".");
       return Optional.empty();
     }
-    int x = maxPoint.x;
-    int y = maxPoint.y;
+    int x = maxPoint.get().x;
+    int y = maxPoint.get().y;
     System.out.printf("[AvoidNextToCorners AI] Found move for %s at (%d, %d).%n", pieceColor, x, y);
-    return Optional.of(maxPoint);
+    return maxPoint;
+  }
+
+  /**
+   * Ranks the legal moves that are not next to corners by the number of discs they leave the
+   * player with. The cells this strategy avoids are its own list of cells near corners,
+   * rather than the cells the context classifies as {@link CellClass#NEXT_TO_CORNER}.
+   *
+   * @param context the position to rank the moves of.
+   * @return the legal moves that avoid the cells next to corners, best first.
+   */
+
+  @Override
+  public List<RankedMove> rankMoves(MoveContext context) {
+    List<RankedMove> moves = new ArrayList<>();
+    for (Point p : this.getPointsNotNextToCorners(context.getModel())) {
+      if (context.shouldStop(!moves.isEmpty())) {
+        break;
+      }
+      context.getMove(p.x, p.y).ifPresent(moves::add);
+    }
+    return MoveContext.rankByDiscCount(moves);
   }
 
   /**
@@ -66,15 +85,13 @@ public final class AvoidCellsNextToCorners implements ReversiStrategy {
    */
 
   private List<Point> getPointsNotNextToCorners(ReadonlyReversiModel model) {
+    BoardGeometry geometry = BoardGeometry.of(model.getRadius());
     List<Point> pointsNotNextToCorners = new ArrayList<>();
-    List<Point> pointsNextToCorners = this.getPointsNextToCorners(model);
-    for (int i = 0; i < model.getBoardCopy().size(); i++) {
-      for (int j = 0; j < model.getBoardCopy().get(i).size(); j++) {
-        if (pointsNextToCorners.contains(new Point(i, j))) {
-          pointsNextToCorners.remove(new Point(i, j));
-        } else {
-          pointsNotNextToCorners.add(new Point(i, j));
-        }
+    Set<Point> pointsNextToCorners = new HashSet<>(this.getPointsNextToCorners(geometry));
+    for (int index = 0; index < geometry.size(); index++) {
+      Point p = new Point(geometry.getRow(index), geometry.getCol(index));
+      if (!pointsNextToCorners.contains(p)) {
+        pointsNotNextToCorners.add(p);
       }
     }
     return pointsNotNextToCorners;
@@ -82,14 +99,14 @@ public final class AvoidCellsNextToCorners implements ReversiStrategy {
 
   /**
    * Gets all points next to corners.
-   * @param model the model to get the points from.
+   * @param geometry the geometry of the board to get the points from.
    * @return a list of all points next to corners.
    */
 
-  private List<Point> getPointsNextToCorners(ReadonlyReversiModel model) {
-    int firstRowSize = model.getBoardCopy().get(0).size();
-    int middleRowSize = model.getBoardCopy().get(model.getBoardCopy().size() / 2).size();
-    int lastRowSize = model.getBoardCopy().get(model.getBoardCopy().size() - 1).size();
+  private List<Point> getPointsNextToCorners(BoardGeometry geometry) {
+    int firstRowSize = geometry.getRowLength(0);
+    int middleRowSize = geometry.getRowLength(geometry.getRadius());
+    int lastRowSize = geometry.getRowLength(geometry.getDiameter() - 1);
     return new ArrayList<>(List.of(
             new Point(0, 1),
             new Point(1, 0),
@@ -0,0 +1,93 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Runs a {@link ReversiStrategy} in the background on the provided {@link Executor}. The
+ * strategy searches a copy of the model that is taken when the search is started, so the
+ * model itself is never read from the executor's threads. Cancelling the returned future
+ * cancels the search's deadline, which a {@link TimedReversiStrategy} notices and stops at;
+ * other strategies run to completion, but their result is discarded.
+ */
+
+public final class BackgroundStrategy implements AsyncReversiStrategy {
+
+  private final ReversiStrategy strategy;
+  private final Executor executor;
+
+  /**
+   * Constructs a new {@link BackgroundStrategy} that runs the provided strategy on the
+   * provided executor.
+   *
+   * @param strategy the strategy to run.
+   * @param executor the executor to run the strategy on.
+   * @throws IllegalArgumentException if either argument is null.
+   */
+
+  public BackgroundStrategy(ReversiStrategy strategy, Executor executor)
+          throws IllegalArgumentException {
+    if (strategy == null || executor == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    this.strategy = strategy;
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletableFuture<Optional<Point>> chooseMoveAsync(ReadonlyReversiModel model,
+                                                            PieceColor pieceColor,
+                                                            Deadline deadline,
+                                                            Consumer<Point> onImprovement) {
+    ReadonlyReversiModel snapshot = model.getModelCopy();
+    CompletableFuture<Optional<Point>> result = new CompletableFuture<>();
+    result.whenComplete((move, error) -> {
+      if (result.isCancelled()) {
+        deadline.cancel();
+      }
+    });
+    this.executor.execute(() -> {
+      if (result.isDone()) {
+        return;
+      }
+      try {
+        Optional<Point> move;
+        if (this.strategy instanceof TimedReversiStrategy) {
+          move = ((TimedReversiStrategy) this.strategy).chooseMove(snapshot, pieceColor,
+                  deadline, onImprovement);
+        } else {
+          move = this.strategy.chooseMove(snapshot, pieceColor);
+          move.ifPresent(onImprovement);
+        }
+        result.complete(move);
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return result;
+  }
+}
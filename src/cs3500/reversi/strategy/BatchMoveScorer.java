@@ -0,0 +1,423 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.CellClass;
+import cs3500.reversi.model.types.Direction;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.model.types.ReversiCellPair;
+
+/**
+ * Scores every legal move of a position in a single pass. The board is read once and packed
+ * into two bitboards (one {@code long} word per 64 cells, indexed row by row starting at the
+ * top left cell), and the features of every candidate move are then computed with word-wide
+ * bit operations instead of by playing each move on a copy of the model.
+ *
+ * <p>For each legal move, in top leftmost order, the following features are available:
+ * <ul>
+ *   <li>the number of discs the player owns after the move,</li>
+ *   <li>the number of corner cells the player owns after the move,</li>
+ *   <li>the number of edge cells the player owns after the move, and</li>
+ *   <li>the mobility delta of the move, which is the number of moves the opponent
+ *   loses (or gains, if negative) by the move being played.</li>
+ * </ul>
+ *
+ * @see ReversiStrategy
+ */
+
+public final class BatchMoveScorer {
+
+  private static final Map<Integer, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+  private final Layout layout;
+  private final int[] moves;
+  private final int[] discCounts;
+  private final int[] cornerCounts;
+  private final int[] edgeCounts;
+  private final int[] mobilityDeltas;
+
+  /**
+   * Scores all legal moves for the provided color in the provided model.
+   *
+   * @param model the model to score the moves of.
+   * @param pieceColor the color to score the moves for.
+   */
+
+  private BatchMoveScorer(ReadonlyReversiModel model, PieceColor pieceColor) {
+    this.layout = LAYOUTS.computeIfAbsent(model.getRadius(), Layout::new);
+    long[] own = new long[this.layout.words];
+    long[] opp = new long[this.layout.words];
+    this.pack(model.getBoardCopy(), pieceColor, own, opp);
+
+    int[] legal = new int[this.layout.size];
+    long[][] flips = new long[this.layout.size][];
+    int count = 0;
+    for (int cell = 0; cell < this.layout.size; cell++) {
+      long[] flipped = this.flips(cell, own, opp);
+      if (flipped != null) {
+        legal[count] = cell;
+        flips[count] = flipped;
+        count++;
+      }
+    }
+
+    this.moves = new int[count];
+    this.discCounts = new int[count];
+    this.cornerCounts = new int[count];
+    this.edgeCounts = new int[count];
+    this.mobilityDeltas = new int[count];
+    int mobilityBefore = this.mobility(opp, own);
+    long[] nextOwn = new long[this.layout.words];
+    long[] nextOpp = new long[this.layout.words];
+    for (int i = 0; i < count; i++) {
+      int cell = legal[i];
+      long[] flipped = flips[i];
+      int discs = 0;
+      int corners = 0;
+      int edges = 0;
+      for (int w = 0; w < this.layout.words; w++) {
+        long placed = (cell >>> 6) == w ? 1L << cell : 0L;
+        nextOwn[w] = own[w] | flipped[w] | placed;
+        nextOpp[w] = opp[w] & ~flipped[w];
+        discs += Long.bitCount(nextOwn[w]);
+        corners += Long.bitCount(nextOwn[w] & this.layout.corners[w]);
+        edges += Long.bitCount(nextOwn[w] & this.layout.edges[w]);
+      }
+      this.moves[i] = cell;
+      this.discCounts[i] = discs;
+      this.cornerCounts[i] = corners;
+      this.edgeCounts[i] = edges;
+      this.mobilityDeltas[i] = mobilityBefore - this.mobility(nextOpp, nextOwn);
+    }
+  }
+
+  /**
+   * Scores all legal moves for the provided color in the provided model.
+   *
+   * @param model the model to score the moves of.
+   * @param pieceColor the color to score the moves for.
+   * @return the scores of every legal move.
+   * @throws IllegalArgumentException if the model cannot be scored directly from its board.
+   * @see #canScore(ReadonlyReversiModel, PieceColor)
+   */
+
+  public static BatchMoveScorer of(ReadonlyReversiModel model, PieceColor pieceColor)
+          throws IllegalArgumentException {
+    if (!canScore(model, pieceColor)) {
+      throw new IllegalArgumentException("The model cannot be scored from its board.");
+    }
+    return new BatchMoveScorer(model, pieceColor);
+  }
+
+  /**
+   * Determines whether the moves of the provided model can be scored directly from its board.
+   * This is only the case when the model plays by the standard rules, it is the provided color's
+   * turn, and the game has not already ended by both players passing. In every other case,
+   * strategies should play each move on a copy of the model instead.
+   *
+   * @param model the model to check.
+   * @param pieceColor the color that would be moving.
+   * @return true if the moves can be scored in a batch, false otherwise.
+   */
+
+  public static boolean canScore(ReadonlyReversiModel model, PieceColor pieceColor) {
+    return model instanceof HexagonalReversi
+            && ((HexagonalReversi) model).hasStandardRules()
+            && model.getPlayerColor() == pieceColor
+            && model.getPasses() < 2;
+  }
+
+  /**
+   * Gets the number of legal moves that were scored.
+   *
+   * @return the number of legal moves.
+   */
+
+  public int size() {
+    return this.moves.length;
+  }
+
+  /**
+   * Gets the number of cells on the board that was scored.
+   *
+   * @return the number of cells on the board.
+   */
+
+  public int getBoardSize() {
+    return this.layout.size;
+  }
+
+  /**
+   * Gets the <code>(row, col)</code> location of the move at the provided index.
+   *
+   * @param index the index of the move.
+   * @return the location of the move.
+   */
+
+  public Point getPoint(int index) {
+    int cell = this.moves[index];
+    return new Point(this.layout.geometry.getRow(cell), this.layout.geometry.getCol(cell));
+  }
+
+  /**
+   * Gets the dense cell index of the move at the provided index. Cells are numbered row by row,
+   * starting at 0 for the top leftmost cell.
+   *
+   * @param index the index of the move.
+   * @return the dense cell index of the move.
+   */
+
+  public int getCell(int index) {
+    return this.moves[index];
+  }
+
+  /**
+   * Gets the dense cell index of the provided location.
+   *
+   * @param row the row of the location.
+   * @param col the column of the location.
+   * @return the dense cell index, or -1 if the location is not on the board.
+   */
+
+  public int cellOf(int row, int col) {
+    return this.layout.geometry.indexOf(row, col);
+  }
+
+  /**
+   * Gets the number of discs the player owns after each move.
+   *
+   * @return the disc counts, indexed by move.
+   */
+
+  public int[] getDiscCounts() {
+    return this.discCounts.clone();
+  }
+
+  /**
+   * Gets the number of corners the player owns after each move.
+   *
+   * @return the corner counts, indexed by move.
+   */
+
+  public int[] getCornerCounts() {
+    return this.cornerCounts.clone();
+  }
+
+  /**
+   * Gets the number of edge cells the player owns after each move.
+   *
+   * @return the edge counts, indexed by move.
+   */
+
+  public int[] getEdgeCounts() {
+    return this.edgeCounts.clone();
+  }
+
+  /**
+   * Gets the number of moves the opponent loses by each move.
+   *
+   * @return the mobility deltas, indexed by move.
+   */
+
+  public int[] getMobilityDeltas() {
+    return this.mobilityDeltas.clone();
+  }
+
+  /**
+   * Finds the move that leaves the player with the most discs, among the moves whose dense
+   * cell index is allowed. Ties are broken by choosing the top leftmost move.
+   *
+   * @param allowed the dense cell indices that may be chosen, or null to allow all moves.
+   * @return the index of the best move, or -1 if there is no allowed move.
+   */
+
+  public int bestByDiscCount(boolean[] allowed) {
+    int best = -1;
+    for (int i = 0; i < this.moves.length; i++) {
+      if (allowed != null && !allowed[this.moves[i]]) {
+        continue;
+      }
+      if (best == -1 || this.discCounts[i] > this.discCounts[best]) {
+        best = i;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Packs the provided board into bitboards of the player's and the opponent's discs.
+   *
+   * @param board the board to pack.
+   * @param pieceColor the color of the player.
+   * @param own the words to set the player's discs in.
+   * @param opp the words to set the opponent's discs in.
+   */
+
+  private void pack(List<List<ReversiCellPair>> board, PieceColor pieceColor,
+                    long[] own, long[] opp) {
+    String mine = pieceColor.toString();
+    int cell = 0;
+    for (List<ReversiCellPair> row : board) {
+      for (ReversiCellPair pair : row) {
+        String state = pair.getState();
+        if (state.equals(mine)) {
+          own[cell >>> 6] |= 1L << cell;
+        } else if (!state.equals("_")) {
+          opp[cell >>> 6] |= 1L << cell;
+        }
+        cell++;
+      }
+    }
+  }
+
+  /**
+   * Computes the discs that would be flipped by placing a disc at the provided cell.
+   *
+   * @param cell the dense index of the cell.
+   * @param own the discs of the player that is moving.
+   * @param opp the discs of the opponent.
+   * @return the flipped discs, or null if the move is not legal.
+   */
+
+  private long[] flips(int cell, long[] own, long[] opp) {
+    if (isSet(own, cell) || isSet(opp, cell)) {
+      return null;
+    }
+    long[] flipped = null;
+    for (int[] ray : this.layout.rays[cell]) {
+      int length = 0;
+      while (length < ray.length && isSet(opp, ray[length])) {
+        length++;
+      }
+      if (length > 0 && length < ray.length && isSet(own, ray[length])) {
+        if (flipped == null) {
+          flipped = new long[this.layout.words];
+        }
+        for (int j = 0; j < length; j++) {
+          flipped[ray[j] >>> 6] |= 1L << ray[j];
+        }
+      }
+    }
+    return flipped;
+  }
+
+  /**
+   * Counts the legal moves of the player owning the provided discs.
+   *
+   * @param own the discs of the player that is moving.
+   * @param opp the discs of the opponent.
+   * @return the number of legal moves.
+   */
+
+  private int mobility(long[] own, long[] opp) {
+    int count = 0;
+    for (int cell = 0; cell < this.layout.size; cell++) {
+      if (!isSet(own, cell) && !isSet(opp, cell) && this.hasFlip(cell, own, opp)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Determines whether placing a disc at the provided empty cell flips at least one disc.
+   *
+   * @param cell the dense index of the cell.
+   * @param own the discs of the player that is moving.
+   * @param opp the discs of the opponent.
+   * @return true if the move would flip a disc, false otherwise.
+   */
+
+  private boolean hasFlip(int cell, long[] own, long[] opp) {
+    for (int[] ray : this.layout.rays[cell]) {
+      int length = 0;
+      while (length < ray.length && isSet(opp, ray[length])) {
+        length++;
+      }
+      if (length > 0 && length < ray.length && isSet(own, ray[length])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSet(long[] words, int cell) {
+    return (words[cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  /**
+   * Represents the fixed layout of a board of a given radius: the geometry of the board, which
+   * cells lie in each direction of each cell, and which cells are corners and edges as
+   * bitboard masks. A layout is built once per radius and shared by every scorer.
+   */
+
+  private static final class Layout {
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int words;
+    private final int[][][] rays;
+    private final long[] corners;
+    private final long[] edges;
+
+    /**
+     * Builds the layout of a board with the provided radius.
+     *
+     * @param radius the radius of the board.
+     */
+
+    private Layout(int radius) {
+      this.geometry = BoardGeometry.of(radius);
+      this.size = this.geometry.size();
+      this.words = (this.size + 63) >>> 6;
+      this.corners = new long[this.words];
+      this.edges = new long[this.words];
+      for (int cell = 0; cell < this.size; cell++) {
+        if (this.geometry.getRing(cell) == radius) {
+          this.edges[cell >>> 6] |= 1L << cell;
+        }
+        if (this.geometry.getCellClass(cell) == CellClass.CORNER) {
+          this.corners[cell >>> 6] |= 1L << cell;
+        }
+      }
+      Direction[] directions = Direction.values();
+      this.rays = new int[this.size][directions.length][];
+      for (int cell = 0; cell < this.size; cell++) {
+        for (Direction dir : directions) {
+          int length = 0;
+          int[] ray = new int[this.geometry.getDiameter()];
+          int next = this.geometry.getNeighbor(cell, dir);
+          while (next != -1) {
+            ray[length++] = next;
+            next = this.geometry.getNeighbor(next, dir);
+          }
+          this.rays[cell][dir.ordinal()] = Arrays.copyOf(ray, length);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.PositionKey;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a strategy that remembers the moves another strategy chose, so that a position
+ * it has already seen is answered from memory. Moves are remembered by position and color in
+ * a cache of bounded size, which evicts the least recently used move when it is full.
+ *
+ * <p>A canonicalizing cache also answers the positions that a rotation or reflection of the
+ * board maps to a position it has seen, by mapping the remembered move back. This is only
+ * correct for strategies that treat every symmetry of the board the same way, and it can
+ * change which of several equally good moves is chosen.
+ *
+ * <p>Only moves chosen on models that play by the standard rules, for the player to move,
+ * are remembered, and a move chosen after the deadline expired is never remembered, since
+ * the strategy may have stopped before finding its best move.
+ */
+
+public final class CachingStrategy implements TimedReversiStrategy {
+
+  private static final int PASS = -1;
+
+  private final ReversiStrategy strategy;
+  private final int capacity;
+  private final boolean canonicalize;
+  private final Map<Key, Integer> moves;
+  private int hits;
+  private int misses;
+  private int evictions;
+
+  /**
+   * Constructs a new {@link CachingStrategy} that remembers up to the provided number of
+   * moves, without canonicalizing positions.
+   *
+   * @param strategy the strategy to remember the moves of.
+   * @param capacity the maximum number of moves to remember.
+   * @throws IllegalArgumentException if the strategy is null or the capacity is not positive.
+   */
+
+  public CachingStrategy(ReversiStrategy strategy, int capacity)
+          throws IllegalArgumentException {
+    this(strategy, capacity, false);
+  }
+
+  /**
+   * Constructs a new {@link CachingStrategy} that remembers up to the provided number of
+   * moves.
+   *
+   * @param strategy the strategy to remember the moves of.
+   * @param capacity the maximum number of moves to remember.
+   * @param canonicalize whether positions that are symmetries of each other share a move.
+   * @throws IllegalArgumentException if the strategy is null or the capacity is not positive.
+   */
+
+  public CachingStrategy(ReversiStrategy strategy, int capacity, boolean canonicalize)
+          throws IllegalArgumentException {
+    if (strategy == null) {
+      throw new IllegalArgumentException("Strategy cannot be null.");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    this.strategy = strategy;
+    this.capacity = capacity;
+    this.canonicalize = canonicalize;
+    this.moves = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Integer> eldest) {
+        if (this.size() > CachingStrategy.this.capacity) {
+          CachingStrategy.this.evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    return this.chooseMove(model, pieceColor, Deadline.none(), move -> { });
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor,
+                                    Deadline deadline, Consumer<Point> onImprovement) {
+    if (!BatchMoveScorer.canScore(model, pieceColor)) {
+      return this.delegate(model, pieceColor, deadline, onImprovement);
+    }
+    PositionKey position = PositionKey.of(model);
+    BoardGeometry geometry = position.getGeometry();
+    int symmetry = this.canonicalize ? position.getCanonicalSymmetry() : 0;
+    Key key = new Key(symmetry == 0 ? position : position.transform(symmetry), pieceColor);
+    Integer cached;
+    synchronized (this) {
+      cached = this.moves.get(key);
+      if (cached != null) {
+        this.hits++;
+      } else {
+        this.misses++;
+      }
+    }
+    if (cached != null) {
+      if (cached == PASS) {
+        return Optional.empty();
+      }
+      int index = geometry.getSymmetrySource(cached, symmetry);
+      Point move = new Point(geometry.getRow(index), geometry.getCol(index));
+      onImprovement.accept(move);
+      return Optional.of(move);
+    }
+    Optional<Point> move = this.delegate(model, pieceColor, deadline, onImprovement);
+    if (!deadline.isSoftExpired()) {
+      int index = move.map(point -> geometry.getSymmetric(geometry.indexOf(point.x, point.y),
+              symmetry)).orElse(PASS);
+      synchronized (this) {
+        this.moves.put(key, index);
+      }
+    }
+    return move;
+  }
+
+  /**
+   * Gets the number of moves that were answered from memory.
+   *
+   * @return the number of cache hits.
+   */
+
+  public synchronized int getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Gets the number of moves that had to be chosen by the strategy, because they were not
+   * remembered.
+   *
+   * @return the number of cache misses.
+   */
+
+  public synchronized int getMisses() {
+    return this.misses;
+  }
+
+  /**
+   * Gets the number of moves that were forgotten to make room for newer ones.
+   *
+   * @return the number of evictions.
+   */
+
+  public synchronized int getEvictions() {
+    return this.evictions;
+  }
+
+  /**
+   * Gets the number of moves currently remembered.
+   *
+   * @return the number of cached moves.
+   */
+
+  public synchronized int size() {
+    return this.moves.size();
+  }
+
+  /**
+   * Chooses a move with the decorated strategy, giving it the deadline if it is timed.
+   *
+   * @param model the model to choose a move from.
+   * @param pieceColor the player to choose a move for.
+   * @param deadline the time limit for choosing the move.
+   * @param onImprovement notified each time the best move found so far improves.
+   * @return an {@link Optional} containing the move to make.
+   */
+
+  private Optional<Point> delegate(ReadonlyReversiModel model, PieceColor pieceColor,
+                                   Deadline deadline, Consumer<Point> onImprovement) {
+    if (this.strategy instanceof TimedReversiStrategy) {
+      return ((TimedReversiStrategy) this.strategy).chooseMove(model, pieceColor, deadline,
+              onImprovement);
+    }
+    Optional<Point> move = this.strategy.chooseMove(model, pieceColor);
+    move.ifPresent(onImprovement);
+    return move;
+  }
+
+  /**
+   * The key of a remembered move: the position it was chosen in and the color it was chosen
+   * for.
+   */
+
+  private static final class Key {
+
+    private final PositionKey position;
+    private final PieceColor pieceColor;
+
+    /**
+     * Constructs a new {@link Key}.
+     *
+     * @param position the position the move was chosen in.
+     * @param pieceColor the color the move was chosen for.
+     */
+
+    private Key(PositionKey position, PieceColor pieceColor) {
+      this.position = position;
+      this.pieceColor = pieceColor;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return this.position.equals(key.position) && this.pieceColor == key.pieceColor;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.position, this.pieceColor);
+    }
+  }
+}
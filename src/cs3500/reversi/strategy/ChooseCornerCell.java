@@ -21,60 +21,54 @@ import java.awt.Point;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import cs3500.reversi.clock.Deadline;
 import cs3500.reversi.model.ReadonlyReversiModel;
-import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.CellClass;
 import cs3500.reversi.model.types.PieceColor;
-import cs3500.reversi.model.types.ReversiCellPair;
 
 /**
  * Represents a strategy that chooses a corner cell if possible.
  */
 
-public final class ChooseCornerCell implements ReversiStrategy {
+public final class ChooseCornerCell implements RankingStrategy {
   @Override
   public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
-    int maxScore = 0;
-    Point maxPoint = null;
-    List<Point> cornerPoints = this.getCornerPoints(model);
-    for (Point p : cornerPoints) {
-      ReversiModel modelCopy = model.getModelCopy();
-      try {
-        modelCopy.playMove(p.x, p.y, pieceColor);
-      } catch (IllegalStateException e) {
-        continue;
-      }
-      int score = modelCopy.getScore(pieceColor);
-      if (score > maxScore) {
-        maxScore = score;
-        maxPoint = new Point(p.x, p.y);
-      }
-    }
-    if (maxPoint == null) {
+    return this.chooseMove(model, pieceColor, Deadline.none());
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor,
+                                    Deadline deadline, Consumer<Point> onImprovement) {
+    Optional<Point> maxPoint = RankingStrategy.super.chooseMove(model, pieceColor, deadline,
+            onImprovement);
+    if (maxPoint.isEmpty()) {
       System.out.println("[ChooseCornerCells AI] No valid moves found for " + pieceColor + ".");
       return Optional.empty();
     }
-    int x = maxPoint.x;
-    int y = maxPoint.y;
+    int x = maxPoint.get().x;
+    int y = maxPoint.get().y;
     System.out.printf("[ChooseCornerCells AI] Found move for %s at (%d, %d).%n", pieceColor, x, y);
-    return Optional.of(maxPoint);
+    return maxPoint;
   }
 
   /**
-   * Gets all corner points.
+   * Ranks the legal moves in corner cells by the number of discs they leave the player with.
    *
-   * @param model the model to get the corner points from.
-   * @return a list of all corner points.
+   * @param context the position to rank the moves of.
+   * @return the legal corner moves, best first.
    */
 
-  private List<Point> getCornerPoints(ReadonlyReversiModel model) {
-    List<List<ReversiCellPair>> cells = model.getBoardCopy();
-    return new ArrayList<>(List.of(
-            new Point(0, 0),
-            new Point(0, model.getRadius()),
-            new Point(model.getRadius(), 0),
-            new Point(model.getRadius(), 2 * model.getRadius()),
-            new Point(cells.size() - 1, 0),
-            new Point(cells.size() - 1, model.getRadius())));
+  @Override
+  public List<RankedMove> rankMoves(MoveContext context) {
+    List<RankedMove> moves = new ArrayList<>();
+    for (Point p : context.getCells(CellClass.CORNER)) {
+      if (context.shouldStop(!moves.isEmpty())) {
+        break;
+      }
+      context.getMove(p.x, p.y).ifPresent(moves::add);
+    }
+    return MoveContext.rankByDiscCount(moves);
   }
-}
\ No newline at end of file
+}
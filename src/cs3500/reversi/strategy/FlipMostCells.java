@@ -20,11 +20,11 @@ package cs3500.reversi.strategy;
 import java.awt.Point;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import cs3500.reversi.clock.Deadline;
 import cs3500.reversi.model.ReadonlyReversiModel;
-import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
-import cs3500.reversi.model.types.ReversiCellPair;
 
 /**
  * A strategy that chooses the move that will flip the most pieces.
@@ -36,34 +36,37 @@ import cs3500.reversi.model.types.ReversiCellPair;
  * @see ReversiStrategy
  */
 
-public class FlipMostCells implements ReversiStrategy {
+public class FlipMostCells implements RankingStrategy {
 
   @Override
   public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
-    List<List<ReversiCellPair>> copy = model.getBoardCopy();
-    int numRows = copy.size();
-    int maxScore = 0;
-    Point maxPoint = null;
-    for (int i = 0; i < numRows; i++) {
-      for (int j = 0; j < copy.get(i).size(); j++) {
-        ReversiModel modelCopy = model.getModelCopy();
-        if (modelCopy.isValidMove(i, j, pieceColor)) {
-          modelCopy.playMove(i, j, pieceColor);
-          int score = modelCopy.getScore(pieceColor);
-          if (score > maxScore) {
-            maxScore = score;
-            maxPoint = new Point(i, j);
-          }
-        }
-      }
-    }
-    if (maxPoint == null) {
+    return this.chooseMove(model, pieceColor, Deadline.none());
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor,
+                                    Deadline deadline, Consumer<Point> onImprovement) {
+    Optional<Point> maxPoint = RankingStrategy.super.chooseMove(model, pieceColor, deadline,
+            onImprovement);
+    if (maxPoint.isEmpty()) {
       System.out.println("[FlipMostCells AI] No valid moves found for " + pieceColor + ".");
       return Optional.empty();
     }
-    int x = maxPoint.x;
-    int y = maxPoint.y;
+    int x = maxPoint.get().x;
+    int y = maxPoint.get().y;
     System.out.printf("[FlipMostCells AI] Found move for %s at (%d, %d).%n", pieceColor, x, y);
-    return Optional.of(maxPoint);
+    return maxPoint;
+  }
+
+  /**
+   * Ranks every legal move by the number of discs it leaves the player with.
+   *
+   * @param context the position to rank the moves of.
+   * @return the legal moves, best first.
+   */
+
+  @Override
+  public List<RankedMove> rankMoves(MoveContext context) {
+    return MoveContext.rankByDiscCount(context.getLegalMoves());
   }
 }
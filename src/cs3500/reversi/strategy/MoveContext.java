@@ -0,0 +1,315 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.CellClass;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents everything a {@link RankingStrategy} needs to know about one position: the
+ * legal moves of the player to move, the number of discs each one leaves them with, and the
+ * class of every cell. A context is built once per position and shared by every strategy
+ * that ranks it, so a chain of fallbacks does the work of finding and scoring moves once
+ * instead of once per strategy.
+ *
+ * <p>Models that play by the standard rules are scored up front with a
+ * {@link BatchMoveScorer}. Any other model is probed the way the strategies always have,
+ * by asking it and by playing moves on copies of it; each probe is remembered, so no move
+ * is checked or played twice for the same context.
+ *
+ * @see RankingStrategy
+ */
+
+public final class MoveContext {
+
+  private static final Comparator<RankedMove> MOST_DISCS =
+          Comparator.comparingInt(RankedMove::getDiscCount).reversed();
+
+  private final ReadonlyReversiModel model;
+  private final PieceColor pieceColor;
+  private final Deadline deadline;
+  private final BoardGeometry geometry;
+  private final BatchMoveScorer scorer;
+  private final RankedMove[] scored;
+  private final Map<Point, Boolean> checked;
+  private final Map<Point, Optional<RankedMove>> played;
+
+  /**
+   * Constructs a new {@link MoveContext}.
+   *
+   * @param model the position to describe.
+   * @param pieceColor the player to describe the moves of.
+   * @param deadline the time limit for probing the position.
+   */
+
+  private MoveContext(ReadonlyReversiModel model, PieceColor pieceColor, Deadline deadline) {
+    this.model = model;
+    this.pieceColor = pieceColor;
+    this.deadline = deadline;
+    this.geometry = BoardGeometry.of(model.getRadius());
+    this.checked = new HashMap<>();
+    this.played = new HashMap<>();
+    if (BatchMoveScorer.canScore(model, pieceColor)) {
+      this.scorer = BatchMoveScorer.of(model, pieceColor);
+      this.scored = new RankedMove[this.scorer.getBoardSize()];
+      int[] discs = this.scorer.getDiscCounts();
+      for (int i = 0; i < this.scorer.size(); i++) {
+        int cell = this.scorer.getCell(i);
+        this.scored[cell] = new RankedMove(this.scorer.getPoint(i),
+                this.geometry.getCellClass(cell), discs[i]);
+      }
+    } else {
+      this.scorer = null;
+      this.scored = null;
+    }
+  }
+
+  /**
+   * Creates a context for the provided position, with no time limit.
+   *
+   * @param model the position to describe.
+   * @param pieceColor the player to describe the moves of.
+   * @return the context of the position.
+   * @throws IllegalArgumentException if the model or color is null.
+   */
+
+  public static MoveContext of(ReadonlyReversiModel model, PieceColor pieceColor)
+          throws IllegalArgumentException {
+    return of(model, pieceColor, Deadline.none());
+  }
+
+  /**
+   * Creates a context for the provided position. Strategies that rank moves by probing the
+   * model stop once the deadline says so.
+   *
+   * @param model the position to describe.
+   * @param pieceColor the player to describe the moves of.
+   * @param deadline the time limit for probing the position.
+   * @return the context of the position.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+
+  public static MoveContext of(ReadonlyReversiModel model, PieceColor pieceColor,
+                               Deadline deadline) throws IllegalArgumentException {
+    if (model == null || pieceColor == null || deadline == null) {
+      throw new IllegalArgumentException("Model, color and deadline cannot be null.");
+    }
+    return new MoveContext(model, pieceColor, deadline);
+  }
+
+  /**
+   * Gets the position this context describes.
+   *
+   * @return the model of the position.
+   */
+
+  public ReadonlyReversiModel getModel() {
+    return this.model;
+  }
+
+  /**
+   * Gets the player whose moves this context describes.
+   *
+   * @return the color of the player.
+   */
+
+  public PieceColor getPieceColor() {
+    return this.pieceColor;
+  }
+
+  /**
+   * Gets the time limit for ranking the position.
+   *
+   * @return the deadline.
+   */
+
+  public Deadline getDeadline() {
+    return this.deadline;
+  }
+
+  /**
+   * Determines whether a strategy should stop looking for moves: once the hard limit has
+   * passed, or once the soft limit has passed and it already has a move to play.
+   *
+   * @param haveMove whether the strategy has found a move already.
+   * @return true if the strategy should stop looking.
+   */
+
+  public boolean shouldStop(boolean haveMove) {
+    return this.deadline.isHardExpired() || (haveMove && this.deadline.isSoftExpired());
+  }
+
+  /**
+   * Gets the class of the cell at the provided location.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   * @return the class of the cell.
+   * @throws IllegalArgumentException if the location is not on the board.
+   */
+
+  public CellClass getCellClass(int row, int col) throws IllegalArgumentException {
+    if (!this.geometry.isOnBoard(row, col)) {
+      throw new IllegalArgumentException(String.format("(%d, %d) is not on the board.",
+              row, col));
+    }
+    return this.geometry.getCellClass(this.geometry.indexOf(row, col));
+  }
+
+  /**
+   * Gets the locations of every cell of the provided class, from the top left.
+   *
+   * @param cellClass the class of cells to get.
+   * @return the locations of the cells, as (row, column) pairs.
+   */
+
+  public List<Point> getCells(CellClass cellClass) {
+    List<Point> cells = new ArrayList<>();
+    for (int index : this.geometry.getCells(cellClass)) {
+      cells.add(new Point(this.geometry.getRow(index), this.geometry.getCol(index)));
+    }
+    return cells;
+  }
+
+  /**
+   * Gets the move at the provided location, if the player can make it. Locations off the
+   * board are never moves.
+   *
+   * @param row the row of the move.
+   * @param col the column of the move.
+   * @return the move, or an empty {@link Optional} if the player cannot play there.
+   */
+
+  public Optional<RankedMove> getMove(int row, int col) {
+    if (!this.geometry.isOnBoard(row, col)) {
+      return Optional.empty();
+    }
+    if (this.scorer != null) {
+      return Optional.ofNullable(this.scored[this.geometry.indexOf(row, col)]);
+    }
+    return this.played.computeIfAbsent(new Point(row, col), this::playOnCopy);
+  }
+
+  /**
+   * Gets every move the player can make, from the top left. Models that are probed are only
+   * asked about each cell until the deadline says to stop.
+   *
+   * @return the legal moves.
+   */
+
+  public List<RankedMove> getLegalMoves() {
+    List<RankedMove> moves = new ArrayList<>();
+    if (this.scorer != null) {
+      for (RankedMove move : this.scored) {
+        if (move != null) {
+          moves.add(move);
+        }
+      }
+      return moves;
+    }
+    for (int index = 0; index < this.geometry.size(); index++) {
+      if (this.shouldStop(!moves.isEmpty())) {
+        return moves;
+      }
+      int row = this.geometry.getRow(index);
+      int col = this.geometry.getCol(index);
+      if (this.isValidMove(row, col)) {
+        this.getMove(row, col).ifPresent(moves::add);
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Describes the provided move, which a strategy has chosen without ranking it. If the
+   * context does not know the move, it is described as leaving the player's score unchanged.
+   *
+   * @param point the location of the move, as a (row, column) pair.
+   * @return the described move.
+   */
+
+  public RankedMove describe(Point point) {
+    Optional<RankedMove> move = this.getMove(point.x, point.y);
+    if (move.isPresent()) {
+      return move.get();
+    }
+    int index = this.geometry.indexOf(point.x, point.y);
+    CellClass cellClass = index == -1 ? CellClass.INTERIOR : this.geometry.getCellClass(index);
+    return new RankedMove(point, cellClass, this.model.getScore(this.pieceColor));
+  }
+
+  /**
+   * Ranks the provided moves by the number of discs they leave the player with, most first.
+   * Moves that tie keep their order, so moves listed from the top left break ties by
+   * choosing the top leftmost move.
+   *
+   * @param moves the moves to rank.
+   * @return a new list of the moves, best first.
+   */
+
+  public static List<RankedMove> rankByDiscCount(List<RankedMove> moves) {
+    List<RankedMove> ranked = new ArrayList<>(moves);
+    ranked.sort(MOST_DISCS);
+    return Collections.unmodifiableList(ranked);
+  }
+
+  /**
+   * Asks the model whether the player can move at the provided location, remembering the
+   * answer.
+   *
+   * @param row the row of the move.
+   * @param col the column of the move.
+   * @return true if the model says the move is valid.
+   */
+
+  private boolean isValidMove(int row, int col) {
+    return this.checked.computeIfAbsent(new Point(row, col),
+        p -> this.model.isValidMove(p.x, p.y, this.pieceColor));
+  }
+
+  /**
+   * Plays the move at the provided location on a copy of the model.
+   *
+   * @param p the location of the move.
+   * @return the move, or an empty {@link Optional} if the copy rejected it.
+   */
+
+  private Optional<RankedMove> playOnCopy(Point p) {
+    ReversiModel copy = this.model.getModelCopy();
+    try {
+      copy.playMove(p.x, p.y, this.pieceColor);
+    } catch (IllegalStateException e) {
+      return Optional.empty();
+    }
+    return Optional.of(new RankedMove(p, this.getCellClass(p.x, p.y),
+            copy.getScore(this.pieceColor)));
+  }
+}
@@ -0,0 +1,106 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.Position;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.BookMove;
+import cs3500.reversi.record.OpeningBook;
+
+/**
+ * Represents a strategy that plays the moves that scored best in archived games, as counted
+ * in an {@link OpeningBook}. Moves are ranked by their score adjusted for how often they
+ * were played (see {@link BookMove#getAdjustedScore()}), then by their average final margin,
+ * and only moves played in at least a minimum number of games are ranked. Once a game leaves
+ * the book, the strategy cannot choose a move, so it is meant to come first in a
+ * {@link StrategyWithFallbacks}.
+ *
+ * <p>Only models that play by the standard rules are looked up, for the player to move.
+ */
+
+public final class OpeningBookStrategy implements RankingStrategy {
+
+  private static final Comparator<BookMove> STRONGEST =
+          Comparator.comparingDouble(BookMove::getAdjustedScore)
+                  .thenComparingDouble(BookMove::getAverageMargin).reversed();
+
+  private final OpeningBook book;
+  private final int minGames;
+
+  /**
+   * Constructs a new {@link OpeningBookStrategy}.
+   *
+   * @param book the book to look moves up in.
+   * @param minGames the number of games a move must have been played in to be ranked.
+   * @throws IllegalArgumentException if the book is null or the minimum is not positive.
+   */
+
+  public OpeningBookStrategy(OpeningBook book, int minGames) throws IllegalArgumentException {
+    if (book == null) {
+      throw new IllegalArgumentException("Book cannot be null.");
+    }
+    if (minGames < 1) {
+      throw new IllegalArgumentException("Minimum games must be positive.");
+    }
+    this.book = book;
+    this.minGames = minGames;
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    return this.chooseMove(model, pieceColor, Deadline.none());
+  }
+
+  /**
+   * Ranks the legal moves of the position that the book has seen played often enough,
+   * strongest first.
+   *
+   * @param context the position to rank the moves of.
+   * @return the book moves, strongest first, or an empty list if the position is not in the
+   *         book.
+   */
+
+  @Override
+  public List<RankedMove> rankMoves(MoveContext context) {
+    ReadonlyReversiModel model = context.getModel();
+    if (!BatchMoveScorer.canScore(model, context.getPieceColor())) {
+      return List.of();
+    }
+    Position position = model.getPosition();
+    BoardGeometry geometry = position.getGeometry();
+    List<BookMove> moves = new ArrayList<>(this.book.getMoves(position));
+    moves.sort(STRONGEST);
+    List<RankedMove> ranked = new ArrayList<>();
+    for (BookMove move : moves) {
+      if (move.getGames() >= this.minGames && move.getMove() != Position.PASS) {
+        context.getMove(geometry.getRow(move.getMove()), geometry.getCol(move.getMove()))
+                .ifPresent(ranked::add);
+      }
+    }
+    return Collections.unmodifiableList(ranked);
+  }
+}
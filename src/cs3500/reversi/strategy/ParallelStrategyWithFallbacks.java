@@ -0,0 +1,206 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a strategy builder that chooses the same move as a {@link StrategyWithFallbacks}
+ * of the same strategies, but runs all of the strategies at once instead of one after another.
+ * Every strategy starts on the provided {@link Executor} with its own copy of the model. The
+ * move of a strategy is chosen as soon as it has found one and every strategy before it has
+ * finished without one, and the strategies after it are then cancelled. When the first
+ * strategies fail, the time taken is that of the slowest strategy that had to run rather than
+ * the sum of all of them.
+ *
+ * <p>Improvements are reported only from the strategy whose move would currently be chosen,
+ * which is the first strategy that has not yet failed.
+ *
+ * @see StrategyWithFallbacks
+ */
+
+public final class ParallelStrategyWithFallbacks implements TimedReversiStrategy,
+        AsyncReversiStrategy {
+
+  private final Executor executor;
+  private final ReversiStrategy[] strategies;
+
+  /**
+   * Constructs a new {@link ParallelStrategyWithFallbacks} that runs the given strategies on
+   * the common {@link ForkJoinPool}.
+   *
+   * @param strategies the strategies to use, in order of priority.
+   * @throws IllegalArgumentException if any strategy is null.
+   */
+
+  public ParallelStrategyWithFallbacks(ReversiStrategy... strategies)
+          throws IllegalArgumentException {
+    this(ForkJoinPool.commonPool(), strategies);
+  }
+
+  /**
+   * Constructs a new {@link ParallelStrategyWithFallbacks} that runs the given strategies on
+   * the given executor.
+   *
+   * @param executor the executor to run the strategies on.
+   * @param strategies the strategies to use, in order of priority.
+   * @throws IllegalArgumentException if the executor or any strategy is null.
+   */
+
+  public ParallelStrategyWithFallbacks(Executor executor, ReversiStrategy... strategies)
+          throws IllegalArgumentException {
+    if (executor == null || strategies == null) {
+      throw new IllegalArgumentException("Executor and strategies cannot be null.");
+    }
+    for (ReversiStrategy strategy : strategies) {
+      if (strategy == null) {
+        throw new IllegalArgumentException("Strategies cannot be null.");
+      }
+    }
+    this.executor = executor;
+    this.strategies = strategies.clone();
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    return this.chooseMove(model, pieceColor, Deadline.none());
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor,
+                                    Deadline deadline, Consumer<Point> onImprovement) {
+    try {
+      return this.chooseMoveAsync(model, pieceColor, deadline, onImprovement).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public CompletableFuture<Optional<Point>> chooseMoveAsync(ReadonlyReversiModel model,
+                                                            PieceColor pieceColor,
+                                                            Deadline deadline,
+                                                            Consumer<Point> onImprovement) {
+    CompletableFuture<Optional<Point>> result = new CompletableFuture<>();
+    List<CompletableFuture<Optional<Point>>> children = new CopyOnWriteArrayList<>();
+    result.whenComplete((move, error) -> {
+      if (result.isCancelled()) {
+        deadline.cancel();
+        this.cancelAfter(children, -1);
+      }
+    });
+    for (ReversiStrategy strategy : this.strategies) {
+      int priority = children.size();
+      children.add(new BackgroundStrategy(strategy, this.executor).chooseMoveAsync(model,
+          pieceColor, deadline.child(), move -> {
+            if (this.leads(children, priority)) {
+              onImprovement.accept(move);
+            }
+          }));
+    }
+    if (children.isEmpty()) {
+      result.complete(Optional.empty());
+    }
+    for (CompletableFuture<Optional<Point>> child : children) {
+      child.whenComplete((move, error) -> this.resolve(children, result));
+    }
+    return result;
+  }
+
+  /**
+   * Completes the result with the move of the first strategy that found one, once every
+   * strategy before it has failed, and cancels every strategy after it. If a strategy fails
+   * with an exception before any earlier strategy has found a move, the result fails with it.
+   *
+   * @param children the running strategies, in order of priority.
+   * @param result the future to complete.
+   */
+
+  private void resolve(List<CompletableFuture<Optional<Point>>> children,
+                       CompletableFuture<Optional<Point>> result) {
+    for (int i = 0; i < children.size(); i++) {
+      CompletableFuture<Optional<Point>> child = children.get(i);
+      if (!child.isDone()) {
+        return;
+      }
+      Optional<Point> move;
+      try {
+        move = child.join();
+      } catch (CompletionException | CancellationException e) {
+        this.cancelAfter(children, i);
+        result.completeExceptionally(e.getCause() == null ? e : e.getCause());
+        return;
+      }
+      if (move.isPresent()) {
+        this.cancelAfter(children, i);
+        result.complete(move);
+        return;
+      }
+    }
+    result.complete(Optional.empty());
+  }
+
+  /**
+   * Determines whether the strategy with the provided priority is the one whose move would be
+   * chosen now, because every strategy before it has finished without a move.
+   *
+   * @param children the running strategies, in order of priority.
+   * @param priority the priority of the strategy.
+   * @return true if every earlier strategy has failed.
+   */
+
+  private boolean leads(List<CompletableFuture<Optional<Point>>> children, int priority) {
+    for (int i = 0; i < priority; i++) {
+      CompletableFuture<Optional<Point>> child = children.get(i);
+      if (!child.isDone() || child.isCompletedExceptionally()
+              || child.join().isPresent()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Cancels every strategy after the provided priority.
+   *
+   * @param children the running strategies, in order of priority.
+   * @param priority the priority of the last strategy to keep, or -1 to cancel them all.
+   */
+
+  private void cancelAfter(List<CompletableFuture<Optional<Point>>> children, int priority) {
+    for (int i = priority + 1; i < children.size(); i++) {
+      children.get(i).cancel(false);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.Objects;
+
+import cs3500.reversi.model.types.CellClass;
+
+/**
+ * Represents a legal move as seen from a {@link MoveContext}: where it is played, the
+ * class of the cell it is played in, and the number of discs the player owns once it
+ * has been played. Ranked moves are immutable.
+ *
+ * @see RankingStrategy
+ */
+
+public final class RankedMove {
+
+  private final Point point;
+  private final CellClass cellClass;
+  private final int discCount;
+
+  /**
+   * Constructs a new {@link RankedMove}.
+   *
+   * @param point the location of the move, as a (row, column) pair.
+   * @param cellClass the class of the cell the move is played in.
+   * @param discCount the number of discs the player owns after the move.
+   * @throws IllegalArgumentException if the point or cell class is null.
+   */
+
+  public RankedMove(Point point, CellClass cellClass, int discCount)
+          throws IllegalArgumentException {
+    if (point == null || cellClass == null) {
+      throw new IllegalArgumentException("Point and cell class cannot be null.");
+    }
+    this.point = new Point(point);
+    this.cellClass = cellClass;
+    this.discCount = discCount;
+  }
+
+  /**
+   * Gets the location of the move.
+   *
+   * @return a copy of the move's (row, column) pair.
+   */
+
+  public Point getPoint() {
+    return new Point(this.point);
+  }
+
+  /**
+   * Gets the class of the cell the move is played in.
+   *
+   * @return the cell class.
+   */
+
+  public CellClass getCellClass() {
+    return this.cellClass;
+  }
+
+  /**
+   * Gets the number of discs the player owns after the move.
+   *
+   * @return the disc count.
+   */
+
+  public int getDiscCount() {
+    return this.discCount;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof RankedMove)) {
+      return false;
+    }
+    RankedMove other = (RankedMove) o;
+    return this.point.equals(other.point) && this.cellClass == other.cellClass
+            && this.discCount == other.discCount;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.point, this.cellClass, this.discCount);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("(%d, %d) %s -> %d", this.point.x, this.point.y, this.cellClass,
+            this.discCount);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a {@link TimedReversiStrategy} that ranks moves instead of only choosing one.
+ * A ranking strategy reads everything it needs from a shared {@link MoveContext}, so
+ * strategies that are combined, such as by a {@link StrategyWithFallbacks}, filter and
+ * re-rank the same moves rather than each finding and scoring them again. The move a ranking
+ * strategy chooses is the first move of its ranking.
+ *
+ * @see MoveContext
+ * @see RankedMove
+ */
+
+public interface RankingStrategy extends TimedReversiStrategy {
+
+  /**
+   * Ranks the moves this strategy would consider in the position of the provided context,
+   * best first. A strategy that cannot choose a move returns an empty list.
+   *
+   * @param context the position to rank the moves of.
+   * @return the ranked moves, best first.
+   */
+
+  List<RankedMove> rankMoves(MoveContext context);
+
+  /**
+   * Chooses the first move of this strategy's ranking of a new context for the provided
+   * position, and reports it to the provided consumer.
+   *
+   * @param model the model to choose a move from.
+   * @param pieceColor the player to choose a move for.
+   * @param deadline the time limit for choosing the move.
+   * @param onImprovement notified each time the best move found so far improves.
+   * @return an {@link Optional} containing the move to make.
+   */
+
+  @Override
+  default Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor,
+                                     Deadline deadline, Consumer<Point> onImprovement) {
+    List<RankedMove> ranked = this.rankMoves(MoveContext.of(model, pieceColor, deadline));
+    if (ranked.isEmpty()) {
+      return Optional.empty();
+    }
+    Point best = ranked.get(0).getPoint();
+    onImprovement.accept(best);
+    return Optional.of(best);
+  }
+
+}
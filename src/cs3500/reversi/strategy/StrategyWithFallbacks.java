@@ -18,8 +18,10 @@
 package cs3500.reversi.strategy;
 
 import java.awt.Point;
+import java.util.List;
 import java.util.Optional;
 
+import cs3500.reversi.clock.Deadline;
 import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.types.PieceColor;
 
@@ -35,7 +37,7 @@ import cs3500.reversi.model.types.PieceColor;
  * @see ReversiStrategy
  */
 
-public final class StrategyWithFallbacks implements ReversiStrategy {
+public final class StrategyWithFallbacks implements RankingStrategy {
 
   private final ReversiStrategy[] strategies;
 
@@ -50,12 +52,39 @@ public final class StrategyWithFallbacks implements ReversiStrategy {
 
   @Override
   public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    return this.chooseMove(model, pieceColor, Deadline.none());
+  }
+
+  /**
+   * Ranks the moves of the position using each strategy in turn until one ranks any moves.
+   * Every {@link RankingStrategy} shares the provided context, so the moves of the position
+   * are found and scored once however many strategies are tried. Any other strategy chooses
+   * its move from the context's model, and that move is its whole ranking. Once the hard
+   * limit of the context's deadline has passed, no further strategies are tried.
+   *
+   * @param context the position to rank the moves of.
+   * @return the ranking of the first strategy that ranks any moves, or an empty list if none
+   *         do.
+   */
+
+  @Override
+  public List<RankedMove> rankMoves(MoveContext context) {
     for (ReversiStrategy strategy : this.strategies) {
-      Optional<Point> ans = strategy.chooseMove(model, pieceColor);
-      if (ans.isPresent()) {
-        return ans;
+      if (context.getDeadline().isHardExpired()) {
+        break;
+      }
+      List<RankedMove> ranked;
+      if (strategy instanceof RankingStrategy) {
+        ranked = ((RankingStrategy) strategy).rankMoves(context);
+      } else {
+        ranked = strategy.chooseMove(context.getModel(), context.getPieceColor())
+                .map(p -> List.of(context.describe(p)))
+                .orElse(List.of());
+      }
+      if (!ranked.isEmpty()) {
+        return ranked;
       }
     }
-    return Optional.empty();
+    return List.of();
   }
 }
@@ -0,0 +1,72 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a {@link ReversiStrategy} that cooperates with a time limit. Once the soft limit
+ * of its {@link Deadline} has passed, the strategy stops refining a move it already has, and
+ * once the hard limit has passed, it returns the best move it has found so far. While it
+ * searches, the strategy reports every improvement of its best move, so callers can always act
+ * on the best move found so far. Choosing a move without a deadline is the same as choosing one
+ * with {@link Deadline#none()}.
+ *
+ * @see Deadline
+ */
+
+public interface TimedReversiStrategy extends ReversiStrategy {
+
+  /**
+   * Chooses a move for the given player based on the game state of the provided model,
+   * stopping early if the provided deadline expires. If the strategy cannot choose a move
+   * before the deadline, then it returns an empty {@link Optional} to indicate this.
+   *
+   * @param model the model to choose a move from.
+   * @param pieceColor the player to choose a move for.
+   * @param deadline the time limit for choosing the move.
+   * @return an {@link Optional} containing the move to make.
+   */
+
+  default Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor,
+                                     Deadline deadline) {
+    return this.chooseMove(model, pieceColor, deadline, move -> { });
+  }
+
+  /**
+   * Chooses a move for the given player based on the game state of the provided model,
+   * stopping early if the provided deadline expires, and reporting every improvement of
+   * the best move found so far to the provided consumer.
+   *
+   * @param model the model to choose a move from.
+   * @param pieceColor the player to choose a move for.
+   * @param deadline the time limit for choosing the move.
+   * @param onImprovement notified each time the best move found so far improves.
+   * @return an {@link Optional} containing the move to make.
+   */
+
+  Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor,
+                             Deadline deadline, Consumer<Point> onImprovement);
+
+}
@@ -49,7 +49,8 @@ public interface GraphicsView {
 
   /**
    * Refreshes the view, resetting the selected cell and repainting
-   * the updated game state onto the panel.
+   * the updated game state onto the panel. A view that listens for the model's
+   * changes may repaint only the selected cell, since it repaints changed cells itself.
    */
 
   void refresh();
@@ -78,7 +78,6 @@ public final class ReversiGraphicsView extends JFrame implements GraphicsView {
   @Override
   public void refresh() {
     this.panel.refresh();
-    this.repaint();
   }
 
   @Override
@@ -50,4 +50,15 @@ public interface ViewFeatures {
 
   void passTurn();
 
+  /**
+   * Indicates that the current player wants to take back their last move. This feature is
+   * listened to by the {@link ReversiController} and is called when the player presses the
+   * "u" key.
+   *
+   * @see ReversiController
+   * @see ReversiModel#undo()
+   */
+
+  void undoMove();
+
 }
\ No newline at end of file
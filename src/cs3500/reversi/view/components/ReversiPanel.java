@@ -36,10 +36,12 @@ import java.util.Objects;
 import javax.swing.JPanel;
 import javax.swing.KeyStroke;
 import javax.swing.AbstractAction;
+import javax.swing.SwingUtilities;
 
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.ModelChange;
 import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.types.HexCell;
-import cs3500.reversi.model.types.ReversiCellPair;
 import cs3500.reversi.player.Player;
 import cs3500.reversi.view.ViewFeatures;
 
@@ -79,6 +81,25 @@ public final class ReversiPanel extends JPanel {
     this.initKeyComponent();
     this.getInputMap().put(KeyStroke.getKeyStroke('p'), "pass");
     this.getInputMap().put(KeyStroke.getKeyStroke('\n'), "move");
+    this.getInputMap().put(KeyStroke.getKeyStroke('u'), "undo");
+    this.model.addChangeListener(this::repaintChanged, SwingUtilities::invokeLater);
+  }
+
+  /**
+   * Repaints only the cells that the provided change placed a piece on or flipped, instead
+   * of the whole board.
+   *
+   * @param change the change to repaint.
+   */
+
+  private void repaintChanged(ModelChange change) {
+    List<Point> cells = new ArrayList<>(change.getFlippedCells());
+    change.getPlacedCell().ifPresent(cells::add);
+    for (Point cell : cells) {
+      if (cell.x < this.hexagons.size() && cell.y < this.hexagons.get(cell.x).size()) {
+        this.repaint(this.hexagons.get(cell.x).get(cell.y).getBounds());
+      }
+    }
   }
 
   /**
@@ -86,7 +107,8 @@ public final class ReversiPanel extends JPanel {
    * presses the "p" key, the controller is notified that the player
    * wants to pass their turn. When the player presses the "enter" or
    * "return" key, the controller is notified that the player wants to
-   * make a move at the selected cell.
+   * make a move at the selected cell. When the player presses the "u" key, the
+   * controller is notified that the player wants to take back their last move.
    */
 
   private void initKeyComponent() {
@@ -101,6 +123,16 @@ public final class ReversiPanel extends JPanel {
       }
     });
 
+    this.getActionMap().put("undo", new AbstractAction() {
+
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        for (ViewFeatures features : featuresListeners) {
+          features.undoMove();
+        }
+      }
+    });
+
     this.getActionMap().put("move", new AbstractAction() {
 
       @Override
@@ -124,13 +156,18 @@ public final class ReversiPanel extends JPanel {
   }
 
   /**
-   * Draws the hexagons on the board using the model's board size.
+   * Draws the hexagons on the board using the model's board size, skipping any hexagon
+   * outside the area being repainted.
    */
 
   private void drawHexagons() {
+    Rectangle clip = this.graphics.getClipBounds();
     for (int i = 0; i < this.hexagons.size(); i++) {
       for (int j = 0; j < this.hexagons.get(i).size(); j++) {
         Path2D path = this.hexagons.get(i).get(j);
+        if (clip != null && !path.intersects(clip)) {
+          continue;
+        }
         double x = path.getBounds2D().getX();
         double y = path.getBounds2D().getY();
         if (this.selected.x != -1 && path.contains(this.selected) && !this.player.isAI()) {
@@ -153,20 +190,21 @@ public final class ReversiPanel extends JPanel {
   }
 
   /**
-   * Generates the hexagons on the board using the model's board size.
+   * Generates the hexagons on the board using the geometry of the model's board size.
    */
 
   private void generateHexagons() {
     double yoffset = 0;
-    List<List<ReversiCellPair>> board = this.model.getBoardCopy();
+    BoardGeometry geometry = BoardGeometry.of(this.model.getRadius());
     this.hexagons = new ArrayList<>();
-    for (int i = 0; i < board.size(); i++) {
+    for (int i = 0; i < geometry.getDiameter(); i++) {
       this.hexagons.add(new ArrayList<>());
       double xoffset = Math.abs((HexCell.HEX_WIDTH / 2) * (model.getRadius() - i));
-      for (int j = 0; j < model.getBoardCopy().get(i).size(); j++) {
+      int rowLength = geometry.getRowLength(i);
+      for (int j = 0; j < rowLength; j++) {
         Path2D path = new Hexagon(xoffset, yoffset, HexCell.HEX_SIZE);
         this.hexagons.get(i).add(path);
-        if (j != board.get(i).size() - 1) {
+        if (j != rowLength - 1) {
           xoffset += HexCell.HEX_WIDTH;
         }
       }
@@ -207,12 +245,18 @@ public final class ReversiPanel extends JPanel {
   }
 
   /**
-   * Refreshes the selected cell and selected point.
+   * Refreshes the selected cell and selected point, repainting only the cell that was
+   * selected. Moves, passes and undos repaint the cells they change on their own.
    */
 
   public void refresh() {
+    Point cell = this.selectedCell;
     this.selected = new Point(-1, -1);
     this.selectedCell = new Point(-1, -1);
+    if (cell.x >= 0 && cell.x < this.hexagons.size() && cell.y >= 0
+            && cell.y < this.hexagons.get(cell.x).size()) {
+      this.repaint(this.hexagons.get(cell.x).get(cell.y).getBounds());
+    }
   }
 
   /**
@@ -0,0 +1,253 @@
+package cs3500.reversi;
+
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.controller.ReversiController;
+import cs3500.reversi.controller.TurnScheduler;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.player.AIDifficulty;
+import cs3500.reversi.player.AIPlayer;
+import cs3500.reversi.player.MoveService;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.strategy.AsyncReversiStrategy;
+import cs3500.reversi.strategy.BackgroundStrategy;
+import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.strategy.ParallelStrategyWithFallbacks;
+import cs3500.reversi.strategy.ReversiStrategy;
+import cs3500.reversi.strategy.TimedReversiStrategy;
+import cs3500.reversi.view.GraphicsView;
+import cs3500.reversi.view.ViewFeatures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for running strategies asynchronously, with a {@link BackgroundStrategy} or a
+ * {@link ParallelStrategyWithFallbacks}.
+ */
+
+public final class AsyncStrategyTests {
+
+  @Test
+  public void testBackgroundStrategyMatchesSynchronousStrategy() throws Exception {
+    ReversiModel model = new HexagonalReversi(7);
+    List<Point> improvements = new ArrayList<>();
+    AsyncReversiStrategy strategy = new BackgroundStrategy(new FlipMostCells(), Runnable::run);
+    CompletableFuture<Optional<Point>> move = strategy.chooseMoveAsync(model,
+        PieceColor.WHITE, Deadline.none(), improvements::add);
+    assertEquals(new FlipMostCells().chooseMove(model, PieceColor.WHITE), move.get());
+    assertEquals(move.get().get(), improvements.get(improvements.size() - 1));
+  }
+
+  @Test
+  public void testSearchIsIndependentOfLaterModelChanges() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    ReversiModel model = new HexagonalReversi(7);
+    CompletableFuture<Void> gate = new CompletableFuture<>();
+    executor.execute(gate::join);
+    CompletableFuture<Optional<Point>> move = new BackgroundStrategy(new FlipMostCells(),
+        executor).chooseMoveAsync(model, PieceColor.WHITE, Deadline.none(), p -> { });
+    model.playMove(1, 2, PieceColor.WHITE);
+    gate.complete(null);
+    assertEquals(Optional.of(new Point(1, 2)), move.get());
+    executor.shutdown();
+  }
+
+  @Test
+  public void testCancellingTheFutureCancelsTheDeadline() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Deadline deadline = Deadline.none();
+    CompletableFuture<Void> gate = new CompletableFuture<>();
+    executor.execute(gate::join);
+    CompletableFuture<Optional<Point>> move = new BackgroundStrategy(new FlipMostCells(),
+        executor).chooseMoveAsync(new HexagonalReversi(7), PieceColor.WHITE, deadline, p -> { });
+    move.cancel(false);
+    gate.complete(null);
+    assertTrue(deadline.isCancelled());
+    assertTrue(deadline.isHardExpired());
+    executor.shutdown();
+  }
+
+  @Test
+  public void testParallelFallbacksWaitForHigherPriorityStrategies() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CompletableFuture<Void> gate = new CompletableFuture<>();
+    ReversiStrategy slowFailure = (model, color) -> {
+      gate.join();
+      return Optional.empty();
+    };
+    ReversiStrategy fast = (model, color) -> Optional.of(new Point(5, 2));
+    CompletableFuture<Optional<Point>> move = new ParallelStrategyWithFallbacks(executor,
+        slowFailure, fast).chooseMoveAsync(new HexagonalReversi(7), PieceColor.WHITE,
+        Deadline.none(), p -> { });
+    Thread.sleep(50);
+    assertFalse(move.isDone());
+    gate.complete(null);
+    assertEquals(Optional.of(new Point(5, 2)), move.get());
+    executor.shutdown();
+  }
+
+  @Test
+  public void testParallelFallbacksCancelLowerPriorityStrategies() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CompletableFuture<Deadline> started = new CompletableFuture<>();
+    TimedReversiStrategy endless = new TimedReversiStrategy() {
+      @Override
+      public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor color) {
+        return this.chooseMove(model, color, Deadline.none());
+      }
+
+      @Override
+      public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor color,
+                                        Deadline deadline, Consumer<Point> onImprovement) {
+        started.complete(deadline);
+        while (!deadline.isHardExpired()) {
+          Thread.onSpinWait();
+        }
+        return Optional.empty();
+      }
+    };
+    ReversiStrategy afterEndlessStarts = (model, color) -> {
+      started.join();
+      return new FlipMostCells().chooseMove(model, color);
+    };
+    Deadline deadline = Deadline.none();
+    ReversiStrategy strat = new ParallelStrategyWithFallbacks(executor, afterEndlessStarts,
+        endless);
+    Optional<Point> move = ((TimedReversiStrategy) strat).chooseMove(new HexagonalReversi(7),
+        PieceColor.WHITE, deadline);
+    assertEquals(new FlipMostCells().chooseMove(new HexagonalReversi(7), PieceColor.WHITE),
+        move);
+    assertTrue(started.get().isCancelled());
+    assertFalse(deadline.isCancelled());
+    executor.shutdown();
+  }
+
+  @Test
+  public void testScheduledAiGameAppliesEveryMoveOnTheGameThread() throws Exception {
+    ExecutorService ui = Executors.newSingleThreadExecutor();
+    TurnScheduler scheduler = new TurnScheduler(2, ui);
+    AtomicBoolean onGameThread = new AtomicBoolean(true);
+    ReversiModel model = new HexagonalReversi(7) {
+      @Override
+      public void playMove(int row, int col, PieceColor pieceColor) {
+        onGameThread.compareAndSet(true, scheduler.isGameThread());
+        super.playMove(row, col, pieceColor);
+      }
+    };
+    CountDownLatch over = new CountDownLatch(1);
+    for (PieceColor color : PieceColor.values()) {
+      AIPlayer player = new AIPlayer(model, color, AIDifficulty.EASY);
+      scheduler.schedule(player);
+      new ReversiController(model, player, new GraphicsView() {
+        @Override
+        public void addFeatureListener(ViewFeatures features) {
+          // this view never requests moves.
+        }
+
+        @Override
+        public void setVisible(boolean visible) {
+          // this view is never shown.
+        }
+
+        @Override
+        public void refresh() {
+          onGameThread.compareAndSet(true, !scheduler.isGameThread());
+        }
+
+        @Override
+        public void notifyTurn(Player player) {
+          // the AI players move on their own.
+        }
+
+        @Override
+        public void notifyMessageDialog(String message) {
+          over.countDown();
+        }
+      }, scheduler);
+    }
+    scheduler.getGameExecutor().execute(model::startGame);
+    assertTrue(over.await(30, TimeUnit.SECONDS));
+    assertTrue(model.isGameOver());
+    assertTrue(onGameThread.get());
+    scheduler.shutdown();
+    ui.shutdown();
+  }
+
+  @Test
+  public void testMoveServiceSharesSearchesOfTheSamePosition() throws Exception {
+    ReversiModel model = new HexagonalReversi(7);
+    model.startGame();
+    MoveService service = MoveService.forGame(model);
+    assertTrue(service == MoveService.forGame(model));
+    AtomicInteger started = new AtomicInteger();
+    CompletableFuture<Optional<Point>> search = new CompletableFuture<>();
+    Deadline deadline = Deadline.none();
+    CompletableFuture<Optional<Point>> first = service.request(model, PieceColor.WHITE,
+        AIDifficulty.EASY, deadline, () -> {
+          started.incrementAndGet();
+          return search;
+        });
+    CompletableFuture<Optional<Point>> second = service.request(model.getModelCopy(),
+        PieceColor.WHITE, AIDifficulty.EASY, Deadline.none(), () -> {
+          started.incrementAndGet();
+          return new CompletableFuture<>();
+        });
+    assertEquals(1, started.get());
+    second.cancel(true);
+    search.complete(Optional.of(new Point(1, 2)));
+    assertEquals(Optional.of(new Point(1, 2)), first.get());
+    service.request(model, PieceColor.WHITE, AIDifficulty.HARD, Deadline.none(),
+        () -> CompletableFuture.completedFuture(Optional.empty()));
+    deadline.cancel();
+    service.request(model, PieceColor.WHITE, AIDifficulty.EASY, Deadline.none(),
+        () -> CompletableFuture.completedFuture(Optional.empty()));
+    assertEquals(3, service.getComputedCount());
+    assertEquals(1, service.getSharedCount());
+  }
+
+  @Test
+  public void testAiSearchesChooseTheSameMovesAsTheirStrategies() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (AIDifficulty difficulty : AIDifficulty.values()) {
+        ReversiModel model = new HexagonalReversi(7);
+        ReversiStrategy strategy = AIPlayer.strategyFor(difficulty);
+        AsyncReversiStrategy search = AIPlayer.searchFor(difficulty, executor);
+        while (!model.isGameOver()) {
+          PieceColor color = model.getPlayerColor();
+          Optional<Point> move = strategy.chooseMove(model, color);
+          assertEquals(move, search.chooseMoveAsync(model, color, Deadline.none(),
+              improved -> { }).join());
+          if (move.isPresent()) {
+            model.playMove(move.get().x, move.get().y, color);
+          } else {
+            model.pass(color);
+          }
+        }
+      }
+      assertTrue(AIPlayer.searchFor(AIDifficulty.HARD, executor)
+          instanceof ParallelStrategyWithFallbacks);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
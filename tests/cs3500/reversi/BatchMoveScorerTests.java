@@ -0,0 +1,108 @@
+package cs3500.reversi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.List;
+
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.mock.MockHexagonalReversi;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.model.types.ReversiCellPair;
+import cs3500.reversi.strategy.BatchMoveScorer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link BatchMoveScorer} scores moves the same way as playing each move
+ * on a copy of the model.
+ */
+
+public final class BatchMoveScorerTests {
+
+  private ReversiModel model;
+
+  @Before
+  public void init() {
+    this.model = new HexagonalReversi(7);
+  }
+
+  /**
+   * Checks every scored move of the current position against a copy of the model.
+   */
+
+  private void assertMatchesCopies() {
+    PieceColor color = this.model.getPlayerColor();
+    BatchMoveScorer scorer = BatchMoveScorer.of(this.model, color);
+    List<List<ReversiCellPair>> board = this.model.getBoardCopy();
+    int index = 0;
+    for (int row = 0; row < board.size(); row++) {
+      for (int col = 0; col < board.get(row).size(); col++) {
+        if (!this.model.isValidMove(row, col, color)) {
+          continue;
+        }
+        assertEquals(new Point(row, col), scorer.getPoint(index));
+        ReversiModel copy = this.model.getModelCopy();
+        copy.playMove(row, col, color);
+        assertEquals(copy.getScore(color), scorer.getDiscCounts()[index]);
+        index++;
+      }
+    }
+    assertEquals(index, scorer.size());
+  }
+
+  @Test
+  public void testStartingPositionMatchesModelCopies() {
+    this.assertMatchesCopies();
+    BatchMoveScorer scorer = BatchMoveScorer.of(this.model, PieceColor.WHITE);
+    assertEquals(6, scorer.size());
+    assertArrayEquals(new int[] {0, 0, 0, 0, 0, 0}, scorer.getCornerCounts());
+    assertEquals(37, scorer.getBoardSize());
+  }
+
+  @Test
+  public void testPlayedOutGameMatchesModelCopies() {
+    while (!this.model.isGameOver()) {
+      BatchMoveScorer scorer = BatchMoveScorer.of(this.model, this.model.getPlayerColor());
+      if (scorer.size() == 0) {
+        this.model.pass(this.model.getPlayerColor());
+        continue;
+      }
+      this.assertMatchesCopies();
+      Point move = scorer.getPoint(scorer.bestByDiscCount(null));
+      this.model.playMove(move.x, move.y, this.model.getPlayerColor());
+    }
+  }
+
+  @Test
+  public void testCornerAndEdgeOwnership() {
+    this.model.playMove(1, 2, PieceColor.WHITE);
+    this.model.playMove(0, 1, PieceColor.BLACK);
+    this.model.playMove(0, 2, PieceColor.WHITE);
+    BatchMoveScorer scorer = BatchMoveScorer.of(this.model, PieceColor.BLACK);
+    int corner = -1;
+    for (int i = 0; i < scorer.size(); i++) {
+      if (scorer.getPoint(i).equals(new Point(0, 3))) {
+        corner = i;
+      }
+    }
+    assertTrue(corner != -1);
+    assertEquals(1, scorer.getCornerCounts()[corner]);
+    assertTrue(scorer.getEdgeCounts()[corner] >= 2);
+  }
+
+  @Test
+  public void testCannotScoreWrongTurnOrMockModels() {
+    assertFalse(BatchMoveScorer.canScore(this.model, PieceColor.BLACK));
+    assertFalse(BatchMoveScorer.canScore(
+            new MockHexagonalReversi(new StringBuilder(), 7), PieceColor.WHITE));
+    assertThrows(IllegalArgumentException.class,
+        () -> BatchMoveScorer.of(this.model, PieceColor.BLACK));
+  }
+}
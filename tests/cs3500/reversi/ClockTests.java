@@ -0,0 +1,81 @@
+package cs3500.reversi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import cs3500.reversi.clock.Deadline;
+import cs3500.reversi.clock.GameClock;
+import cs3500.reversi.clock.TimeManager;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the game clock and the time manager, measured with a fake time source.
+ */
+
+public final class ClockTests {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private long now;
+  private ReversiModel model;
+  private GameClock clock;
+
+  @Before
+  public void init() {
+    this.now = 0;
+    this.model = new HexagonalReversi(7);
+    this.clock = new GameClock(this.model, 60 * SECOND, 2 * SECOND, () -> this.now);
+  }
+
+  @Test
+  public void testClockRunsOnlyForPlayerToMove() {
+    this.model.startGame();
+    this.now += 5 * SECOND;
+    assertEquals(55 * SECOND, this.clock.getRemainingNanos(PieceColor.WHITE));
+    assertEquals(60 * SECOND, this.clock.getRemainingNanos(PieceColor.BLACK));
+    this.model.playMove(1, 2, PieceColor.WHITE);
+    this.now += 3 * SECOND;
+    assertEquals(57 * SECOND, this.clock.getRemainingNanos(PieceColor.WHITE));
+    assertEquals(57 * SECOND, this.clock.getRemainingNanos(PieceColor.BLACK));
+  }
+
+  @Test
+  public void testDeadlineExpiresSoftThenHard() {
+    Deadline deadline = Deadline.after(SECOND, 3 * SECOND, () -> this.now);
+    assertFalse(deadline.isSoftExpired());
+    this.now += 2 * SECOND;
+    assertTrue(deadline.isSoftExpired());
+    assertFalse(deadline.isHardExpired());
+    this.now += SECOND;
+    assertTrue(deadline.isHardExpired());
+    assertFalse(Deadline.none().isHardExpired());
+  }
+
+  @Test
+  public void testTimeManagerNeverAllocatesMoreThanIsLeft() {
+    this.model.startGame();
+    for (long left = 60 * SECOND; left > 0; left /= 4) {
+      this.now += this.clock.getRemainingNanos(PieceColor.WHITE) - left;
+      Deadline deadline = new TimeManager().allocate(this.clock, this.model, PieceColor.WHITE);
+      assertTrue(deadline.getRemainingNanos() < left);
+    }
+  }
+
+  @Test
+  public void testClockResumesFromRemainingTimes() {
+    GameClock resumed = new GameClock(this.model, 10 * SECOND, -SECOND, SECOND, () -> this.now);
+    this.model.startGame();
+    this.now += 4 * SECOND;
+    assertEquals(6 * SECOND, resumed.getRemainingNanos(PieceColor.WHITE));
+    assertTrue(resumed.hasFlagged(PieceColor.BLACK));
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameClock(this.model, SECOND, SECOND, -SECOND, () -> this.now));
+  }
+}
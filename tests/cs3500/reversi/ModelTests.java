@@ -21,14 +21,43 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.awt.Point;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.Cell;
+import cs3500.reversi.model.ConcurrentReversiModel;
+import cs3500.reversi.model.GameRegistry;
+import cs3500.reversi.model.ModelChange;
+import cs3500.reversi.model.Position;
+import cs3500.reversi.model.PositionCodec;
+import cs3500.reversi.model.types.CellClass;
+import cs3500.reversi.model.types.Direction;
 import cs3500.reversi.model.types.HexCell;
 import cs3500.reversi.model.types.HexCellState;
 import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ListenerMailbox;
+import cs3500.reversi.model.ModelFeatures;
+import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.model.types.ReversiCellPair;
+import cs3500.reversi.strategy.FlipMostCells;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -366,4 +395,426 @@ public final class ModelTests {
     assertEquals("(0, 1, -1)", new HexCell(0, 1).toString());
     assertEquals("(1, 1, -2)", new HexCell(1, 1).toString());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testBoardGeometryMatchesModelCells() {
+    BoardGeometry geometry = BoardGeometry.of(3);
+    List<List<ReversiCellPair>> board = new HexagonalReversi(7).getBoardCopy();
+    int index = 0;
+    for (int row = 0; row < board.size(); row++) {
+      assertEquals(board.get(row).size(), geometry.getRowLength(row));
+      for (int col = 0; col < board.get(row).size(); col++) {
+        Cell cell = board.get(row).get(col).getCell();
+        assertEquals(index, geometry.indexOf(row, col));
+        assertEquals(index, geometry.indexOfAxial(cell.getQ(), cell.getR()));
+        assertEquals(cell.getQ(), geometry.getQ(index));
+        assertEquals(cell.getR(), geometry.getR(index));
+        index++;
+      }
+    }
+    assertEquals(index, geometry.size());
+    assertEquals(-1, geometry.indexOf(0, 4));
+    assertEquals(-1, geometry.indexOfAxial(3, 1));
+    assertSame(geometry, BoardGeometry.of(3));
+  }
+
+  @Test
+  public void testBoardGeometryNeighborsAndClasses() {
+    BoardGeometry geometry = BoardGeometry.of(3);
+    int corner = geometry.indexOf(0, 0);
+    assertEquals(CellClass.CORNER, geometry.getCellClass(corner));
+    assertEquals(geometry.indexOf(0, 1), geometry.getNeighbor(corner, Direction.EAST));
+    assertEquals(-1, geometry.getNeighbor(corner, Direction.NORTHWEST));
+    assertEquals(CellClass.NEXT_TO_CORNER, geometry.getCellClass(geometry.indexOf(1, 1)));
+    assertEquals(CellClass.INTERIOR, geometry.getCellClass(geometry.indexOf(3, 3)));
+    assertEquals(6, geometry.getCells(CellClass.CORNER).length);
+    assertThrows(IllegalArgumentException.class, () -> BoardGeometry.of(0));
+  }
+
+  @Test
+  public void testChangeListenersAreToldExactlyWhatChanged() {
+    ReversiModel game = new HexagonalReversi(7);
+    List<ModelChange> changes = new ArrayList<>();
+    List<String> order = new ArrayList<>();
+    game.addChangeListener(change -> {
+      changes.add(change);
+      order.add("change");
+    });
+    game.addFeatureListener(() -> order.add("turn"));
+    BoardGeometry geometry = BoardGeometry.of(game.getRadius());
+    String[] before = new String[geometry.size()];
+    for (int index = 0; index < geometry.size(); index++) {
+      before[index] = game.getStateOf(geometry.getRow(index), geometry.getCol(index));
+    }
+    Point played = new FlipMostCells().chooseMove(game, PieceColor.WHITE).get();
+    game.playMove(played.x, played.y, PieceColor.WHITE);
+    ModelChange move = changes.get(0);
+    List<Point> changed = new ArrayList<>(move.getFlippedCells());
+    changed.add(move.getPlacedCell().get());
+    for (int index = 0; index < geometry.size(); index++) {
+      Point cell = new Point(geometry.getRow(index), geometry.getCol(index));
+      assertEquals(changed.contains(cell),
+          !before[index].equals(game.getStateOf(cell.x, cell.y)));
+    }
+    assertEquals(played, move.getPlacedCell().get());
+    assertFalse(move.isPass());
+    assertEquals(PieceColor.WHITE, move.getPieceColor());
+    assertEquals(game.getScore(PieceColor.WHITE), move.getScore(PieceColor.WHITE));
+    assertEquals(game.getScore(PieceColor.BLACK), move.getScore(PieceColor.BLACK));
+    assertEquals(game.getTurn(), move.getTurn());
+
+    game.pass(PieceColor.BLACK);
+    ModelChange pass = changes.get(1);
+    assertTrue(pass.isPass());
+    assertTrue(pass.getFlippedCells().isEmpty());
+    assertFalse(pass.getPlacedCell().isPresent());
+    assertEquals(PieceColor.BLACK, pass.getPieceColor());
+    assertEquals(List.of("change", "turn", "change", "turn"), order);
+  }
+
+  @Test
+  public void testMailboxesCoalesceTurnsAndKeepEveryChange() {
+    ReversiModel game = new HexagonalReversi(7);
+    Queue<Runnable> mailbox = new ArrayDeque<>();
+    List<String> delivered = new ArrayList<>();
+    game.addFeatureListener(() -> delivered.add("turn " + game.getTurn()), mailbox::add);
+    game.addChangeListener(change -> delivered.add("change " + change.getTurn()), mailbox::add);
+    for (int move = 0; move < 3; move++) {
+      PieceColor color = game.getPlayerColor();
+      Point played = new FlipMostCells().chooseMove(game, color).get();
+      game.playMove(played.x, played.y, color);
+    }
+    assertTrue(delivered.isEmpty());
+    assertEquals(2, mailbox.size());
+    while (!mailbox.isEmpty()) {
+      mailbox.poll().run();
+    }
+    assertEquals(List.of("change 2", "change 3", "change 4", "turn 4"), delivered);
+    game.pass(game.getPlayerColor());
+    assertEquals(2, mailbox.size());
+  }
+
+  @Test
+  public void testCoalescingMailboxNeverOverlapsDeliveries() throws InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      AtomicInteger active = new AtomicInteger();
+      AtomicInteger overlaps = new AtomicInteger();
+      AtomicInteger deliveries = new AtomicInteger();
+      ModelFeatures mailbox = ListenerMailbox.coalescing(() -> {
+        if (active.incrementAndGet() > 1) {
+          overlaps.incrementAndGet();
+        }
+        Thread.yield();
+        deliveries.incrementAndGet();
+        active.decrementAndGet();
+      }, pool);
+      Thread[] posters = new Thread[4];
+      for (int poster = 0; poster < posters.length; poster++) {
+        posters[poster] = new Thread(() -> {
+          for (int post = 0; post < 20_000; post++) {
+            mailbox.notifyTurn();
+          }
+        });
+        posters[poster].start();
+      }
+      for (Thread poster : posters) {
+        poster.join();
+      }
+      int before = deliveries.get();
+      mailbox.notifyTurn();
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (deliveries.get() == before && System.currentTimeMillis() < deadline) {
+        Thread.sleep(1);
+      }
+      assertTrue(deliveries.get() > before);
+      assertEquals(0, overlaps.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testConcurrentModelPublishesImmutableSnapshots() throws InterruptedException {
+    ConcurrentReversiModel game = new ConcurrentReversiModel(new HexagonalReversi(7));
+    List<Integer> seenTurns = new ArrayList<>();
+    game.addChangeListener(change -> seenTurns.add(game.getTurn()));
+    ReadonlyReversiModel before = game.snapshot();
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread reader = new Thread(() -> {
+      try {
+        while (running.get()) {
+          ReadonlyReversiModel snapshot = game.snapshot();
+          int discs = 0;
+          for (List<ReversiCellPair> row : snapshot.getBoardCopy()) {
+            for (ReversiCellPair pair : row) {
+              discs += pair.getState().equals("_") ? 0 : 1;
+            }
+          }
+          assertEquals(discs, snapshot.getScore(PieceColor.WHITE)
+              + snapshot.getScore(PieceColor.BLACK));
+        }
+      } catch (Throwable e) {
+        failure.set(e);
+      }
+    });
+    reader.start();
+    while (!game.isGameOver()) {
+      PieceColor color = game.getPlayerColor();
+      Optional<Point> move = new FlipMostCells().chooseMove(game, color);
+      if (move.isPresent()) {
+        game.playMove(move.get().x, move.get().y, color);
+      } else {
+        game.pass(color);
+      }
+    }
+    running.set(false);
+    reader.join();
+    assertEquals(null, failure.get());
+    assertEquals(1, before.getTurn());
+    assertEquals(6, before.getScore(PieceColor.WHITE) + before.getScore(PieceColor.BLACK));
+    assertEquals(game.getTurn() - 1, game.getVersion());
+    assertEquals(seenTurns.size(), game.getVersion());
+    for (int i = 0; i < seenTurns.size(); i++) {
+      assertEquals(i + 2, (int) seenTurns.get(i));
+    }
+  }
+
+  @Test
+  public void testPositionsFollowTheModelThroughAGame() {
+    ReversiModel game = new HexagonalReversi(9);
+    BoardGeometry geometry = BoardGeometry.of(game.getRadius());
+    Position position = game.getPosition();
+    Position start = position;
+    assertEquals(Position.of(game), position);
+    assertSame(position, game.getPosition());
+    while (!game.isGameOver()) {
+      PieceColor color = game.getPlayerColor();
+      assertEquals(color, position.getPlayerColor());
+      Optional<Point> move = new FlipMostCells().chooseMove(game, color);
+      if (move.isPresent()) {
+        int index = geometry.indexOf(move.get().x, move.get().y);
+        assertEquals(game.getCellsThatWillBeFlipped(new HexCell(geometry.getQ(index),
+            geometry.getR(index)), color).size(), position.getFlips(index, color).length);
+        position = position.play(index);
+        game.playMove(move.get().x, move.get().y, color);
+      } else {
+        position = position.pass();
+        game.pass(color);
+      }
+      assertEquals(game.getPosition(), position);
+      assertEquals(game.getScore(PieceColor.WHITE), position.getScore(PieceColor.WHITE));
+      assertEquals(game.getScore(PieceColor.BLACK), position.getScore(PieceColor.BLACK));
+    }
+    assertTrue(position.isGameOver());
+    assertEquals(1, start.getTurn());
+    assertEquals(3, start.getScore(PieceColor.WHITE));
+    assertEquals(position.getKey(), Position.of(game.getModelCopy()).getKey());
+    assertThrows(IllegalStateException.class, () -> start.play(0));
+  }
+
+  @Test
+  public void testUndoAndRedoRestoreEveryPosition() {
+    ReversiModel game = new HexagonalReversi(7);
+    List<ModelChange> changes = new ArrayList<>();
+    game.addChangeListener(changes::add);
+    List<Position> positions = new ArrayList<>();
+    positions.add(game.getPosition());
+    assertFalse(game.canUndo());
+    while (!game.isGameOver()) {
+      PieceColor color = game.getPlayerColor();
+      Optional<Point> move = new FlipMostCells().chooseMove(game, color);
+      if (move.isPresent()) {
+        game.playMove(move.get().x, move.get().y, color);
+      } else {
+        game.pass(color);
+      }
+      positions.add(game.getPosition());
+    }
+    int plies = changes.size();
+    for (int ply = positions.size() - 2; ply >= 0; ply--) {
+      game.undo();
+      assertEquals(positions.get(ply), game.getPosition());
+      assertEquals(positions.get(ply), Position.of(game));
+    }
+    assertFalse(game.canUndo());
+    assertThrows(IllegalStateException.class, game::undo);
+    ModelChange undone = changes.get(changes.size() - 1);
+    assertTrue(undone.isUndone());
+    assertEquals(changes.get(0).getPlacedCell(), undone.getPlacedCell());
+    assertEquals(changes.get(0).getFlippedCells(), undone.getFlippedCells());
+    assertEquals(3, undone.getScore(PieceColor.WHITE));
+    for (int ply = 1; ply < positions.size(); ply++) {
+      game.redo();
+      assertEquals(positions.get(ply), game.getPosition());
+    }
+    assertFalse(game.canRedo());
+    assertTrue(game.isGameOver());
+    assertEquals(changes.subList(0, plies), changes.subList(2 * plies, 3 * plies));
+
+    game.undo();
+    game.undo();
+    game.undo();
+    assertTrue(game.canRedo());
+    PieceColor color = game.getPlayerColor();
+    Optional<Point> move = new FlipMostCells().chooseMove(game, color);
+    game.playMove(move.get().x, move.get().y, color);
+    assertFalse(game.canRedo());
+  }
+
+  @Test
+  public void testReplayMatchesPlayingEveryPly() {
+    ReversiModel played = new HexagonalReversi(9);
+    BoardGeometry geometry = BoardGeometry.of(played.getRadius());
+    List<Integer> moves = new ArrayList<>();
+    while (!played.isGameOver()) {
+      PieceColor color = played.getPlayerColor();
+      Optional<Point> move = new FlipMostCells().chooseMove(played, color);
+      if (move.isPresent()) {
+        moves.add(geometry.indexOf(move.get().x, move.get().y));
+        played.playMove(move.get().x, move.get().y, color);
+      } else {
+        moves.add(Position.PASS);
+        played.pass(color);
+      }
+    }
+    int[] record = moves.stream().mapToInt(Integer::intValue).toArray();
+
+    ReversiModel replayed = new HexagonalReversi(9);
+    List<ModelChange> changes = new ArrayList<>();
+    List<String> turns = new ArrayList<>();
+    replayed.addChangeListener(changes::add);
+    replayed.addFeatureListener(() -> turns.add("turn"));
+    replayed.replay(record);
+    assertEquals(played.getPosition(), replayed.getPosition());
+    assertEquals(played.getScore(PieceColor.BLACK), replayed.getScore(PieceColor.BLACK));
+    assertTrue(replayed.isGameOver());
+    assertEquals(1, changes.size());
+    assertTrue(changes.get(0).isReplay());
+    assertEquals(played.getScore(PieceColor.WHITE), changes.get(0).getScore(PieceColor.WHITE));
+    assertEquals(List.of("turn"), turns);
+    replayed.undo();
+    played.undo();
+    assertEquals(played.getPosition(), replayed.getPosition());
+
+    ReversiModel fresh = new HexagonalReversi(9);
+    int[] illegal = record.clone();
+    illegal[5] = illegal[4];
+    assertThrows(IllegalStateException.class, () -> fresh.replay(illegal));
+    assertEquals(new HexagonalReversi(9).getPosition(), fresh.getPosition());
+    assertFalse(fresh.canUndo());
+  }
+
+  @Test
+  public void testPositionsRoundTripThroughBase3Packing() {
+    for (int rows = 5; rows <= 15; rows += 2) {
+      ReversiModel game = new HexagonalReversi(rows);
+      BoardGeometry geometry = BoardGeometry.of(game.getRadius());
+      int size = PositionCodec.sizeOf(geometry);
+      assertEquals(6 + (geometry.size() + 4) / 5, size);
+      List<Position> positions = new ArrayList<>();
+      ByteBuffer buffer = ByteBuffer.allocate(size * geometry.size() * 2);
+      while (!game.isGameOver()) {
+        positions.add(game.getPosition());
+        PositionCodec.encode(game.getPosition(), buffer);
+        PieceColor color = game.getPlayerColor();
+        Optional<Point> move = new FlipMostCells().chooseMove(game, color);
+        if (move.isPresent()) {
+          game.playMove(move.get().x, move.get().y, color);
+        } else {
+          game.pass(color);
+        }
+      }
+      assertEquals(positions.size() * size, buffer.position());
+      buffer.flip();
+      for (Position position : positions) {
+        assertEquals(position, PositionCodec.decode(buffer));
+      }
+      assertFalse(buffer.hasRemaining());
+
+      Position middle = positions.get(positions.size() / 2);
+      ReversiModel loaded = new HexagonalReversi(
+          PositionCodec.decode(ByteBuffer.wrap(PositionCodec.encode(middle))));
+      assertEquals(middle, loaded.getPosition());
+      assertEquals(middle.getScore(PieceColor.WHITE), loaded.getScore(PieceColor.WHITE));
+      for (int index = 0; index < geometry.size(); index++) {
+        PieceColor color = middle.getColor(index);
+        assertEquals(color == null ? HexCellState.EMPTY.toString() : color.toString(),
+            loaded.getStateOf(geometry.getRow(index), geometry.getCol(index)));
+      }
+      assertFalse(loaded.canUndo());
+    }
+
+    byte[] saved = PositionCodec.encode(new HexagonalReversi(7).getPosition());
+    saved[saved.length - 1] = (byte) 243;
+    assertThrows(IllegalArgumentException.class,
+        () -> PositionCodec.decode(ByteBuffer.wrap(saved)));
+    saved[saved.length - 1] = (byte) 242;
+    assertThrows(IllegalArgumentException.class,
+        () -> PositionCodec.decode(ByteBuffer.wrap(saved)));
+    assertThrows(IllegalArgumentException.class,
+        () -> PositionCodec.decode(ByteBuffer.wrap(saved, 0, saved.length - 1)));
+
+    byte[] header = PositionCodec.encode(new HexagonalReversi(7).getPosition());
+    ByteBuffer.wrap(header).putInt(2, 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> PositionCodec.decode(ByteBuffer.wrap(header)));
+    ByteBuffer.wrap(header).putInt(2, 1).put(1, (byte) 3);
+    assertThrows(IllegalArgumentException.class,
+        () -> PositionCodec.decode(ByteBuffer.wrap(header)));
+    header[1] = 2;
+    assertEquals(2, PositionCodec.decode(ByteBuffer.wrap(header)).getPasses());
+  }
+
+  @Test
+  public void testRegistryParksAndActivatesGames() {
+    GameRegistry registry = new GameRegistry(9);
+    List<Position> parked = new ArrayList<>();
+    List<Integer> ids = new ArrayList<>();
+    for (int game = 0; game < 100; game++) {
+      ReversiModel model = new HexagonalReversi(9);
+      for (int ply = 0; ply < game % 30 && !model.isGameOver(); ply++) {
+        PieceColor color = model.getPlayerColor();
+        Optional<Point> move = new FlipMostCells().chooseMove(model, color);
+        if (move.isPresent()) {
+          model.playMove(move.get().x, move.get().y, color);
+        } else {
+          model.pass(color);
+        }
+      }
+      parked.add(model.getPosition());
+      ids.add(game % 2 == 0 ? registry.park(model) : registry.park(model, game, -game));
+    }
+    assertEquals(100, registry.getGameCount());
+    for (int game = 0; game < 100; game++) {
+      int id = ids.get(game);
+      assertEquals(parked.get(game), registry.getPosition(id));
+      assertEquals(parked.get(game), registry.activate(id).getPosition());
+      assertEquals(game % 2 == 0 ? OptionalLong.empty() : OptionalLong.of(-game),
+          registry.getRemainingNanos(id, PieceColor.BLACK));
+    }
+
+    int id = ids.get(1);
+    ReversiModel active = registry.activate(id);
+    PieceColor color = active.getPlayerColor();
+    Point move = new FlipMostCells().chooseMove(active, color).get();
+    active.playMove(move.x, move.y, color);
+    registry.update(id, active);
+    assertEquals(active.getPosition(), registry.getPosition(id));
+    assertEquals(OptionalLong.of(1), registry.getRemainingNanos(id, PieceColor.WHITE));
+    registry.update(id, active, 5, 6);
+    assertEquals(OptionalLong.of(6), registry.getRemainingNanos(id, PieceColor.BLACK));
+
+    registry.remove(id);
+    assertFalse(registry.contains(id));
+    assertThrows(IllegalArgumentException.class, () -> registry.activate(id));
+    assertThrows(IllegalArgumentException.class, () -> registry.remove(id));
+    assertEquals(id, registry.park(new HexagonalReversi(9)));
+    assertEquals(new HexagonalReversi(9).getPosition(), registry.getPosition(id));
+    assertEquals(100, registry.getGameCount());
+    assertThrows(IllegalArgumentException.class, () -> registry.park(new HexagonalReversi(7)));
+    assertThrows(IllegalArgumentException.class, () -> registry.getPosition(-1));
+    assertThrows(IllegalArgumentException.class, () -> new GameRegistry(8));
+  }
+}
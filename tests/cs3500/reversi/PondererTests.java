@@ -0,0 +1,158 @@
+package cs3500.reversi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.player.Ponderer;
+import cs3500.reversi.strategy.FlipMostCells;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a {@link Ponderer} answers pondered positions with the same move a fresh
+ * search would choose, and misses positions it did not ponder.
+ */
+
+public final class PondererTests {
+
+  private ReversiModel model;
+  private Ponderer ponderer;
+
+  @Before
+  public void init() {
+    this.model = new HexagonalReversi(7);
+    this.ponderer = new Ponderer();
+  }
+
+  // Waits for the latch the way a search that ignores interrupts would.
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    while (latch.getCount() > 0) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  public void testPonderedReplyMatchesFreshSearch() {
+    this.ponderer.ponder(this.model.getModelCopy(), PieceColor.BLACK,
+        m -> new FlipMostCells().chooseMove(m, PieceColor.BLACK));
+    this.model.playMove(1, 2, PieceColor.WHITE);
+    Optional<Optional<Point>> pondered = this.ponderer.take(this.model);
+    assertTrue(pondered.isPresent());
+    assertEquals(new FlipMostCells().chooseMove(this.model, PieceColor.BLACK), pondered.get());
+    assertEquals(1, this.ponderer.getHits());
+  }
+
+  @Test
+  public void testCancelledPonderingMisses() {
+    this.ponderer.ponder(this.model.getModelCopy(), PieceColor.BLACK,
+        m -> new FlipMostCells().chooseMove(m, PieceColor.BLACK));
+    this.ponderer.cancel();
+    this.model.playMove(1, 2, PieceColor.WHITE);
+    assertFalse(this.ponderer.take(this.model).isPresent());
+    assertEquals(1, this.ponderer.getMisses());
+  }
+
+  @Test(timeout = 10_000)
+  public void testFailedEnumerationDoesNotBlockTaking() {
+    ReversiModel broken = new HexagonalReversi(7) {
+      @Override
+      public ReversiModel getModelCopy() {
+        throw new IllegalStateException("No copies.");
+      }
+    };
+    this.ponderer.ponder(broken, PieceColor.BLACK,
+        m -> new FlipMostCells().chooseMove(m, PieceColor.BLACK));
+    this.model.playMove(1, 2, PieceColor.WHITE);
+    assertFalse(this.ponderer.take(this.model).isPresent());
+    assertEquals(1, this.ponderer.getMisses());
+  }
+
+  @Test(timeout = 10_000)
+  public void testStalePonderingDoesNotDisturbTheNextOne() throws InterruptedException {
+    CountDownLatch searching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    this.ponderer.ponder(this.model.getModelCopy(), PieceColor.BLACK, m -> {
+      searching.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        // finish the search anyway, as a search that ignores interrupts would
+      }
+      return Optional.empty();
+    });
+    searching.await();
+    this.model.playMove(1, 2, PieceColor.WHITE);
+    this.ponderer.ponder(this.model.getModelCopy(), PieceColor.WHITE,
+        m -> new FlipMostCells().chooseMove(m, PieceColor.WHITE));
+    release.countDown();
+
+    ReversiModel next = this.model.getModelCopy();
+    Point reply = new FlipMostCells().chooseMove(next, PieceColor.BLACK).get();
+    next.playMove(reply.x, reply.y, PieceColor.BLACK);
+    Optional<Optional<Point>> pondered = this.ponderer.take(next);
+    assertTrue(pondered.isPresent());
+    assertEquals(new FlipMostCells().chooseMove(next, PieceColor.WHITE), pondered.get());
+  }
+
+  @Test(timeout = 10_000)
+  public void testTakingBehindStaleSearchGivesUp() throws InterruptedException {
+    CountDownLatch searching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    this.ponderer.ponder(this.model.getModelCopy(), PieceColor.BLACK, m -> {
+      searching.countDown();
+      awaitUninterruptibly(release);
+      return Optional.empty();
+    });
+    searching.await();
+    this.model.playMove(1, 2, PieceColor.WHITE);
+    this.ponderer.ponder(this.model.getModelCopy(), PieceColor.WHITE,
+        m -> new FlipMostCells().chooseMove(m, PieceColor.WHITE));
+
+    ReversiModel next = this.model.getModelCopy();
+    Point reply = new FlipMostCells().chooseMove(next, PieceColor.BLACK).get();
+    next.playMove(reply.x, reply.y, PieceColor.BLACK);
+    assertFalse(this.ponderer.take(next).isPresent());
+    assertEquals(1, this.ponderer.getMisses());
+    release.countDown();
+  }
+
+  @Test(timeout = 10_000)
+  public void testWaitingForAnAnswerDoesNotLockThePonderer() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<ReversiModel> searched = new AtomicReference<>();
+    CountDownLatch searching = new CountDownLatch(1);
+    this.ponderer.ponder(this.model.getModelCopy(), PieceColor.BLACK, m -> {
+      searched.set(m.getModelCopy());
+      searching.countDown();
+      awaitUninterruptibly(release);
+      return Optional.empty();
+    });
+    searching.await();
+    CompletableFuture<Optional<Optional<Point>>> taken =
+        CompletableFuture.supplyAsync(() -> this.ponderer.take(searched.get()));
+    Thread.sleep(50);
+    this.ponderer.cancel();
+    assertFalse(taken.get(5, TimeUnit.SECONDS).isPresent());
+    release.countDown();
+  }
+}
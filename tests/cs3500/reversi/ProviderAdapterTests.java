@@ -0,0 +1,116 @@
+package cs3500.reversi;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import cs3500.reversi.adapter.ModelAdapter;
+import cs3500.reversi.adapter.NativeMaxCaptureStrategy;
+import cs3500.reversi.adapter.ReadonlyModelAdapter;
+import cs3500.reversi.model.ConcurrentReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.provider.model.AxialCoordinate;
+import cs3500.reversi.provider.model.CellType;
+import cs3500.reversi.provider.model.Piece;
+import cs3500.reversi.provider.strategy.MaxCaptureStrategy;
+import cs3500.reversi.provider.strategy.Move;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for adapting our model to the provider's interfaces.
+ */
+
+public final class ProviderAdapterTests {
+
+  @Test
+  public void testProviderBoardIsALiveView() {
+    ModelAdapter model = new ModelAdapter(7);
+    Map<AxialCoordinate, CellType> board = model.getProviderBoard();
+    assertEquals(37, board.size());
+    assertEquals(37, board.entrySet().size());
+    AxialCoordinate move = new AxialCoordinate(1, -2);
+    assertEquals(Piece.EMPTY, board.get(move).getPiece());
+    model.playMove(1, 2, PieceColor.WHITE);
+    assertEquals(Piece.WHITE, board.get(move).getPiece());
+    assertEquals("O", model.getHexagonAt(move).toString());
+    assertSame(board, model.getProviderBoard());
+  }
+
+  @Test
+  public void testProviderBoardLooksUpCoordinates() {
+    ModelAdapter model = new ModelAdapter(7);
+    Map<AxialCoordinate, CellType> board = model.getProviderBoard();
+    assertTrue(board.containsKey(new AxialCoordinate(0, -3)));
+    assertFalse(board.containsKey(new AxialCoordinate(3, 1)));
+    assertNull(model.getHexagonAt(new AxialCoordinate(3, 1)));
+    assertEquals(Piece.BLACK, board.get(new AxialCoordinate(1, 0)).getPiece());
+  }
+
+  @Test
+  public void testProviderBoardIsReadOnly() {
+    ModelAdapter model = new ModelAdapter(7);
+    Map<AxialCoordinate, CellType> board = model.getProviderBoard();
+    AxialCoordinate center = new AxialCoordinate(0, 0);
+    assertThrows(UnsupportedOperationException.class, () -> board.remove(center));
+    assertThrows(UnsupportedOperationException.class,
+        () -> board.get(center).setPiece(Piece.BLACK));
+  }
+
+  @Test
+  public void testNativeMaxCaptureMatchesProviderStrategy() {
+    Random random = new Random(3500);
+    for (int game = 0; game < 5; game++) {
+      ModelAdapter model = new ModelAdapter(9);
+      while (!model.isGameOver()) {
+        Piece piece = model.getCurrentTurn();
+        Optional<AxialCoordinate> expected = new MaxCaptureStrategy().chooseMove(model, piece);
+        assertEquals(expected, new NativeMaxCaptureStrategy().chooseMove(model, piece));
+        assertEquals(captures(new MaxCaptureStrategy().getBestMoves(model, piece)),
+            captures(new NativeMaxCaptureStrategy().getBestMoves(model, piece)));
+        List<Move> moves = new MaxCaptureStrategy().getBestMoves(model, piece);
+        if (moves.isEmpty()) {
+          model.passTurn();
+        } else {
+          model.placePiece(piece, moves.get(random.nextInt(moves.size())).getCoord());
+        }
+      }
+    }
+  }
+
+  private static Map<AxialCoordinate, Integer> captures(List<Move> moves) {
+    Map<AxialCoordinate, Integer> captures = new HashMap<>();
+    for (Move move : moves) {
+      captures.put(move.getCoord(), move.getScoreAdded());
+    }
+    return captures;
+  }
+
+  @Test
+  public void testReadonlyAdapterReadsTheFacadeSnapshots() {
+    ModelAdapter model = new ModelAdapter(7);
+    ConcurrentReversiModel game = new ConcurrentReversiModel(model);
+    ReadonlyModelAdapter reads = new ReadonlyModelAdapter(game);
+    AxialCoordinate move = new AxialCoordinate(1, -2);
+    assertEquals(3, reads.getRadius());
+    assertFalse(reads.isBlackTurn());
+    assertTrue(reads.isValidMove(Piece.WHITE, move));
+    assertTrue(reads.anyValidMoves(Piece.WHITE));
+    game.playMove(1, 2, PieceColor.WHITE);
+    assertEquals(Piece.WHITE, reads.getHexagonAt(move).getPiece());
+    assertEquals(Piece.WHITE, reads.getProviderBoard().get(move).getPiece());
+    assertEquals(Piece.BLACK, reads.getCurrentTurn());
+    assertEquals(model.getScore(PieceColor.WHITE), reads.getScore(Piece.WHITE));
+    assertEquals(Optional.empty(), reads.getGameWinner());
+    assertThrows(IllegalArgumentException.class, () -> new ReadonlyModelAdapter(null));
+  }
+}
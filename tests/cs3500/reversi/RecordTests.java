@@ -0,0 +1,554 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi;
+
+import org.junit.Test;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import cs3500.reversi.model.BoardGeometry;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.Position;
+import cs3500.reversi.model.PositionKey;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.BookMove;
+import cs3500.reversi.record.GameDatabase;
+import cs3500.reversi.record.GameLog;
+import cs3500.reversi.record.GameRecord;
+import cs3500.reversi.record.GameRecordReader;
+import cs3500.reversi.record.GameRecordWriter;
+import cs3500.reversi.record.GameResult;
+import cs3500.reversi.record.MoveStats;
+import cs3500.reversi.record.OpeningBook;
+import cs3500.reversi.record.OpeningBookBuilder;
+import cs3500.reversi.record.PositionMatches;
+import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.strategy.OpeningBookStrategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests storing and loading recorded games of Reversi.
+ */
+public final class RecordTests {
+
+  // Plays a game with the provided number of rows to the end, always flipping the most cells.
+  private static ReversiModel playOut(int rows) {
+    ReversiModel model = new HexagonalReversi(rows);
+    while (!model.isGameOver()) {
+      PieceColor color = model.getPlayerColor();
+      Optional<Point> move = new FlipMostCells().chooseMove(model, color);
+      if (move.isPresent()) {
+        model.playMove(move.get().x, move.get().y, color);
+      } else {
+        model.pass(color);
+      }
+    }
+    return model;
+  }
+
+  // Plays a game on a board of the provided radius to the end, choosing moves at random.
+  private static GameRecord randomGame(int radius, Random random) {
+    Position position = new HexagonalReversi(2 * radius + 1).getPosition();
+    List<Integer> moves = new ArrayList<>();
+    while (!position.isGameOver()) {
+      List<Integer> valid = new ArrayList<>();
+      for (int index = 0; index < position.getGeometry().size(); index++) {
+        if (position.isValidMove(index, position.getPlayerColor())) {
+          valid.add(index);
+        }
+      }
+      int move = valid.isEmpty() ? Position.PASS : valid.get(random.nextInt(valid.size()));
+      moves.add(move);
+      position = move == Position.PASS ? position.pass() : position.play(move);
+    }
+    int black = position.getScore(PieceColor.BLACK);
+    int white = position.getScore(PieceColor.WHITE);
+    return new GameRecord(radius, moves.stream().mapToInt(Integer::intValue).toArray(),
+        black == white ? GameResult.DRAW : GameResult.winFor(black > white
+            ? PieceColor.BLACK : PieceColor.WHITE), null);
+  }
+
+  // Gets the position a game reached after the provided number of plies.
+  private static Position positionAt(GameRecord record, int plies) {
+    Position position = new HexagonalReversi(2 * record.getRadius() + 1).getPosition();
+    int[] moves = record.getMoves();
+    for (int ply = 0; ply < plies; ply++) {
+      position = moves[ply] == Position.PASS ? position.pass() : position.play(moves[ply]);
+    }
+    return position;
+  }
+
+  // Gets the canonical form of a position.
+  private static PositionKey canonical(Position position) {
+    PositionKey key = position.getKey();
+    return key.transform(key.getCanonicalSymmetry());
+  }
+
+  @Test
+  public void testDatabaseFindsGamesInAnyOrientation() throws IOException {
+    Path file = Files.createTempFile("games", ".rvdb");
+    try {
+      Random random = new Random(3500);
+      List<GameRecord> games = new ArrayList<>();
+      for (int game = 0; game < 60; game++) {
+        games.add(randomGame(2 + game % 2, random));
+      }
+      BoardGeometry geometry = BoardGeometry.of(3);
+      int[] rotated = games.get(1).getMoves();
+      for (int ply = 0; ply < rotated.length; ply++) {
+        if (rotated[ply] != Position.PASS) {
+          rotated[ply] = geometry.getSymmetric(rotated[ply], 2);
+        }
+      }
+      games.add(new GameRecord(3, rotated, null, null));
+
+      Position query = positionAt(games.get(1), 4);
+      int next = games.get(1).getMoves()[4];
+      PositionMatches before;
+      try (GameDatabase database = GameDatabase.open(file, Runnable::run)) {
+        for (GameRecord game : games) {
+          if (database.add(game) % 3 == 2) {
+            database.mergePending();
+          }
+        }
+        assertTrue(database.getRunCount() <= 6);
+        assertEquals(games.size(), database.getGameCount());
+        assertEquals(games.get(7), database.getGame(7));
+        before = database.find(query);
+        database.mergePending();
+        assertTrue(database.getRunCount() <= 6);
+        PositionMatches after = database.find(query);
+        assertArrayEquals(before.getGames(), after.getGames());
+        assertEquals(before.getMoves().toString(), after.getMoves().toString());
+        assertThrows(IllegalArgumentException.class,
+            () -> database.add(new GameRecord(3, new int[] {0}, null, null)));
+        assertEquals(games.size(), database.getGameCount());
+      }
+
+      List<Integer> expected = new ArrayList<>();
+      for (int game = 0; game < games.size(); game++) {
+        GameRecord record = games.get(game);
+        for (int ply = 0; ply <= record.getMoves().length; ply++) {
+          Position position = positionAt(record, ply);
+          if (record.getRadius() == 3 && canonical(position).equals(canonical(query))
+              && position.getPlayerColor() == query.getPlayerColor()) {
+            expected.add(game);
+          }
+        }
+      }
+      assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+          before.getGames());
+      assertTrue(expected.contains(1));
+      assertTrue(expected.contains(games.size() - 1));
+      MoveStats played = before.getMoves().stream().filter(stats -> stats.getMove() == next)
+          .findFirst().get();
+      assertTrue(played.getGames() >= 2);
+      assertTrue(played.getWins() + played.getDraws() + played.getLosses()
+          < played.getGames());
+
+      try (GameDatabase reopened = GameDatabase.open(file)) {
+        assertEquals(games.size(), reopened.getGameCount());
+        assertEquals(games.get(games.size() - 1), reopened.getGame(games.size() - 1));
+        assertArrayEquals(before.getGames(), reopened.find(query).getGames());
+        PositionMatches start = reopened.find(positionAt(games.get(0), 0));
+        assertEquals(30, start.getGameCount());
+        assertEquals(30, start.getMoves().stream().mapToInt(stats -> stats.getWins()
+            + stats.getDraws() + stats.getLosses()).sum());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testOpeningBookCountsMovesInParallel() throws IOException {
+    Path games = Files.createTempFile("games", ".rvr");
+    Path parallel = Files.createTempFile("parallel", ".rvbk");
+    Path sequential = Files.createTempFile("sequential", ".rvbk");
+    ForkJoinPool single = new ForkJoinPool(1);
+    try {
+      Random random = new Random(3501);
+      try (GameRecordWriter writer = GameRecordWriter.append(games)) {
+        for (int game = 0; game < 500; game++) {
+          writer.write(randomGame(3, random));
+        }
+        writer.write(new GameRecord(3, new int[0], null, null));
+      }
+      OpeningBookBuilder builder = new OpeningBookBuilder();
+      try (GameRecordReader reader = GameRecordReader.open(games)) {
+        builder.addAll(reader);
+      }
+      builder.write(parallel);
+      OpeningBookBuilder check = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_DEPTH,
+          single);
+      try (GameRecordReader reader = GameRecordReader.open(games)) {
+        while (reader.next()) {
+          check.add(reader.read());
+        }
+      }
+      check.write(sequential);
+      assertEquals(500, builder.getGameCount());
+      assertArrayEquals(Files.readAllBytes(sequential), Files.readAllBytes(parallel));
+
+      OpeningBook book = OpeningBook.open(parallel);
+      Position start = new HexagonalReversi(7).getPosition();
+      List<BookMove> first = book.getMoves(start);
+      assertEquals(500, first.stream().mapToInt(BookMove::getGames).sum());
+      assertTrue(first.get(0).getGames() >= first.get(first.size() - 1).getGames());
+      for (BookMove move : first) {
+        assertTrue(start.isValidMove(move.getMove(), start.getPlayerColor()));
+        assertTrue(move.getScore() >= 0 && move.getScore() <= 1);
+      }
+      assertTrue(book.getMoves(new HexagonalReversi(9).getPosition()).isEmpty());
+
+      ReversiModel model = new HexagonalReversi(7);
+      Optional<Point> chosen = new OpeningBookStrategy(book, 1)
+          .chooseMove(model, model.getPlayerColor());
+      double best = first.stream().mapToDouble(BookMove::getAdjustedScore).max().getAsDouble();
+      BoardGeometry geometry = BoardGeometry.of(3);
+      int index = geometry.indexOf(chosen.get().x, chosen.get().y);
+      assertEquals(best, first.stream().filter(move -> move.getMove() == index)
+          .findFirst().get().getAdjustedScore(), 0);
+      assertFalse(new OpeningBookStrategy(book, 501).chooseMove(model, model.getPlayerColor())
+          .isPresent());
+    } finally {
+      single.shutdown();
+      Files.delete(games);
+      Files.delete(parallel);
+      Files.delete(sequential);
+    }
+  }
+
+  @Test
+  public void testOpeningBookMatchesRotatedGames() throws IOException {
+    Path file = Files.createTempFile("book", ".rvbk");
+    try {
+      GameRecord game = randomGame(3, new Random(3502));
+      BoardGeometry geometry = BoardGeometry.of(3);
+      int[] rotated = game.getMoves();
+      for (int ply = 0; ply < rotated.length; ply++) {
+        if (rotated[ply] != Position.PASS) {
+          rotated[ply] = geometry.getSymmetric(rotated[ply], 4);
+        }
+      }
+      OpeningBookBuilder builder = new OpeningBookBuilder();
+      builder.add(game);
+      builder.add(new GameRecord(3, rotated, null, null));
+      builder.write(file);
+
+      Position end = positionAt(game, game.getMoves().length);
+      PieceColor mover = positionAt(game, 2).getPlayerColor();
+      int margin = end.getScore(mover) - end.getScore(mover == PieceColor.WHITE
+          ? PieceColor.BLACK : PieceColor.WHITE);
+      OpeningBook book = OpeningBook.open(file);
+      List<BookMove> moves = book.getMoves(positionAt(game, 2));
+      assertEquals(1, moves.size());
+      assertEquals(game.getMoves()[2], moves.get(0).getMove());
+      assertEquals(2, moves.get(0).getGames());
+      assertEquals(margin, moves.get(0).getAverageMargin(), 0);
+      assertEquals(margin > 0 ? 1 : margin == 0 ? 0.5 : 0, moves.get(0).getScore(), 0);
+      List<BookMove> mapped = book.getMoves(positionAt(new GameRecord(3, rotated, null, null),
+          2));
+      assertEquals(rotated[2], mapped.get(0).getMove());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  // Deletes a directory and everything in it.
+  private static void deleteAll(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toArray(Path[]::new)) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  // Plays the provided number of plies of a game, always flipping the most cells.
+  private static void play(ReversiModel model, int plies) {
+    for (int ply = 0; ply < plies && !model.isGameOver(); ply++) {
+      PieceColor color = model.getPlayerColor();
+      Optional<Point> move = new FlipMostCells().chooseMove(model, color);
+      if (move.isPresent()) {
+        model.playMove(move.get().x, move.get().y, color);
+      } else {
+        model.pass(color);
+      }
+    }
+  }
+
+  @Test
+  public void testGameLogRecoversGamesAfterRestart() throws Exception {
+    Path directory = Files.createTempDirectory("log");
+    try {
+      List<ReversiModel> games = new ArrayList<>();
+      int events;
+      GameLog first = GameLog.open(directory, 16, 1);
+      try {
+        for (int game = 0; game < 3; game++) {
+          ReversiModel model = new HexagonalReversi(7 + 2 * game);
+          play(model, game == 2 ? 0 : 3);
+          first.attach(game, model);
+          games.add(model);
+        }
+        play(games.get(0), 1000);
+        play(games.get(1), 10);
+        games.get(1).undo();
+        games.get(1).undo();
+        play(games.get(1), 5);
+        games.get(2).replay(playOut(11).getMoveHistory());
+        CompletableFuture<Void> durable = first.start(7, 5);
+        durable.get(10, TimeUnit.SECONDS);
+        assertThrows(IllegalArgumentException.class, () -> first.start(7, 5));
+        assertThrows(IllegalArgumentException.class, () -> first.move(8, 0));
+        events = games.get(0).getMoveHistory().length + games.get(1).getMoveHistory().length;
+      } finally {
+        first.close();
+      }
+      assertThrows(IllegalStateException.class, () -> first.pass(7));
+      assertTrue(first.getSnapshotCount() > 0);
+      assertTrue(first.getCommitCount() < events);
+
+      try (GameLog log = GameLog.open(directory)) {
+        assertEquals(Set.of(0L, 1L, 2L, 7L), log.getGameIds());
+        for (int game = 0; game < 3; game++) {
+          ReversiModel recovered = log.recover(game);
+          assertEquals(games.get(game).getPosition(), recovered.getPosition());
+          assertArrayEquals(games.get(game).getMoveHistory(), recovered.getMoveHistory());
+          assertEquals(GameResult.of(games.get(game)), log.getResult(game));
+        }
+        assertTrue(log.getResult(0).isPresent());
+        assertFalse(log.getResult(1).isPresent());
+        assertEquals(new HexagonalReversi(5).getPosition(), log.recover(7).getPosition());
+        log.move(7, 3).get(10, TimeUnit.SECONDS);
+      }
+
+      Files.write(directory.resolve("1.log"), new byte[] {0, 0, 0, 40, 1, 2, 3},
+          StandardOpenOption.APPEND);
+      try (GameLog log = GameLog.open(directory)) {
+        assertEquals(games.get(1).getPosition(), log.recover(1).getPosition());
+        log.pass(1).get(10, TimeUnit.SECONDS);
+      }
+      try (GameLog log = GameLog.open(directory)) {
+        ReversiModel expected = games.get(1).getModelCopy();
+        expected.pass(expected.getPlayerColor());
+        assertEquals(expected.getPosition(), log.recover(1).getPosition());
+      }
+    } finally {
+      deleteAll(directory);
+    }
+  }
+
+  @Test
+  public void testGameLogRejectsMissingFrames() throws Exception {
+    Path directory = Files.createTempDirectory("log");
+    try {
+      ReversiModel model = new HexagonalReversi(7);
+      try (GameLog log = GameLog.open(directory)) {
+        log.start(1, 7).get(10, TimeUnit.SECONDS);
+        for (int ply = 0; ply < 3; ply++) {
+          play(model, 1);
+          int[] history = model.getMoveHistory();
+          log.move(1, history[history.length - 1]).get(10, TimeUnit.SECONDS);
+        }
+      }
+      Path file = directory.resolve("1.log");
+      byte[] bytes = Files.readAllBytes(file);
+      int second = 8 + ByteBuffer.wrap(bytes).getInt(0);
+      int third = second + 8 + ByteBuffer.wrap(bytes).getInt(second);
+      byte[] missing = new byte[bytes.length - (third - second)];
+      System.arraycopy(bytes, 0, missing, 0, second);
+      System.arraycopy(bytes, third, missing, second, bytes.length - third);
+      Files.write(file, missing);
+      assertThrows(IOException.class, () -> GameLog.open(directory));
+    } finally {
+      deleteAll(directory);
+    }
+  }
+
+  @Test
+  public void testGameLogFinishesGamesAndReportsFailures() throws Exception {
+    Path directory = Files.createTempDirectory("log");
+    try {
+      ReversiModel kept = new HexagonalReversi(7);
+      ReversiModel deleted = new HexagonalReversi(7);
+      List<Throwable> failures = new CopyOnWriteArrayList<>();
+      AtomicInteger turns = new AtomicInteger();
+      GameLog log = GameLog.open(directory);
+      try {
+        log.attach(1, kept, failures::add);
+        log.attach(2, deleted, failures::add);
+        kept.addFeatureListener(turns::incrementAndGet);
+        play(kept, 4);
+        play(deleted, 4);
+        log.finish(1, false).get(10, TimeUnit.SECONDS);
+        log.finish(2, true).get(10, TimeUnit.SECONDS);
+        assertEquals(Set.of(), log.getGameIds());
+        assertFalse(Files.exists(directory.resolve("2.log")));
+        assertThrows(IllegalArgumentException.class, () -> log.finish(2, true));
+        assertTrue(failures.isEmpty());
+
+        play(kept, 1);
+        assertEquals(5, turns.get());
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0) instanceof IllegalArgumentException);
+      } finally {
+        log.close();
+      }
+      try (GameLog reopened = GameLog.open(directory)) {
+        assertEquals(Set.of(1L), reopened.getGameIds());
+        ReversiModel expected = new HexagonalReversi(7);
+        expected.replay(Arrays.copyOf(kept.getMoveHistory(), 4));
+        assertEquals(expected.getPosition(), reopened.recover(1).getPosition());
+      }
+    } finally {
+      deleteAll(directory);
+    }
+  }
+
+  @Test
+  public void testOpeningBookSkipsIllegalGames() {
+    OpeningBookBuilder builder = new OpeningBookBuilder();
+    GameRecord legal = GameRecord.of(playOut(7));
+    builder.add(legal);
+    builder.add(new GameRecord(3, new int[] {0, 0}, GameResult.DRAW, null));
+    builder.add(new GameRecord(3, new int[] {1000}, GameResult.DRAW, null));
+    builder.add(legal);
+    assertEquals(2, builder.getGameCount());
+    assertEquals(2, builder.getRejectedCount());
+    builder.add(legal);
+    assertEquals(3, builder.getGameCount());
+  }
+
+  @Test
+  public void testRecordsRoundTripThroughFile() throws IOException {
+    Path file = Files.createTempFile("games", ".rvr");
+    try {
+      List<GameRecord> records = new ArrayList<>();
+      ReversiModel finished = playOut(7);
+      records.add(GameRecord.of(finished));
+      records.add(GameRecord.of(new HexagonalReversi(9)));
+      int[] moves = GameRecord.of(playOut(5)).getMoves();
+      int[] clock = new int[moves.length];
+      for (int ply = 0; ply < clock.length; ply++) {
+        clock[ply] = ply * 997;
+      }
+      records.add(new GameRecord(2, moves, GameResult.DRAW, clock));
+
+      try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+        writer.write(records.get(0));
+        writer.write(records.get(1));
+      }
+      try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+        writer.write(records.get(2));
+      }
+
+      List<GameRecord> read = new ArrayList<>();
+      try (GameRecordReader reader = GameRecordReader.open(file)) {
+        assertThrows(IllegalStateException.class, reader::getRadius);
+        while (reader.next()) {
+          read.add(reader.read());
+        }
+        assertThrows(IllegalStateException.class, reader::getRadius);
+      }
+      assertEquals(records, read);
+      assertEquals(GameResult.of(finished), read.get(0).getResult());
+      assertFalse(read.get(1).getResult().isPresent());
+      assertTrue(Files.size(file) <= finished.getMoveHistory().length + 4L * moves.length + 32);
+
+      ReversiModel replayed = new HexagonalReversi(7);
+      replayed.replay(read.get(0).getMoves());
+      assertEquals(finished.getPosition(), replayed.getPosition());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testReaderCursorReadsWithoutBuildingRecords() throws IOException {
+    Path file = Files.createTempFile("games", ".rvr");
+    try {
+      int[] moves = new int[100_000];
+      moves[0] = 300;
+      moves[1] = Position.PASS;
+      try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+        writer.write(9, moves, moves.length, GameResult.WHITE_WIN, null);
+        writer.write(3, moves, 2, null, null);
+      }
+      try (GameRecordReader reader = GameRecordReader.open(file)) {
+        assertTrue(reader.next());
+        assertEquals(9, reader.getRadius());
+        assertEquals(moves.length, reader.getMoveCount());
+        assertEquals(300, reader.getMove(0));
+        assertEquals(Position.PASS, reader.getMove(1));
+        assertEquals(0, reader.getMove(moves.length - 1));
+        assertEquals(Optional.of(GameResult.WHITE_WIN), reader.getResult());
+        assertFalse(reader.hasClock());
+        assertThrows(IllegalStateException.class, () -> reader.getClockMillis(0));
+        assertTrue(reader.next());
+        assertEquals(2, reader.getMoveCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.getMove(2));
+        assertFalse(reader.next());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testTruncatedFileIsAnError() throws IOException {
+    Path file = Files.createTempFile("games", ".rvr");
+    try {
+      try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+        writer.write(GameRecord.of(playOut(5)));
+      }
+      byte[] bytes = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+      try (GameRecordReader reader = GameRecordReader.open(file)) {
+        assertThrows(IOException.class, reader::next);
+      }
+      assertThrows(IllegalArgumentException.class,
+          () -> new GameRecord(3, new int[] {-2}, null, null));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
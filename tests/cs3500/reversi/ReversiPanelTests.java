@@ -0,0 +1,108 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi;
+
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+import cs3500.reversi.controller.ReversiController;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.view.GraphicsView;
+import cs3500.reversi.view.ViewFeatures;
+import cs3500.reversi.view.components.ReversiPanel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the board panel repaints only what a move changed.
+ */
+
+public final class ReversiPanelTests {
+
+  @Test
+  public void testMoveRepaintsOnlyChangedCells() throws Exception {
+    ReversiModel model = new HexagonalReversi(7);
+    Player player = new HumanPlayer(model, PieceColor.WHITE);
+    ReversiPanel panel = new ReversiPanel(model, player);
+    panel.setSize(1000, 1000);
+    GraphicsView view = new GraphicsView() {
+      @Override
+      public void addFeatureListener(ViewFeatures features) {
+        panel.addFeaturesListener(features);
+      }
+
+      @Override
+      public void setVisible(boolean visible) {
+        panel.setVisible(visible);
+      }
+
+      @Override
+      public void refresh() {
+        panel.refresh();
+      }
+
+      @Override
+      public void notifyTurn(Player player) {
+        // the turn is shown in the frame's title, which this test has none of
+      }
+
+      @Override
+      public void notifyMessageDialog(String message) {
+        throw new AssertionError(message);
+      }
+    };
+    ReversiController controller = new ReversiController(model, player, view);
+    SwingUtilities.invokeAndWait(() -> { });
+
+    List<Rectangle> dirty = new CopyOnWriteArrayList<>();
+    RepaintManager previous = RepaintManager.currentManager(panel);
+    RepaintManager.setCurrentManager(new RepaintManager() {
+      @Override
+      public void addDirtyRegion(JComponent component, int x, int y, int w, int h) {
+        if (component == panel) {
+          dirty.add(new Rectangle(x, y, w, h));
+        }
+      }
+    });
+    try {
+      controller.makeMove(1, 2);
+      for (int pass = 0; pass < 3; pass++) {
+        SwingUtilities.invokeAndWait(() -> { });
+      }
+    } finally {
+      RepaintManager.setCurrentManager(previous);
+    }
+
+    assertEquals("O", model.getStateOf(1, 2));
+    assertEquals(model.getScore(PieceColor.WHITE) - 3, dirty.size());
+    for (Rectangle region : dirty) {
+      assertTrue(region.width < panel.getWidth() / 4 && region.height < panel.getHeight() / 4);
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+package cs3500.reversi;
+
+import org.junit.Test;
+
+import java.awt.Point;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.GameResult;
+import cs3500.reversi.server.GameServer;
+import cs3500.reversi.strategy.FlipMostCells;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests hosting games of Reversi for clients connected over the loopback interface.
+ */
+public final class ServerTests {
+
+  /**
+   * A client of a {@link GameServer} that sends commands and reads the server's lines.
+   */
+  private static final class Client implements AutoCloseable {
+    private final Socket socket;
+    private final BufferedReader in;
+    private final PrintWriter out;
+
+    private Client(GameServer server) throws IOException {
+      this.socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+      this.socket.setSoTimeout(30_000);
+      this.in = new BufferedReader(new InputStreamReader(this.socket.getInputStream(),
+          StandardCharsets.UTF_8));
+      this.out = new PrintWriter(this.socket.getOutputStream(), true, StandardCharsets.UTF_8);
+    }
+
+    private void send(String line) {
+      this.out.println(line);
+    }
+
+    private String[] read() throws IOException {
+      String line = this.in.readLine();
+      if (line == null) {
+        throw new IOException("The server closed the connection.");
+      }
+      return line.split(" ");
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.socket.close();
+    }
+  }
+
+  // Plays the provided number of games as white against the server's AI on one connection,
+  // keeping a model of each game, and returns how many ended as their models did.
+  private static int playAgainstAi(GameServer server, int games) throws IOException {
+    try (Client client = new Client(server)) {
+      for (int game = 0; game < games; game++) {
+        client.send("NEW 7 EASY");
+      }
+      Map<String, ReversiModel> models = new HashMap<>();
+      int agreed = 0;
+      int over = 0;
+      while (over < games) {
+        String[] line = client.read();
+        switch (line[0]) {
+          case "GAME":
+            models.put(line[1], new HexagonalReversi(7));
+            break;
+          case "MOVED":
+            models.get(line[1]).playMove(Integer.parseInt(line[3]), Integer.parseInt(line[4]),
+                PieceColor.valueOf(line[2]));
+            break;
+          case "PASSED":
+            models.get(line[1]).pass(PieceColor.valueOf(line[2]));
+            break;
+          case "TURN":
+            if (line[2].equals("WHITE")) {
+              ReversiModel model = models.get(line[1]);
+              Optional<Point> move = new FlipMostCells().chooseMove(model, PieceColor.WHITE);
+              client.send(move.map(p -> "MOVE " + line[1] + " " + p.x + " " + p.y)
+                  .orElse("PASS " + line[1]));
+            }
+            break;
+          case "OVER":
+            over++;
+            ReversiModel model = models.remove(line[1]);
+            if (model.isGameOver() && GameResult.of(model).get().name().equals(line[2])) {
+              agreed++;
+            }
+            break;
+          default:
+            throw new IllegalStateException(String.join(" ", line));
+        }
+      }
+      return agreed;
+    }
+  }
+
+  @Test
+  public void testServerHostsManyConcurrentGamesAgainstAi() throws Exception {
+    ExecutorService clients = Executors.newFixedThreadPool(20);
+    try (GameServer server = new GameServer(0, 4, 4)) {
+      List<Future<Integer>> agreed = new ArrayList<>();
+      for (int client = 0; client < 20; client++) {
+        agreed.add(clients.submit(() -> playAgainstAi(server, 25)));
+      }
+      for (Future<Integer> games : agreed) {
+        assertEquals(25, (int) games.get(60, TimeUnit.SECONDS));
+      }
+      assertEquals(0, server.getGameCount());
+    } finally {
+      clients.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testClientThatStopsReadingDoesNotStallOtherGames() throws Exception {
+    try (GameServer server = new GameServer(0, 1, 1);
+         Client stuck = new Client(server)) {
+      stuck.send("NEW 11");
+      String id = stuck.read()[1];
+      Thread flood = new Thread(() -> {
+        for (int request = 0; request < 50_000 && !stuck.out.checkError(); request++) {
+          stuck.send("BOARD " + id);
+        }
+      });
+      flood.start();
+      assertEquals(3, playAgainstAi(server, 3));
+      flood.join(30_000);
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (server.getConnectionCount() + server.getGameCount() > 0
+          && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(0, server.getConnectionCount());
+      assertEquals(0, server.getGameCount());
+    }
+  }
+
+  @Test
+  public void testTwoClientsPlayAndOneAbandons() throws Exception {
+    try (GameServer server = new GameServer(0);
+         Client white = new Client(server);
+         Client black = new Client(server)) {
+      white.send("NEW 5");
+      String[] game = white.read();
+      assertEquals("GAME", game[0]);
+      assertEquals("WHITE", game[2]);
+      String id = game[1];
+      black.send("JOIN " + id);
+      assertEquals("GAME " + id + " BLACK", String.join(" ", black.read()));
+      assertEquals("TURN " + id + " WHITE", String.join(" ", white.read()));
+      assertEquals("TURN " + id + " WHITE", String.join(" ", black.read()));
+
+      black.send("PASS " + id);
+      assertEquals("ERROR", black.read()[0]);
+      white.send("MOVE " + id + " 0 0");
+      assertEquals("ERROR", white.read()[0]);
+      white.send("JOIN " + id);
+      assertEquals("ERROR", white.read()[0]);
+      white.send("FLIP");
+      assertEquals("ERROR", white.read()[0]);
+
+      ReversiModel model = new HexagonalReversi(5);
+      Point move = new FlipMostCells().chooseMove(model, PieceColor.WHITE).get();
+      model.playMove(move.x, move.y, PieceColor.WHITE);
+      white.send("MOVE " + id + " " + move.x + " " + move.y);
+      String moved = "MOVED " + id + " WHITE " + move.x + " " + move.y;
+      assertEquals(moved, String.join(" ", white.read()));
+      assertEquals(moved, String.join(" ", black.read()));
+      assertEquals("TURN " + id + " BLACK", String.join(" ", black.read()));
+      white.read();
+
+      black.send("BOARD " + id);
+      String[] board = black.read();
+      assertEquals("BLACK", board[2]);
+      assertEquals(19, board[3].length());
+      assertTrue(board[3].contains("O"));
+
+      black.send("QUIT");
+      assertEquals("BYE", black.read()[0]);
+      assertEquals("OVER " + id + " ABANDONED", String.join(" ", white.read()));
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (server.getConnectionCount() > 1 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, server.getConnectionCount());
+      assertEquals(0, server.getGameCount());
+    }
+  }
+}
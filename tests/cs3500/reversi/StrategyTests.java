@@ -9,13 +9,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import cs3500.reversi.model.BoardGeometry;
 import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.PositionKey;
 import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.mock.MockSingleValidMoveReversi;
+import cs3500.reversi.model.types.CellClass;
 import cs3500.reversi.model.types.PieceColor;
 import cs3500.reversi.model.types.ReversiCellPair;
 import cs3500.reversi.strategy.AvoidCellsNextToCorners;
+import cs3500.reversi.strategy.CachingStrategy;
 import cs3500.reversi.strategy.ChooseCornerCell;
 import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.strategy.MoveContext;
+import cs3500.reversi.strategy.RankedMove;
 import cs3500.reversi.strategy.ReversiStrategy;
 import cs3500.reversi.strategy.StrategyWithFallbacks;
 
@@ -322,4 +329,103 @@ public final class StrategyTests {
     Assert.assertTrue(curStrat.isPresent());
     Assert.assertEquals(new Point(2, 1), curStrat.get());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testMoveContextClassifiesCells() {
+    MoveContext context = MoveContext.of(new HexagonalReversi(9), PieceColor.WHITE);
+    Assert.assertEquals(6, context.getCells(CellClass.CORNER).size());
+    Assert.assertEquals(18, context.getCells(CellClass.NEXT_TO_CORNER).size());
+    Assert.assertEquals(6, context.getCells(CellClass.EDGE).size());
+    Assert.assertEquals(31, context.getCells(CellClass.INTERIOR).size());
+    Assert.assertEquals(CellClass.CORNER, context.getCellClass(4, 8));
+    Assert.assertEquals(CellClass.NEXT_TO_CORNER, context.getCellClass(1, 5));
+    Assert.assertEquals(CellClass.EDGE, context.getCellClass(0, 2));
+  }
+
+  @Test
+  public void testRankedMovesBreakTiesTopLeftFirst() {
+    List<RankedMove> ranked = new FlipMostCells().rankMoves(
+            MoveContext.of(model, PieceColor.WHITE));
+    Assert.assertEquals(6, ranked.size());
+    Assert.assertEquals(new Point(1, 2), ranked.get(0).getPoint());
+    Assert.assertEquals(new Point(5, 2), ranked.get(5).getPoint());
+    Assert.assertEquals(5, ranked.get(0).getDiscCount());
+  }
+
+  @Test
+  public void testFallbacksProbeEachMoveOnce() {
+    StringBuilder log = new StringBuilder();
+    ReversiModel mock = new MockSingleValidMoveReversi(log, 7);
+    ReversiStrategy strat = new StrategyWithFallbacks(new ChooseCornerCell(),
+            new AvoidCellsNextToCorners(), new FlipMostCells());
+    Assert.assertEquals(Optional.of(new Point(0, 2)), strat.chooseMove(mock, PieceColor.WHITE));
+    Assert.assertEquals(1, log.toString().split("Played move at \\(0, 0\\)", -1).length - 1);
+  }
+
+  @Test
+  public void testCachingStrategyReplaysAGameFromMemory() {
+    CachingStrategy strat = new CachingStrategy(new FlipMostCells(), 1000);
+    List<Optional<Point>> first = playOut(new HexagonalReversi(7), strat);
+    int misses = strat.getMisses();
+    Assert.assertEquals(playOut(new HexagonalReversi(7), new FlipMostCells()), first);
+    Assert.assertEquals(first, playOut(new HexagonalReversi(7), strat));
+    Assert.assertEquals(misses, strat.getHits());
+    Assert.assertEquals(misses, strat.getMisses());
+    Assert.assertEquals(0, strat.getEvictions());
+  }
+
+  @Test
+  public void testCachingStrategyEvictsLeastRecentlyUsedMove() {
+    CachingStrategy strat = new CachingStrategy(new FlipMostCells(), 1);
+    strat.chooseMove(model, PieceColor.WHITE);
+    Point move = strat.chooseMove(model, PieceColor.WHITE).get();
+    model.playMove(move.x, move.y, PieceColor.WHITE);
+    strat.chooseMove(model, PieceColor.BLACK);
+    Assert.assertEquals(1, strat.getHits());
+    Assert.assertEquals(2, strat.getMisses());
+    Assert.assertEquals(1, strat.getEvictions());
+    Assert.assertEquals(1, strat.size());
+  }
+
+  @Test
+  public void testCanonicalCachingStrategyAnswersSymmetricPositions() {
+    BoardGeometry geometry = BoardGeometry.of(model.getRadius());
+    CachingStrategy strat = new CachingStrategy(new FlipMostCells(), 100, true);
+    Point move = new FlipMostCells().chooseMove(model, PieceColor.WHITE).get();
+    int rotated = geometry.getSymmetric(geometry.indexOf(move.x, move.y), 2);
+    ReversiModel other = new HexagonalReversi(7);
+    model.playMove(move.x, move.y, PieceColor.WHITE);
+    other.playMove(geometry.getRow(rotated), geometry.getCol(rotated), PieceColor.WHITE);
+    Assert.assertEquals(PositionKey.of(model).transform(2), PositionKey.of(other));
+
+    Point reply = strat.chooseMove(model, PieceColor.BLACK).get();
+    Point otherReply = strat.chooseMove(other, PieceColor.BLACK).get();
+    int image = geometry.getSymmetric(geometry.indexOf(reply.x, reply.y), 2);
+    Assert.assertEquals(new Point(geometry.getRow(image), geometry.getCol(image)), otherReply);
+    Assert.assertTrue(other.isValidMove(otherReply.x, otherReply.y, PieceColor.BLACK));
+    Assert.assertEquals(1, strat.getHits());
+  }
+
+  /**
+   * Plays the provided model to the end with the provided strategy choosing every move.
+   *
+   * @param game the model to play.
+   * @param strat the strategy to play with.
+   * @return the moves that were chosen, in order.
+   */
+
+  private static List<Optional<Point>> playOut(ReversiModel game, ReversiStrategy strat) {
+    List<Optional<Point>> moves = new ArrayList<>();
+    while (!game.isGameOver()) {
+      PieceColor color = game.getPlayerColor();
+      Optional<Point> move = strat.chooseMove(game, color);
+      moves.add(move);
+      if (move.isPresent()) {
+        game.playMove(move.get().x, move.get().y, color);
+      } else {
+        game.pass(color);
+      }
+    }
+    return moves;
+  }
+}